@@ -0,0 +1,141 @@
+/*** AdventOfCodeInputShape.java **********************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    The input shapes an Advent of Code solution can ask for by *
+ *                 declaring its main method with a matching parameter type.  *
+ *                 Each shape knows how to parse a raw input file into        *
+ *                 itself, and how to cheaply copy an already-parsed input    *
+ *                 into a reusable buffer so that parsing happens only once.  *
+\******************************************************************************/
+
+import java.lang.reflect.Array;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+public enum AdventOfCodeInputShape {
+  LINES(String[].class) { // One string per line, the original SolveKit format
+    @Override
+    Object parse(byte[] raw) {
+      return new String(raw, StandardCharsets.UTF_8).lines().toArray(String[]::new);
+    }
+  },
+
+  GRID(char[][].class) { // One char[] per line
+    @Override
+    Object parse(byte[] raw) {
+      String[] lines = (String[])LINES.parse(raw);
+      char[][] grid = new char[lines.length][];
+      for(int i = 0; i < lines.length; i++) {
+        grid[i] = lines[i].toCharArray();
+      }
+      return grid;
+    }
+
+    @Override
+    Object newBuffer(Object parsed) {
+      char[][] grid = (char[][])parsed;
+      char[][] buffer = new char[grid.length][];
+      for(int i = 0; i < grid.length; i++) {
+        buffer[i] = new char[grid[i].length];
+      }
+      return buffer;
+    }
+
+    @Override
+    void copy(Object parsed, Object buffer) {
+      char[][] grid = (char[][])parsed;
+      char[][] copy = (char[][])buffer;
+      for(int i = 0; i < grid.length; i++) {
+        if(copy[i] == null || copy[i].length != grid[i].length) { // The solution replaced or resized this row
+          copy[i] = new char[grid[i].length];
+        }
+        System.arraycopy(grid[i], 0, copy[i], 0, grid[i].length);
+      }
+    }
+  },
+
+  INTS(int[].class) { // Every integer in the file, in order
+    @Override
+    Object parse(byte[] raw) {
+      long[] numbers = (long[])LONGS.parse(raw);
+      int[] ints = new int[numbers.length];
+      for(int i = 0; i < numbers.length; i++) {
+        ints[i] = Math.toIntExact(numbers[i]);
+      }
+      return ints;
+    }
+  },
+
+  LONGS(long[].class) { // Every integer in the file, in order
+    /* A "-" counts as a minus sign only if it's directly followed by a digit and isn't directly preceded by a letter or
+       digit, so "x=-3" gives -3 but ranges like "1-3" give 1 and 3. */
+    @Override
+    Object parse(byte[] raw) {
+      long[] numbers = new long[16];
+      int count = 0;
+      for(int i = 0; i < raw.length; i++) {
+        if(!isDigit(raw[i])) {
+          continue;
+        }
+
+        boolean negative = i > 0 && raw[i-1] == '-' && (i < 2 || !isLetterOrDigit(raw[i-2]));
+        long value = 0;
+        while(i < raw.length && isDigit(raw[i])) {
+          value = Math.addExact(Math.multiplyExact(value, 10), raw[i] - '0');
+          i++;
+        }
+
+        if(count == numbers.length) {
+          numbers = Arrays.copyOf(numbers, count * 2);
+        }
+        numbers[count++] = negative ? -value : value;
+      }
+      return Arrays.copyOf(numbers, count);
+    }
+  },
+
+  BYTES(byte[].class) { // The file exactly as it is on disk
+    @Override
+    Object parse(byte[] raw) {
+      return raw.clone();
+    }
+  };
+
+  private final Class<?> type;
+
+  AdventOfCodeInputShape(Class<?> type) {
+    this.type = type;
+  }
+
+  // The parameter type of the main method that asks for this shape
+  public Class<?> type() {
+    return type;
+  }
+
+  // Parses a whole input file into this shape.
+  abstract Object parse(byte[] raw);
+
+  // Allocates a buffer that copy() can fill with `parsed`. One-dimensional arrays by default.
+  Object newBuffer(Object parsed) {
+    return Array.newInstance(type.getComponentType(), Array.getLength(parsed));
+  }
+
+  // Overwrites `buffer` (from newBuffer()) with the contents of `parsed`, undoing anything a solution did to it.
+  void copy(Object parsed, Object buffer) {
+    System.arraycopy(parsed, 0, buffer, 0, Array.getLength(parsed));
+  }
+
+  // e.g. "char[][] (140 rows)" or "int[] (1000 values)", for messages
+  public String describe(Object parsed) {
+    int length = Array.getLength(parsed);
+    return type.getSimpleName() + " (" + length + (this == LINES || this == GRID ? " rows)" : this == BYTES ? " bytes)" : " values)");
+  }
+
+  private static boolean isDigit(byte b) {
+    return b >= '0' && b <= '9';
+  }
+
+  private static boolean isLetterOrDigit(byte b) {
+    return isDigit(b) || (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z');
+  }
+}
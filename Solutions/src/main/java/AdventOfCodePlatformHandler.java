@@ -6,86 +6,122 @@
 \******************************************************************************/
 
 import java.io.IOException;
-import java.io.OutputStream;
-import java.io.PrintStream;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.nio.file.Files;
-import java.nio.file.Path;
-import java.util.List;
-import java.util.stream.Stream;
 
 public class AdventOfCodePlatformHandler implements PlatformHandler {
-  private String[] cachedInput;
+  private byte[] rawInput;
 
-  // Load input from an input file into an array of strings.
+  // The input parsed into the shape the solution asked for. Parsing happens at most once per loadInput().
+  private AdventOfCodeInputShape parsedShape;
+  private Object parsedInput;
+
+  // Load input from an input file. It's parsed later, once we know what shape the solution wants it in.
   @Override
   public void loadInput(SolutionSpecifier thisSolution) throws IOException {
-    List<String> input = List.of(); // Empty list
-    try (Stream<String> lines = Files.lines(
-        Path.of("AdventOfCode/i_" + thisSolution.name() + "_" + thisSolution.test() + ".txt"))) {
-      input = lines.toList();
-    }
-
-    cachedInput = input.toArray(new String[input.size()]);
+    rawInput = Files.readAllBytes(TestCorpus.inputPath("AdventOfCode", thisSolution));
+    parsedShape = null;
+    parsedInput = null;
   }
 
   @Override
   public long runSolution(SolutionSpecifier thisSolution) throws NoSuchMethodException, InvocationTargetException, IllegalAccessException, ClassNotFoundException, IOException {
     // Load input for the problem and testcase.
     loadInput(thisSolution);
-    String[] input = cachedInput.clone();
-
-    // Do some reflection voodoo to be able to call the solution's main method
-    Class<?> solutionClass = Class.forName("AdventOfCode." + thisSolution.name());
-    Method solutionMain = solutionClass.getMethod("main", String[].class);
+    SolutionInvoker invoker = newInvoker(thisSolution);
+    invoker.refreshInput();
 
     // Call the solution and time it.
     long tickStart = System.nanoTime();
-    solutionMain.invoke(null, new Object[] {input});
+    invoker.invoke();
     return System.nanoTime() - tickStart; // Return execution time of entire solution
   }
 
+  // Times only the parsing of the input file into the shape the solution asked for, in BenchmarkEngine's loop.
   @Override
-  public long[] benchmarkSolution(SolutionSpecifier thisSolution, int iterations) throws ClassNotFoundException, NoSuchMethodException, InvocationTargetException, IllegalAccessException, IOException {
-    // Load input for the problem and testcase.
+  public BenchmarkEngine.Samples benchmarkInputParsing(SolutionSpecifier thisSolution, int iterations) throws ClassNotFoundException, NoSuchMethodException, InvocationTargetException, IllegalAccessException, IOException {
     loadInput(thisSolution);
+    AdventOfCodeInputShape shape = shapeOf(findMain(thisSolution));
 
-    // Do some reflection voodoo to be able to call the solution's main method
-    Class<?> solutionClass = Class.forName("AdventOfCode." + thisSolution.name());
-    Method solutionMain = solutionClass.getMethod("main", String[].class);
+    BenchmarkEngine.Samples samples = BenchmarkEngine.run(new SolutionInvoker() {
+      @Override
+      public void refreshInput() {
+        // The raw input is only read, never changed
+      }
+
+      @Override
+      public void invoke() {
+        parsedInput = shape.parse(rawInput); // Stored so the JIT can't throw the parsing away
+      }
+    }, iterations);
+    parsedShape = shape;
+
+    System.out.println("Parsed input into " + shape.describe(parsedInput) + ".");
+    return samples;
+  }
+
+  @Override
+  public SolutionInvoker newInvoker(SolutionSpecifier thisSolution) throws ClassNotFoundException, NoSuchMethodException {
+    Method solutionMain = findMain(thisSolution);
 
     // Do not use the JVM argument --add-opens when running benchmarks. It is a legacy argument meant to maintain
     // backwards compatibility with old code and is completely irrelevant to programming puzzle solutions.
     solutionMain.setAccessible(true); // Make reflection-based method calling faster (won't work with --add-opens JVM arg)
+    return invokerFor(solutionMain);
+  }
 
-    PrintStream originalOut = System.out; // We're going to be enabling and disabling console output in the near future.
-    PrintStream originalErr = System.err;
+  @Override
+  public SolutionInvoker newBaselineInvoker(SolutionSpecifier thisSolution) throws ClassNotFoundException, NoSuchMethodException {
+    return invokerFor(EmptySolution.matching(findMain(thisSolution)));
+  }
+
+  // Calls `solutionMain` (or a stand-in with the same parameter type) with its own copy of the parsed input
+  private SolutionInvoker invokerFor(Method solutionMain) {
+    AdventOfCodeInputShape shape = shapeOf(solutionMain);
+    if(parsedShape != shape) { // Parse once, no matter how many invokers get created
+      parsedInput = shape.parse(rawInput);
+      parsedShape = shape;
+    }
+    Object parsed = parsedInput;
 
-    long[] execTimes = new long[iterations];
-    for(int i = 0; i < iterations; i++) { // Run the solution `iterations` times and record execution time of each iteration
-      Object[] input = new Object[] {cachedInput.clone()}; // Do ->Object[] conversion beforehand to increase accuracy of later time measurements
+    return new SolutionInvoker() {
+      private final Object buffer = shape.newBuffer(parsed); // Every invoker gets its own copy of the input
+      private final Object[] arguments = new Object[] {buffer};
 
-      // Disable console output to increase performance and ignore non-algorithmic runtime
-      System.setOut(new PrintStream(OutputStream.nullOutputStream()));
-      System.setErr(new PrintStream(OutputStream.nullOutputStream()));
+      @Override
+      public void refreshInput() {
+        shape.copy(parsed, buffer);
+      }
 
-      try {
-        long tickStart = System.nanoTime(); // Begin timing
-        solutionMain.invoke(null, input);
-        execTimes[i] = System.nanoTime() - tickStart; // End timing
-      } finally {
-        System.setOut(originalOut); // Restore console printing functionality for stats printing of this run
-        System.setErr(originalErr);
+      @Override
+      public void invoke() throws InvocationTargetException, IllegalAccessException {
+        solutionMain.invoke(null, arguments);
       }
+    };
+  }
 
-      // Print the amount of time this iteration took to execute in both milliseconds and microseconds, as both may be useful.
-      // The format string left-aligns the iteration number integer, then pads it to the max number of digits any iteration # will have.
-      System.out.printf("Iteration " +
-          String.format("%-" + Integer.toString(iterations).length() + "d", i + 1) + // Iteration #
-          ": %.3f ms / %.1f µs\n", UnitConverter.ns_ms(execTimes[i]), UnitConverter.ns_us(execTimes[i])); // Times
+  // Do some reflection voodoo to find the solution's main method. Its parameter type says what shape the solution
+  // wants its input in; see AdventOfCodeInputShape.
+  private static Method findMain(SolutionSpecifier thisSolution) throws ClassNotFoundException, NoSuchMethodException {
+    Class<?> solutionClass = SolutionLoader.forName("AdventOfCode." + thisSolution.name());
+    for(AdventOfCodeInputShape shape : AdventOfCodeInputShape.values()) {
+      try {
+        return solutionClass.getMethod("main", shape.type());
+      } catch(NoSuchMethodException e) {
+        // Try the next shape
+      }
     }
+    throw new NoSuchMethodException("AdventOfCode." + thisSolution.name() + " needs a public static main method that " +
+        "takes one of: String[], char[][], int[], long[], byte[].");
+  }
 
-    return execTimes; // Return array of all execution times
+  private static AdventOfCodeInputShape shapeOf(Method solutionMain) {
+    for(AdventOfCodeInputShape shape : AdventOfCodeInputShape.values()) {
+      if(solutionMain.getParameterTypes()[0] == shape.type()) {
+        return shape;
+      }
+    }
+    throw new IllegalStateException("No input shape for " + solutionMain);
   }
 }
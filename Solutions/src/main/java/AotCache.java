@@ -0,0 +1,207 @@
+/*** AotCache.java ************************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    Builds and reuses an ahead-of-time class cache for         *
+ *                 SolveKit and its dependencies, so a fresh JVM can skip     *
+ *                 most of the class loading and linking that happens before  *
+ *                 a solution starts. Uses the JDK's AOT cache on JDK 24+ and *
+ *                 an AppCDS archive on older JDKs.                           *
+\******************************************************************************/
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+public final class AotCache {
+  private AotCache() { }
+
+  // Where caches are stored: inputs/.solvekit-cache/aot, next to SieveCache's tables
+  private static final Path DIRECTORY = Path.of(System.getProperty("solvekit.cache", ".solvekit-cache"), "aot");
+
+  // The JVM only caches classes that come from JAR files, so class directories (like the IDE's build output) are
+  // packed into this JAR first
+  private static final String HARNESS_JAR = "harness.jar";
+
+  /* A ready cache. Launch `java [jvmOptions] -cp classPath Main ...` to use it. A JVM started with the same class path
+     but without jvmOptions is the fair comparison, since reading classes from a JAR instead of a directory changes
+     startup time too. */
+  public record Archive(Path directory, String classPath, List<String> jvmOptions) {
+    // The complete command line to run SolveKit with the cache.
+    public List<String> command(List<String> mainArgs) {
+      List<String> command = new ArrayList<>();
+      command.add(ForkedBenchmark.javaExecutable());
+      command.addAll(ForkedBenchmark.inheritedJvmOptions(jvmOptions));
+      command.addAll(jvmOptions);
+      command.add("-cp");
+      command.add(classPath);
+      command.add("Main");
+      command.addAll(mainArgs);
+      return command;
+    }
+  }
+
+  // The three ways a JDK can create and use a class cache, from newest to oldest
+  private enum Mode {
+    AOT_ONE_STEP, // JDK 25+ (JEP 514): one training run writes the cache
+    AOT_TWO_STEP, // JDK 24 (JEP 483): a training run records a configuration, then a second JVM creates the cache
+    APP_CDS;      // Older JDKs: a dynamic AppCDS archive written when the training run exits
+
+    static Mode forThisJdk() {
+      int feature = Runtime.version().feature();
+      return feature >= 25 ? AOT_ONE_STEP : feature == 24 ? AOT_TWO_STEP : APP_CDS;
+    }
+
+    String fileName() {
+      return this == APP_CDS ? "solvekit.jsa" : "solvekit.aot";
+    }
+
+    List<String> useOptions(Path cache) {
+      return this == APP_CDS ? List.of("-XX:SharedArchiveFile=" + cache) : List.of("-XX:AOTCache=" + cache);
+    }
+  }
+
+  /* Returns the cache for this JDK, this JVM's options and the current class path, building it first if it doesn't
+     exist. Building it runs `trainingArgs` (e.g. {"Codeforces.p1A-1"}) once in a training JVM, so that the classes a
+     run needs are the ones that get cached. Anything that changes (a recompiled class, another JDK) gives a new key
+     and thus a new cache; older ones are deleted. */
+  public static Archive prepare(List<String> trainingArgs) throws IOException {
+    Mode mode = Mode.forThisJdk();
+    List<Path> classDirectories = new ArrayList<>();
+    List<String> jars = new ArrayList<>();
+    for(String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+      Path path = Path.of(entry).toAbsolutePath();
+      if(Files.isDirectory(path)) {
+        classDirectories.add(path);
+      } else if(Files.exists(path)) {
+        jars.add(path.toString());
+      }
+    }
+
+    Path directory = DIRECTORY.resolve(key(mode, classDirectories, jars)).toAbsolutePath();
+    Path jar = directory.resolve(HARNESS_JAR);
+    Path cache = directory.resolve(mode.fileName());
+    List<String> classPath = new ArrayList<>();
+    classPath.add(jar.toString());
+    classPath.addAll(jars);
+    Archive archive = new Archive(directory, String.join(File.pathSeparator, classPath), mode.useOptions(cache));
+    if(Files.isRegularFile(cache)) {
+      return archive;
+    }
+
+    // Start from scratch: drop stale caches, then pack the classes and train
+    deleteRecursively(DIRECTORY);
+    Files.createDirectories(directory);
+    writeJar(jar, classDirectories);
+    System.out.println("Building the class cache in " + directory + "...");
+    switch(mode) {
+      case AOT_ONE_STEP -> train(archive, List.of("-XX:AOTCacheOutput=" + cache), trainingArgs);
+      case AOT_TWO_STEP -> {
+        Path configuration = directory.resolve("solvekit.aotconf");
+        train(archive, List.of("-XX:AOTMode=record", "-XX:AOTConfiguration=" + configuration), trainingArgs);
+        train(archive, List.of("-XX:AOTMode=create", "-XX:AOTConfiguration=" + configuration, "-XX:AOTCache=" + cache),
+            null); // Creating the cache doesn't run Main
+      }
+      case APP_CDS -> train(archive, List.of("-XX:ArchiveClassesAtExit=" + cache), trainingArgs);
+    }
+    if(!Files.isRegularFile(cache)) {
+      throw new IllegalStateException("The training run succeeded but didn't write " + cache + ".");
+    }
+    return archive;
+  }
+
+  // Runs SolveKit (or with mainArgs == null, just the JVM) with the archive's class path and the given cache options.
+  private static void train(Archive archive, List<String> cacheOptions, List<String> mainArgs) throws IOException {
+    List<String> command = new Archive(archive.directory(), archive.classPath(), cacheOptions)
+        .command(mainArgs == null ? List.of() : mainArgs);
+    if(mainArgs == null) {
+      command.removeLast(); // No main class
+    }
+
+    Path logFile = archive.directory().resolve("training.log");
+    Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(logFile.toFile()).start();
+    try {
+      int exitCode = process.waitFor();
+      if(exitCode != 0) {
+        throw ForkedBenchmark.childFailure("The training JVM (" + String.join(" ", cacheOptions) + ")", exitCode, logFile);
+      }
+    } catch(InterruptedException e) {
+      process.destroyForcibly();
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while building the class cache", e);
+    }
+  }
+
+  // Hash of everything a cache depends on: the JDK, the JVM options, and every class file and JAR on the class path.
+  private static String key(Mode mode, List<Path> classDirectories, List<String> jars) throws IOException {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch(NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 isn't available", e); // Every JDK has to provide it
+    }
+    digest.update((mode + "\n" + System.getProperty("java.home") + "\n" + Runtime.version() + "\n" +
+        ForkedBenchmark.inheritedJvmOptions(List.of()) + "\n").getBytes());
+    for(Path classDirectory : classDirectories) {
+      for(Path file : filesIn(classDirectory)) {
+        digest.update(classDirectory.relativize(file).toString().getBytes());
+        digest.update(Files.readAllBytes(file));
+      }
+    }
+    for(String jar : jars) { // The JVM itself checks JARs by size and modification time, so that's enough here
+      Path path = Path.of(jar);
+      digest.update((jar + "\n" + Files.size(path) + "\n" + Files.getLastModifiedTime(path) + "\n").getBytes());
+    }
+    return HexFormat.of().formatHex(digest.digest(), 0, 8);
+  }
+
+  // Packs every file of the class directories into one JAR. Earlier directories win, like on a class path.
+  private static void writeJar(Path jar, List<Path> classDirectories) throws IOException {
+    Set<String> written = new HashSet<>();
+    try(JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+      for(Path classDirectory : classDirectories) {
+        for(Path file : filesIn(classDirectory)) {
+          String name = classDirectory.relativize(file).toString().replace(File.separatorChar, '/');
+          if(!written.add(name)) {
+            continue;
+          }
+          out.putNextEntry(new JarEntry(name));
+          try(InputStream in = Files.newInputStream(file)) {
+            in.transferTo(out);
+          }
+          out.closeEntry();
+        }
+      }
+    }
+  }
+
+  // Every regular file under `directory`, in a stable order.
+  private static List<Path> filesIn(Path directory) throws IOException {
+    try(Stream<Path> files = Files.walk(directory)) {
+      return files.filter(Files::isRegularFile).sorted().toList();
+    }
+  }
+
+  private static void deleteRecursively(Path directory) throws IOException {
+    if(!Files.exists(directory)) {
+      return;
+    }
+    try(Stream<Path> paths = Files.walk(directory)) {
+      for(Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+        Files.delete(path);
+      }
+    }
+  }
+}
@@ -0,0 +1,175 @@
+/*** BatchedBenchmark.java ****************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    Benchmarks solutions that run faster than the timer can    *
+ *                 resolve. Measures the granularity and cost of              *
+ *                 System.nanoTime(), then times batches of K calls so every  *
+ *                 sample lasts well above both, and reports the time per     *
+ *                 call.                                                      *
+\******************************************************************************/
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BatchedBenchmark {
+  // Every sample should last at least this many timer ticks (or nanoTime() calls), which keeps the error from timer
+  // resolution and from reading the timer at around 0.1%.
+  private static final long TICKS_PER_SAMPLE = 1000;
+
+  // Largest batch size auto-calibration picks. Each call in a batch has its own invoker and copy of the input.
+  private static final int MAX_BATCH_SIZE = 1 << 16;
+
+  // A single call slower than this will never need batching, no matter how much faster it gets once it's JIT compiled
+  private static final long NO_BATCHING_NEEDED_NS = 10_000_000;
+
+  // Early calls run interpreted and can be far slower than they'll be once JIT compiled, so auto-calibration keeps
+  // growing the batch for at least this long before it trusts a batch size, and then wants that many batches in a row
+  // to reach the target
+  private static final long CALIBRATION_WARMUP_NS = 500_000_000;
+  private static final int CONFIRMATIONS = 3;
+
+  // The empty solution used to measure harness overhead only needs to reach steady state, which is quick
+  private static final long OVERHEAD_WARMUP_NS = 100_000_000;
+
+  public record Timer(long granularityNs, double costNs) {
+    // The shortest a sample should be
+    public long targetSampleNs() {
+      return TICKS_PER_SAMPLE * Math.max(granularityNs, (long)Math.ceil(costNs));
+    }
+  }
+
+  // endTimes are when each sample ended, in System.nanoTime(); osBefore and osAfter bracket the timed runs (null when
+  // not on Linux)
+  public record Result(long[] perCallTimes, long[] endTimes, int batchSize, ProcMetrics.Snapshot osBefore,
+                       ProcMetrics.Snapshot osAfter) { }
+
+  // Measures the smallest step System.nanoTime() can take and how long one call to it takes.
+  public static Timer measureTimer() {
+    long granularity = Long.MAX_VALUE;
+    for(int i = 0; i < 10_000; i++) { // Smallest observed difference between two different readings
+      long t0 = System.nanoTime();
+      long t1;
+      do {
+        t1 = System.nanoTime();
+      } while(t1 == t0);
+      granularity = Math.min(granularity, t1 - t0);
+    }
+
+    double cost = Double.MAX_VALUE;
+    for(int round = 0; round < 5; round++) { // Best of 5, so the first rounds can warm up
+      final int calls = 1_000_000;
+      long sink = 0;
+      long start = System.nanoTime();
+      for(int i = 0; i < calls; i++) {
+        sink ^= System.nanoTime();
+      }
+      long elapsed = System.nanoTime() - start;
+      if(sink == 42) { // Practically never true; only here so the loop can't be optimized away
+        System.out.print("");
+      }
+      cost = Math.min(cost, (double)elapsed / calls);
+    }
+
+    return new Timer(granularity, cost);
+  }
+
+  /* Benchmarks the solution `iterations` times. Each sample times `batchSize` calls back to back and is divided by
+     `batchSize`, so the returned times are per call. A batch size of 0 picks one automatically so samples last at
+     least `timer.targetSampleNs()`. If a batch size of 1 is picked, the handler's own benchmark loop is used, so
+     solutions that don't need batching are measured exactly like before. */
+  public static Result benchmark(PlatformHandler handler, SolutionSpecifier thisSolution, int iterations,
+                                 int batchSize, Timer timer) throws ClassNotFoundException, NoSuchMethodException, InvocationTargetException, IllegalAccessException, IOException {
+    handler.loadInput(thisSolution);
+    List<SolutionInvoker> invokers = new ArrayList<>();
+
+    if(batchSize == 0) {
+      batchSize = calibrate(handler, thisSolution, invokers, timer.targetSampleNs());
+    }
+    if(batchSize == 1) {
+      ProcMetrics.Snapshot osBefore = ProcMetrics.take();
+      BenchmarkEngine.Samples samples = handler.benchmarkSolution(thisSolution, iterations);
+      return new Result(samples.perCallTimes(), samples.endTimes(), 1, osBefore, ProcMetrics.take());
+    }
+
+    ensureInvokers(handler, thisSolution, invokers, batchSize);
+    SolutionInvoker[] batch = invokers.subList(0, batchSize).toArray(new SolutionInvoker[0]);
+    ProcMetrics.Snapshot osBefore = ProcMetrics.take();
+    BenchmarkEngine.Samples samples = BenchmarkEngine.run(batch, iterations); // Time per call of `iterations` batches
+    return new Result(samples.perCallTimes(), samples.endTimes(), batchSize, osBefore, ProcMetrics.take());
+  }
+
+  // perCallTimes are the harness's time per call; allocatedBytesPerCall is what it allocated per call in the timed
+  // part of the loop, which should be 0 (-1 if this JVM can't tell)
+  public record Overhead(long[] perCallTimes, double allocatedBytesPerCall) { }
+
+  /* Times an empty solution with the same signature (see PlatformHandler.newBaselineInvoker) exactly like benchmark()
+     timed the real one: same input handling, same batch size, same timed loop. What's left is the harness's own cost
+     per call: the reflective call, binding stdin, and the share of the System.nanoTime() pair. Returns `iterations`
+     per-call times, measured after a short warmup, and how much the timed loop allocated. Expects the input to be
+     loaded already. */
+  public static Overhead measureOverhead(PlatformHandler handler, SolutionSpecifier thisSolution, int iterations,
+                                       int batchSize) throws ClassNotFoundException, NoSuchMethodException, InvocationTargetException, IllegalAccessException {
+    SolutionInvoker[] batch = new SolutionInvoker[batchSize];
+    for(int j = 0; j < batchSize; j++) {
+      batch[j] = handler.newBaselineInvoker(thisSolution);
+    }
+
+    long warmupEnd = System.nanoTime() + OVERHEAD_WARMUP_NS;
+    while(System.nanoTime() - warmupEnd < 0) {
+      BenchmarkEngine.timeBatch(batch);
+    }
+
+    long[] execTimes = new long[iterations];
+    for(int i = 0; i < iterations; i++) {
+      execTimes[i] = BenchmarkEngine.timeBatch(batch) / batchSize;
+    }
+    return new Overhead(execTimes, BenchmarkEngine.harnessAllocationPerCall(batch));
+  }
+
+  // `runtimes` minus `overhead`, never going below 0.
+  public static long[] subtractOverhead(long[] runtimes, long overhead) {
+    long[] adjusted = new long[runtimes.length];
+    for(int i = 0; i < runtimes.length; i++) {
+      adjusted[i] = Math.max(0, runtimes[i] - overhead);
+    }
+    return adjusted;
+  }
+
+  // Doubles (at least) the batch size until, after the warmup period, CONFIRMATIONS batches in a row last at least
+  // `targetNs`.
+  private static int calibrate(PlatformHandler handler, SolutionSpecifier thisSolution, List<SolutionInvoker> invokers,
+                               long targetNs) throws ClassNotFoundException, NoSuchMethodException, InvocationTargetException, IllegalAccessException {
+    int batchSize = 1;
+    int confirmations = 0;
+    long warmupEnd = System.nanoTime() + CALIBRATION_WARMUP_NS;
+    for(int round = 0; ; round++) {
+      ensureInvokers(handler, thisSolution, invokers, batchSize);
+      long elapsed = BenchmarkEngine.timeBatch(invokers.subList(0, batchSize).toArray(new SolutionInvoker[0]));
+
+      // The very first call also loads and initializes classes, so it says little about how fast the solution is
+      if(round > 0 && batchSize == 1 && elapsed >= NO_BATCHING_NEEDED_NS) {
+        return 1;
+      }
+      if(elapsed >= targetNs) {
+        if(System.nanoTime() - warmupEnd >= 0 && ++confirmations == CONFIRMATIONS) {
+          return batchSize;
+        }
+      } else if(batchSize == MAX_BATCH_SIZE) { // Can't get any longer; settle for what there is
+        return batchSize;
+      } else { // Too short; grow by at least 2x, or straight to the estimated size
+        confirmations = 0;
+        long estimate = (long)Math.ceil((double)targetNs / Math.max(elapsed, 1) * batchSize);
+        batchSize = (int)Math.min(MAX_BATCH_SIZE, Math.max(2L * batchSize, estimate));
+      }
+    }
+  }
+
+  private static void ensureInvokers(PlatformHandler handler, SolutionSpecifier thisSolution,
+                                     List<SolutionInvoker> invokers, int count) throws ClassNotFoundException, NoSuchMethodException {
+    while(invokers.size() < count) {
+      invokers.add(handler.newInvoker(thisSolution));
+    }
+  }
+}
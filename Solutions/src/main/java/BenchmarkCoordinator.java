@@ -0,0 +1,315 @@
+/*** BenchmarkCoordinator.java ************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    Spreads a corpus benchmark over BenchmarkWorker processes  *
+ *                 on this and other machines. Hands out one test per job,    *
+ *                 gives the jobs of workers that die to other workers, and   *
+ *                 merges what comes back into the usual corpus report.       *
+\******************************************************************************/
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.net.BindException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class BenchmarkCoordinator {
+  // A job is given up on once this many workers have died while running it; by then it's probably what kills them
+  private static final int MAX_ATTEMPTS = 3;
+
+  // How long local workers get to exit on their own once everything is done
+  private static final long SHUTDOWN_GRACE_MS = 5_000;
+
+  // One test to benchmark. `attempts` counts the workers that died while running it.
+  private static final class Job {
+    final int id;
+    final TestCorpus.Entry test;
+    final byte[] input; // null if the test has no input file
+    int attempts;
+
+    Job(int id, TestCorpus.Entry test, byte[] input) {
+      this.id = id;
+      this.test = test;
+      this.input = input;
+    }
+  }
+
+  // What a worker sent back for a job: its runtimes, or why it failed
+  private record Outcome(long[] runtimes, String failure) { }
+
+  private final String platform;
+  private final String solutionName;
+  private final int iterations;
+  private final Map<String, byte[]> classFiles;
+  private final PrintStream console = StdIOMultiplexer.consoleOut();
+  private final String counterFormat;
+
+  private final BlockingQueue<Job> queue = new LinkedBlockingQueue<>();
+  private final long[][] runtimes; // By job id; null until the job is done
+  private final String[] failures; // By job id; why it failed, if it did
+  private final CountDownLatch remaining;
+  private final AtomicInteger finished = new AtomicInteger();
+  private final AtomicInteger connected = new AtomicInteger();
+  private volatile boolean done;
+
+  private BenchmarkCoordinator(String platform, String solutionName, int iterations, Map<String, byte[]> classFiles, int jobs) {
+    this.platform = platform;
+    this.solutionName = solutionName;
+    this.iterations = iterations;
+    this.classFiles = classFiles;
+    this.runtimes = new long[jobs][];
+    this.failures = new String[jobs];
+    this.remaining = new CountDownLatch(jobs);
+    this.counterFormat = "[%" + Integer.toString(jobs).length() + "d/%d] ";
+  }
+
+  /* Benchmarks every selected test on whichever workers connect to `port` (0 picks a free one), starting
+     `localWorkers` of them on this machine first. Returns the results of the tests that didn't fail, like
+     CorpusBenchmark.run(). Workers on other machines are started with "Main --worker=HOST:PORT" from their inputs
+     directory, and must be able to load SolveKit and the platform handlers; the solution itself comes from here. */
+  public static List<CorpusBenchmark.TestResult> run(String platform, String solutionName, String selector, int iterations,
+                                                     boolean forceRescan, int port, int localWorkers) throws IOException, ClassNotFoundException, InterruptedException {
+    List<TestCorpus.Entry> tests = TestCorpus.select(platform, solutionName, selector, forceRescan);
+    if(tests.isEmpty()) {
+      throw new IllegalSpecifierException("No tests of solution " + solutionName + " match \"" + selector + "\".");
+    }
+
+    BenchmarkCoordinator coordinator = new BenchmarkCoordinator(platform, solutionName, iterations,
+        solutionClassFiles(platform, solutionName), tests.size());
+    for(int i = 0; i < tests.size(); i++) {
+      TestCorpus.Entry test = tests.get(i);
+      coordinator.queue.add(new Job(i, test, Files.exists(test.file()) ? Files.readAllBytes(test.file()) : null));
+    }
+    coordinator.coordinate(port, localWorkers);
+
+    List<CorpusBenchmark.TestResult> results = new ArrayList<>();
+    List<String> failed = new ArrayList<>();
+    for(int i = 0; i < tests.size(); i++) {
+      if(coordinator.runtimes[i] != null) {
+        results.add(new CorpusBenchmark.TestResult(tests.get(i),
+            new Statistics(Statistics.last80Percent(coordinator.runtimes[i]))));
+      } else {
+        failed.add(tests.get(i).id() + ": " + coordinator.failures[i]);
+      }
+    }
+    if(!failed.isEmpty()) {
+      coordinator.console.println(failed.size() + " of " + tests.size() + " tests failed and aren't in the results:\n  " +
+          String.join("\n  ", failed));
+    }
+    return results;
+  }
+
+  // The class files of the solution and everything nested in it, which is what workers run.
+  private static Map<String, byte[]> solutionClassFiles(String platform, String solutionName) throws IOException, ClassNotFoundException {
+    Map<String, byte[]> classFiles = new HashMap<>();
+    for(Class<?> nested : SolutionLoader.forName(platform + "." + solutionName).getNestMembers()) {
+      try(InputStream in = nested.getClassLoader().getResourceAsStream(nested.getName().replace('.', '/') + ".class")) {
+        if(in != null) {
+          classFiles.put(nested.getName(), in.readAllBytes());
+        }
+      }
+    }
+    return classFiles;
+  }
+
+  // Listens for workers, starts the local ones and waits until every job is finished or failed.
+  private void coordinate(int port, int localWorkers) throws IOException, InterruptedException {
+    ServerSocket server;
+    try {
+      server = new ServerSocket(port);
+    } catch(BindException e) {
+      throw new IllegalSpecifierException("Can't listen on port " + port + " (" + e.getMessage() + "). Pick another " +
+          "one with --coordinator=PORT, or leave the port out to use any free one.");
+    }
+
+    List<Process> locals = new ArrayList<>();
+    List<Path> logs = new ArrayList<>();
+    try(server) {
+      String address = InetAddress.getLocalHost().getHostName() + ":" + server.getLocalPort();
+      console.println("Coordinator listening on " + address + ". Workers join with \"Main --worker=" + address +
+          "\", started from their inputs directory.");
+      Thread.ofPlatform().daemon().name("coordinator-accept").start(() -> acceptWorkers(server));
+
+      for(int i = 0; i < localWorkers; i++) {
+        Path log = Files.createTempFile("solvekit-worker", ".log");
+        logs.add(log);
+        List<String> command = new ArrayList<>();
+        command.add(ForkedBenchmark.javaExecutable());
+        command.addAll(ForkedBenchmark.inheritedJvmOptions(List.of()));
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add("Main");
+        command.add("--worker=localhost:" + server.getLocalPort());
+        locals.add(new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start());
+      }
+      if(localWorkers == 0) {
+        console.println("Waiting for workers...");
+      }
+
+      while(!remaining.await(1, TimeUnit.SECONDS)) {
+        // Remote workers might still come, but if only local ones were asked for and they're all gone, nobody will
+        if(!locals.isEmpty() && connected.get() == 0 && locals.stream().noneMatch(Process::isAlive)) {
+          throw ForkedBenchmark.childFailure("Every local worker", locals.get(0).exitValue(), logs.get(0));
+        }
+      }
+    } finally {
+      done = true; // Workers waiting for a job get told to shut down
+      long giveUp = System.currentTimeMillis() + SHUTDOWN_GRACE_MS;
+      for(Process local : locals) {
+        if(!local.waitFor(Math.max(0, giveUp - System.currentTimeMillis()), TimeUnit.MILLISECONDS)) {
+          local.destroyForcibly();
+        }
+      }
+      for(Path log : logs) {
+        Files.deleteIfExists(log);
+      }
+    }
+  }
+
+  private void acceptWorkers(ServerSocket server) {
+    try {
+      while(true) {
+        Socket socket = server.accept();
+        Thread.ofPlatform().daemon().name("coordinator-worker").start(() -> serve(socket));
+      }
+    } catch(IOException e) {
+      // The server socket was closed because everything is done
+    }
+  }
+
+  // Feeds jobs to one worker until there are none left. If the worker dies mid-job, the job goes back in the queue.
+  private void serve(Socket socket) {
+    String name = socket.getRemoteSocketAddress().toString();
+    Job job = null;
+    try(socket) {
+      socket.setTcpNoDelay(true);
+      socket.setSoTimeout(BenchmarkWorker.SILENCE_TIMEOUT_MS); // A worker that stops sending heartbeats is gone
+      DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+      DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+      String protocol = in.readUTF();
+      if(!protocol.equals(BenchmarkWorker.PROTOCOL)) {
+        console.println("Ignoring a worker at " + name + " that speaks " + protocol + " instead of " +
+            BenchmarkWorker.PROTOCOL + "; update it.");
+        return;
+      }
+      name = in.readUTF();
+      connected.incrementAndGet();
+      console.println("Worker " + name + " joined.");
+      try {
+        long lastHeartbeat = System.currentTimeMillis();
+        while(true) {
+          job = queue.poll(200, TimeUnit.MILLISECONDS);
+          if(job == null) {
+            if(done) {
+              out.writeByte(BenchmarkWorker.SHUTDOWN);
+              out.flush();
+              return;
+            }
+            if(System.currentTimeMillis() - lastHeartbeat >= BenchmarkWorker.HEARTBEAT_INTERVAL_MS) {
+              out.writeByte(BenchmarkWorker.HEARTBEAT); // So the idle worker knows this coordinator is still there
+              out.flush();
+              lastHeartbeat = System.currentTimeMillis();
+            }
+            continue;
+          }
+
+          send(out, job);
+          Outcome outcome = receive(in);
+          finish(job, outcome, name);
+          job = null;
+        }
+      } finally {
+        connected.decrementAndGet();
+      }
+    } catch(IOException e) {
+      if(job == null) {
+        console.println("Worker " + name + " left.");
+        return;
+      }
+      job.attempts++;
+      if(job.attempts < MAX_ATTEMPTS) {
+        console.println("Worker " + name + (e instanceof SocketTimeoutException ? " stopped responding" : " died") +
+            " while running test " + job.test.id() + " (" + e + "); another worker will run it.");
+        queue.add(job);
+      } else {
+        finish(job, new Outcome(null, job.attempts + " workers died while running it"), name);
+      }
+    } catch(InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void send(DataOutputStream out, Job job) throws IOException {
+    out.writeByte(BenchmarkWorker.JOB);
+    out.writeInt(job.id);
+    out.writeByte(BenchmarkWorker.MODE_BENCHMARK);
+    out.writeUTF(platform);
+    out.writeUTF(solutionName);
+    out.writeInt(iterations);
+    out.writeInt(classFiles.size());
+    for(Map.Entry<String, byte[]> classFile : classFiles.entrySet()) {
+      out.writeUTF(classFile.getKey());
+      out.writeInt(classFile.getValue().length);
+      out.write(classFile.getValue());
+    }
+    out.writeInt(job.input == null ? -1 : job.input.length);
+    if(job.input != null) {
+      out.write(job.input);
+    }
+    out.flush();
+  }
+
+  // Reads a job's runtimes as the worker streams them in, up to DONE or FAILED. Times out if the worker goes silent.
+  private Outcome receive(DataInputStream in) throws IOException {
+    long[] jobRuntimes = new long[iterations];
+    int received = 0;
+    while(true) {
+      byte type = in.readByte();
+      if(type == BenchmarkWorker.HEARTBEAT) {
+        continue;
+      } else if(type == BenchmarkWorker.ITERATION && received < iterations) {
+        jobRuntimes[received++] = in.readLong();
+      } else if(type == BenchmarkWorker.DONE && received == iterations) {
+        return new Outcome(jobRuntimes, null);
+      } else if(type == BenchmarkWorker.FAILED) {
+        return new Outcome(null, in.readUTF());
+      } else {
+        throw new IOException("Unexpected message " + type + " after " + received + " iterations");
+      }
+    }
+  }
+
+  private void finish(Job job, Outcome outcome, String worker) {
+    runtimes[job.id] = outcome.runtimes();
+    failures[job.id] = outcome.failure();
+    synchronized(console) { // One line per test, whichever worker thread finishes it
+      console.printf(counterFormat + "Test %s (%d bytes) on %s: ", finished.incrementAndGet(), runtimes.length,
+          job.test.id(), job.test.size(), worker);
+      if(outcome.runtimes() != null) {
+        long median = new Statistics(Statistics.last80Percent(outcome.runtimes())).getMedian();
+        console.printf("median %.3f ms / %.1f µs\n", UnitConverter.ns_ms(median), UnitConverter.ns_us(median));
+      } else {
+        console.println("failed: " + outcome.failure());
+      }
+    }
+    remaining.countDown();
+  }
+}
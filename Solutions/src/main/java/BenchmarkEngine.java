@@ -0,0 +1,142 @@
+/*** BenchmarkEngine.java *****************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    The one timed loop every benchmark goes through, whatever  *
+ *                 the platform. Handlers only plug in how to prepare a       *
+ *                 solution's input and how to call it (see SolutionInvoker); *
+ *                 the loop itself allocates nothing, so every timing is of   *
+ *                 the solution and not of SolveKit's garbage.                *
+\******************************************************************************/
+
+import SolveKit.Phase;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationTargetException;
+
+public final class BenchmarkEngine {
+  private BenchmarkEngine() { }
+
+  // How many rounds checkHarnessAllocation() measures, after its warmup rounds
+  private static final int ALLOCATION_CHECK_ROUNDS = 1000;
+
+  // What the solution recorded with SolveKit.Phase during the latest run()
+  private static PhaseBreakdown lastPhases = new PhaseBreakdown(0);
+
+  // What run() measured: the time per call of each sample, and when each sample ended, in System.nanoTime()
+  public record Samples(long[] perCallTimes, long[] endTimes) { }
+
+  /* Times `iterations` samples of the solution and returns the time per call of each, with when each ended. Every sample refreshes the input
+     of every invoker in `batch` (untimed), then times calling each of them once; with one invoker that's simply one
+     call per sample. The samples are printed once the loop is done, since printing allocates. Phases the solution times
+     with SolveKit.Phase are only recorded in here, and collected after each sample into lastPhases(). */
+  public static Samples run(SolutionInvoker[] batch, int iterations) throws InvocationTargetException, IllegalAccessException {
+    return run(batch, iterations, null);
+  }
+
+  /* run() with the solution's stdout going to `stdout` instead of being thrown away, e.g. to see what printing costs
+     (see OutputSinkBenchmark). `stdout` is flushed at the end of every sample, inside the timing. */
+  public static Samples run(SolutionInvoker[] batch, int iterations, PrintStream stdout) throws InvocationTargetException, IllegalAccessException {
+    long[] execTimes = new long[iterations];
+    long[] endTimes = new long[iterations];
+    PhaseBreakdown phases = new PhaseBreakdown(iterations);
+    PhaseBreakdown.discardRecorded();
+    Phase.setEnabled(true);
+    try {
+      runLoop(batch, execTimes, endTimes, phases, stdout);
+    } finally {
+      Phase.setEnabled(false);
+      lastPhases = phases;
+    }
+    BenchmarkReporter.showIterations(execTimes);
+    return new Samples(execTimes, endTimes);
+  }
+
+  // The loop of run(), filling in one sample per slot of `execTimes`. Must not allocate, apart from what the invokers
+  // allocate for their input and the first time the solution ends a phase: everything else exists before it starts.
+  private static void runLoop(SolutionInvoker[] batch, long[] execTimes, long[] endTimes, PhaseBreakdown phases,
+                              PrintStream stdout) throws InvocationTargetException, IllegalAccessException {
+    for(int i = 0; i < execTimes.length; i++) { // Run the solution once per sample and record execution time of each
+      execTimes[i] = timeBatch(batch, stdout) / batch.length;
+      endTimes[i] = System.nanoTime(); // For lining samples up with GC logs in the CSV export
+      phases.collect(i, batch.length);
+    }
+  }
+
+  // run() with a single invoker.
+  public static Samples run(SolutionInvoker invoker, int iterations) throws InvocationTargetException, IllegalAccessException {
+    return run(new SolutionInvoker[] {invoker}, iterations);
+  }
+
+  // The phases recorded during the latest run(); empty if the solution doesn't use SolveKit.Phase.
+  public static PhaseBreakdown lastPhases() {
+    return lastPhases;
+  }
+
+  // Refreshes the input of every invoker in `batch`, then times calling each of them once. Every call gets its own fresh
+  // input, and refreshing isn't timed.
+  public static long timeBatch(SolutionInvoker[] batch) throws InvocationTargetException, IllegalAccessException {
+    return timeBatch(batch, null);
+  }
+
+  // timeBatch() with stdout going to `stdout` (null throws it away).
+  private static long timeBatch(SolutionInvoker[] batch, PrintStream stdout) throws InvocationTargetException, IllegalAccessException {
+    for(SolutionInvoker invoker : batch) {
+      invoker.refreshInput();
+    }
+    return timeCalls(batch, stdout);
+  }
+
+  // The measured part of timeBatch(). Must not allocate: everything it touches exists before it starts.
+  private static long timeCalls(SolutionInvoker[] batch, PrintStream stdout) throws InvocationTargetException, IllegalAccessException {
+    // Disable console output to increase performance and ignore non-algorithmic runtime. Only a given `stdout`, which
+    // stands in for where a judge sends output, gets to see it.
+    StdIOMultiplexer.silenceOutput(stdout);
+    try {
+      long tickStart = System.nanoTime(); // Begin timing
+      for(SolutionInvoker invoker : batch) {
+        invoker.invoke();
+      }
+      if(stdout != null) { // A judge only stops the clock once the output is written
+        stdout.flush();
+      }
+      return System.nanoTime() - tickStart; // End timing
+    } finally {
+      StdIOMultiplexer.restoreOutput(); // Restore console printing functionality for stats printing of this run
+    }
+  }
+
+  /* Bytes the calling thread allocates per call in run()'s whole loop, with `batch` holding baseline invokers (see
+     PlatformHandler.newBaselineInvoker), so that anything allocated is SolveKit's and not a solution's. Refreshing the
+     input is allowed to allocate (LeetCode copies the arguments, for one), so it's measured again on its own and taken
+     back out. Call it after the batch has been warmed up; returns -1 if this JVM can't count allocations. */
+  public static double harnessAllocationPerCall(SolutionInvoker[] batch) throws InvocationTargetException, IllegalAccessException {
+    if(!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads)
+        || !threads.isThreadAllocatedMemorySupported()) {
+      return -1;
+    }
+    threads.setThreadAllocatedMemoryEnabled(true);
+
+    long[] execTimes = new long[ALLOCATION_CHECK_ROUNDS];
+    long[] endTimes = new long[ALLOCATION_CHECK_ROUNDS];
+    PhaseBreakdown phases = new PhaseBreakdown(ALLOCATION_CHECK_ROUNDS);
+    PhaseBreakdown.discardRecorded();
+    Phase.setEnabled(true); // Like in run()
+    long before = threads.getCurrentThreadAllocatedBytes();
+    try {
+      runLoop(batch, execTimes, endTimes, phases, null);
+    } finally {
+      Phase.setEnabled(false);
+    }
+    long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+    before = threads.getCurrentThreadAllocatedBytes();
+    for(int round = 0; round < ALLOCATION_CHECK_ROUNDS; round++) {
+      for(SolutionInvoker invoker : batch) {
+        invoker.refreshInput();
+      }
+    }
+    allocated -= threads.getCurrentThreadAllocatedBytes() - before;
+    return (double)Math.max(0, allocated) / ALLOCATION_CHECK_ROUNDS / batch.length;
+  }
+}
@@ -7,13 +7,38 @@
 \******************************************************************************/
 
 import java.io.RandomAccessFile;
+import java.lang.management.ManagementFactory;
 import java.nio.channels.FileChannel;
 import java.nio.channels.FileLock;
 import java.nio.channels.OverlappingFileLockException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
 
 public class BenchmarkReporter {
+  // System.nanoTime() at JVM startup (to the millisecond), so iteration times can be given as JVM uptime. That's the
+  // clock -Xlog:gc and JFR use by default, which makes it easy to line iterations up with GC pauses.
+  private static final long JVM_START_NANOS = System.nanoTime() - ManagementFactory.getRuntimeMXBean().getUptime() * 1_000_000L;
+
+  // Prints the amount of time each iteration took to execute in both milliseconds and microseconds, as both may be
+  // useful. The iteration number is left-aligned and padded to the max number of digits any iteration # will have.
+  // BenchmarkEngine calls this once its loop is done, since printing allocates.
+  public static void showIterations(long[] runtimes) {
+    String iterationFormat = "Iteration %-" + Integer.toString(runtimes.length).length() + "d: %.3f ms / %.1f µs\n";
+    for(int i = 0; i < runtimes.length; i++) {
+      System.out.printf(iterationFormat, i + 1, UnitConverter.ns_ms(runtimes[i]), UnitConverter.ns_us(runtimes[i]));
+    }
+  }
+
   public static void showBenchmarkResults(Statistics all, Statistics last80p) {
+    showBenchmarkResults(all, last80p, null, null);
+  }
+
+  public static void showBenchmarkResults(Statistics all, Statistics last80p, Statistics overheadAll, Statistics overheadLast80p) {
     // all contains statistical variables for all runs, and last80p contains those for the last 80% of runs.
+    // overheadAll and overheadLast80p hold the same for an empty solution timed the same way (the harness overhead). If
+    // they are null, the overhead row is left out.
     
     /* Expected datatypes & formats before printing begins:
      - Runs:      int, unitless
@@ -47,7 +72,10 @@ public class BenchmarkReporter {
     |  * Max      : XXXXXXX.XXX ms / XXXXXXXXXX.X μs  |  * Max      : XXXXXXX.XXX ms / XXXXXXXXXX.X μs  |
     |  * Stddev[σ]: XXXXXXX.XXX ms / XXXXXXXXXX.X μs  |  * Stddev[σ]: XXXXXXX.XXX ms / XXXXXXXXXX.X μs  |
     |  * Σ(time)  : XXXXXXX.XXX  s /  HHHH:MM:SS.III  |  * Σ(time)  : XXXXXXX.XXX  s /  HHHH:MM:SS.III  |
+    |-------------------------------------------------+-------------------------------------------------|
+    |  * Overhead : XXXXXXX.XXX ms / XXXXXXXXXX.X μs  |  * Overhead : XXXXXXX.XXX ms / XXXXXXXXXX.X μs  |
     +-------------------------------------------------+-------------------------------------------------+
+    The Overhead row (the median runtime of an empty solution) is only printed when it was measured.
     */
 
     /* Please excuse the semi-spaghettiesque code below, but this will print a table in the above format exactly,
@@ -68,28 +96,277 @@ public class BenchmarkReporter {
     System.out.printf ("|  * Max      : %-11.3f ms / %-12.1f µs  |  * Max      : %-11.3f ms / %-12.1f µs  |\n", UnitConverter.ns_ms(all.getMax()), UnitConverter.ns_us(all.getMax()), UnitConverter.ns_ms(last80p.getMax()), UnitConverter.ns_us(last80p.getMax()));
     System.out.printf ("|  * Stddev[σ]: %-11.3f ms / %-12.1f µs  |  * Stddev[σ]: %-11.3f ms / %-12.1f µs  |\n", UnitConverter.ns_ms(all.getStddev()), UnitConverter.ns_us(all.getStddev()), UnitConverter.ns_ms(last80p.getStddev()), UnitConverter.ns_us(last80p.getStddev()));
     System.out.printf ("|  * Σ(time)  : %-11.3f  s /  %4d:%02d:%02d.%03d  |  * Σ(time)  : %-11.3f  s /  %4d:%02d:%02d.%03d  |\n", UnitConverter.ns_s(all.getTimeSum()), all.getTimeSum_h(), all.getTimeSum_m(), all.getTimeSum_s(), all.getTimeSum_ms(), UnitConverter.ns_s(last80p.getTimeSum()), last80p.getTimeSum_h(), last80p.getTimeSum_m(), last80p.getTimeSum_s(), last80p.getTimeSum_ms());
+    if(overheadAll != null) {
+      System.out.println("|-------------------------------------------------+-------------------------------------------------|");
+      System.out.printf ("|  * Overhead : %-11.3f ms / %-12.1f µs  |  * Overhead : %-11.3f ms / %-12.1f µs  |\n", UnitConverter.ns_ms(overheadAll.getMedian()), UnitConverter.ns_us(overheadAll.getMedian()), UnitConverter.ns_ms(overheadLast80p.getMedian()), UnitConverter.ns_us(overheadLast80p.getMedian()));
+    }
     System.out.println("+-------------------------------------------------+-------------------------------------------------+");
   }
 
+  /* Prints outlier counts for both sets of runs, plus the statistics that remain once Tukey outliers are removed, in the
+     same layout as showBenchmarkResults:
+    +-------------------------------------------------+-------------------------------------------------+
+    | Outliers (all runs):                            | Outliers (last 80% of runs):                    |
+    |  * Mild     : XXXXX low / XXXXX high  (1.5 IQR) |  * Mild     : XXXXX low / XXXXX high  (1.5 IQR) |
+    |  * Severe   : XXXXX low / XXXXX high  (3 IQR)   |  * Severe   : XXXXX low / XXXXX high  (3 IQR)   |
+    |  * MAD      : XXXXX  (modified z > 3.5)         |  * MAD      : XXXXX  (modified z > 3.5)         |
+    |-------------------------------------------------+-------------------------------------------------|
+    | Without Tukey outliers:                         | Without Tukey outliers:                         |
+    |  * Runs     : X[...]                            |  * Runs     : X[...]                            |
+    |  * Mean     : XXXXXXX.XXX ms / XXXXXXXXXX.X μs  |  * Mean     : XXXXXXX.XXX ms / XXXXXXXXXX.X μs  |
+    |  * Median   : XXXXXXX.XXX ms / XXXXXXXXXX.X μs  |  * Median   : XXXXXXX.XXX ms / XXXXXXXXXX.X μs  |
+    |  * Stddev[σ]: XXXXXXX.XXX ms / XXXXXXXXXX.X μs  |  * Stddev[σ]: XXXXXXX.XXX ms / XXXXXXXXXX.X μs  |
+    +-------------------------------------------------+-------------------------------------------------+
+    */
+  public static void showOutliers(Outliers all, Statistics allFiltered, Outliers last80p, Statistics last80pFiltered) {
+    System.out.println("+-------------------------------------------------+-------------------------------------------------+");
+    System.out.println("| Outliers (all runs):                            | Outliers (last 80% of runs):                    |");
+    System.out.printf ("|  * Mild     : %-5d low / %-5d high  (1.5 IQR) |  * Mild     : %-5d low / %-5d high  (1.5 IQR) |\n", all.getMildLow(), all.getMildHigh(), last80p.getMildLow(), last80p.getMildHigh());
+    System.out.printf ("|  * Severe   : %-5d low / %-5d high  (3 IQR)   |  * Severe   : %-5d low / %-5d high  (3 IQR)   |\n", all.getSevereLow(), all.getSevereHigh(), last80p.getSevereLow(), last80p.getSevereHigh());
+    System.out.printf ("|  * MAD      : %-5d  (modified z > 3.5)         |  * MAD      : %-5d  (modified z > 3.5)         |\n", all.getMadCount(), last80p.getMadCount());
+    System.out.println("|-------------------------------------------------+-------------------------------------------------|");
+    System.out.println("| Without Tukey outliers:                         | Without Tukey outliers:                         |");
+    System.out.printf ("|  * Runs     : %-32d  |  * Runs     : %-32d  |\n", allFiltered.getRuns(), last80pFiltered.getRuns());
+    System.out.printf ("|  * Mean     : %-11.3f ms / %-12.1f µs  |  * Mean     : %-11.3f ms / %-12.1f µs  |\n", UnitConverter.ns_ms(allFiltered.getMean()), UnitConverter.ns_us(allFiltered.getMean()), UnitConverter.ns_ms(last80pFiltered.getMean()), UnitConverter.ns_us(last80pFiltered.getMean()));
+    System.out.printf ("|  * Median   : %-11.3f ms / %-12.1f µs  |  * Median   : %-11.3f ms / %-12.1f µs  |\n", UnitConverter.ns_ms(allFiltered.getMedian()), UnitConverter.ns_us(allFiltered.getMedian()), UnitConverter.ns_ms(last80pFiltered.getMedian()), UnitConverter.ns_us(last80pFiltered.getMedian()));
+    System.out.printf ("|  * Stddev[σ]: %-11.3f ms / %-12.1f µs  |  * Stddev[σ]: %-11.3f ms / %-12.1f µs  |\n", UnitConverter.ns_ms(allFiltered.getStddev()), UnitConverter.ns_us(allFiltered.getStddev()), UnitConverter.ns_ms(last80pFiltered.getStddev()), UnitConverter.ns_us(last80pFiltered.getStddev()));
+    System.out.println("+-------------------------------------------------+-------------------------------------------------+");
+  }
+
+  /* Prints what the OS did during the timed runs, from /proc snapshots taken before and after them, averaged per run:
+    +-------------------------------------------------+-------------------------------------------------+
+    | OS metrics per run (solution thread):           | OS metrics per run (whole JVM):                 |
+    |  * Voluntary ctx switches  : XXXXXXXXXXXXXX.XX  |  * Voluntary ctx switches  : XXXXXXXXXXXXXX.XX  |
+    |  * Involuntary ctx switches: XXXXXXXXXXXXXX.XX  |  * Involuntary ctx switches: XXXXXXXXXXXXXX.XX  |
+    |  * Minor page faults       : XXXXXXXXXXXXXX.XX  |  * Minor page faults       : XXXXXXXXXXXXXX.XX  |
+    |  * Major page faults       : XXXXXXXXXXXXXX.XX  |  * Major page faults       : XXXXXXXXXXXXXX.XX  |
+    |  * CPU migrations          : XXXXXXXXXXXXXX.XX  |  * RSS growth (all runs)   : XXXXXXXXXX.X MB    |
+    |  * Run queue wait          : XXXXXXXXXX.X µs    |  * Peak RSS                : XXXXXXXXXX.X MB    |
+    +-------------------------------------------------+-------------------------------------------------+
+     Voluntary switches mean the solution blocked (I/O, locks, sleeping); involuntary ones mean the OS took the CPU
+     away. The whole-JVM column includes GC and JIT compiler threads. */
+  public static void showOsMetrics(ProcMetrics.Snapshot before, ProcMetrics.Snapshot after, int runs) {
+    String migrations = after.threadMigrations() < 0 ? "n/a" :
+        String.format("%.2f", (double)(after.threadMigrations() - before.threadMigrations()) / runs);
+
+    System.out.println("+-------------------------------------------------+-------------------------------------------------+");
+    System.out.println("| OS metrics per run (solution thread):           | OS metrics per run (whole JVM):                 |");
+    System.out.printf ("|  * Voluntary ctx switches  : %-17.2f  |  * Voluntary ctx switches  : %-17.2f  |\n", (double)(after.threadVoluntarySwitches() - before.threadVoluntarySwitches()) / runs, (double)(after.processVoluntarySwitches() - before.processVoluntarySwitches()) / runs);
+    System.out.printf ("|  * Involuntary ctx switches: %-17.2f  |  * Involuntary ctx switches: %-17.2f  |\n", (double)(after.threadInvoluntarySwitches() - before.threadInvoluntarySwitches()) / runs, (double)(after.processInvoluntarySwitches() - before.processInvoluntarySwitches()) / runs);
+    System.out.printf ("|  * Minor page faults       : %-17.2f  |  * Minor page faults       : %-17.2f  |\n", (double)(after.threadMinorFaults() - before.threadMinorFaults()) / runs, (double)(after.processMinorFaults() - before.processMinorFaults()) / runs);
+    System.out.printf ("|  * Major page faults       : %-17.2f  |  * Major page faults       : %-17.2f  |\n", (double)(after.threadMajorFaults() - before.threadMajorFaults()) / runs, (double)(after.processMajorFaults() - before.processMajorFaults()) / runs);
+    System.out.printf ("|  * CPU migrations          : %-17s  |  * RSS growth (all runs)   : %-12.1f MB    |\n", migrations, (after.rssKb() - before.rssKb()) / 1024.0);
+    System.out.printf ("|  * Run queue wait          : %-12.1f µs    |  * Peak RSS                : %-12.1f MB    |\n", UnitConverter.ns_us((after.threadWaitNs() - before.threadWaitNs()) / runs), after.peakRssKb() / 1024.0);
+    System.out.println("+-------------------------------------------------+-------------------------------------------------+");
+  }
+
+  /* Prints the `count` slowest tests of a corpus run, ranked by the median of their last 80% of runs, like this:
+    +------+------+--------------+------------------------------+------------------------------+-----------------+
+    | Rank | Test | Size (bytes) | Median (last 80%), ms / µs   | Mean (last 80%), ms / µs     | Stddev[σ]       |
+    |------+------+--------------+------------------------------+------------------------------+-----------------|
+    | XXXX | XXXX | XXXXXXXXXXXX | XXXXXXX.XXX ms / XXXXXXXXX.X | XXXXXXX.XXX ms / XXXXXXXXX.X | XXXXXXX.XXX ms  |
+    +------+------+--------------+------------------------------+------------------------------+-----------------+
+     The "Test" column grows to fit the longest test ID. */
+  public static void showSlowestTests(List<CorpusBenchmark.TestResult> results, int count) {
+    List<CorpusBenchmark.TestResult> slowest = new ArrayList<>(results);
+    slowest.sort(Comparator.comparingLong((CorpusBenchmark.TestResult r) -> r.last80p().getMedian()).reversed());
+    slowest = slowest.subList(0, Math.min(count, slowest.size()));
+
+    int idWidth = 4; // Wide enough for the "Test" header
+    for(CorpusBenchmark.TestResult result : slowest) {
+      idWidth = Math.max(idWidth, result.test().id().length());
+    }
+    String border = "+------+" + "-".repeat(idWidth + 2) + "+--------------+------------------------------+------------------------------+-----------------+";
+
+    System.out.println(border);
+    System.out.printf ("| Rank | %-" + idWidth + "s | Size (bytes) | Median (last 80%%), ms / µs   | Mean (last 80%%), ms / µs     | Stddev[σ]       |\n", "Test");
+    System.out.println("|" + border.substring(1, border.length() - 1) + "|");
+    for(int i = 0; i < slowest.size(); i++) {
+      CorpusBenchmark.TestResult result = slowest.get(i);
+      Statistics stats = result.last80p();
+      System.out.printf("| %-4d | %-" + idWidth + "s | %-12d | %-11.3f ms / %-11.1f | %-11.3f ms / %-11.1f | %-11.3f ms  |\n",
+          i + 1, result.test().id(), result.test().size(),
+          UnitConverter.ns_ms(stats.getMedian()), UnitConverter.ns_us(stats.getMedian()),
+          UnitConverter.ns_ms(stats.getMean()), UnitConverter.ns_us(stats.getMean()),
+          UnitConverter.ns_ms(stats.getStddev()));
+    }
+    System.out.println(border);
+  }
+
+  /* Prints the solution methods the profiler caught most often, like this:
+    +------+--------+-----------------------+-----------------------+
+    | Rank | Method | Self samples          | Total samples         |
+    |------+--------+-----------------------+-----------------------|
+    | X    | XXXXXX | XXXXXXXXXX (XXX.X%)   | XXXXXXXXXX (XXX.X%)   |
+    +------+--------+-----------------------+-----------------------+
+     "Self" counts samples where the method was the innermost solution method (including time in JDK methods it
+     called), "Total" samples where it was anywhere on the stack. Percentages are of all samples in the solution. */
+  public static void showHotMethods(List<SamplingProfiler.HotMethod> methods, long solutionSamples) {
+    int methodWidth = 6; // Wide enough for the "Method" header
+    for(SamplingProfiler.HotMethod method : methods) {
+      methodWidth = Math.max(methodWidth, method.method().length());
+    }
+    String border = "+------+" + "-".repeat(methodWidth + 2) + "+-----------------------+-----------------------+";
+
+    System.out.println(border);
+    System.out.printf ("| Rank | %-" + methodWidth + "s | Self samples          | Total samples         |\n", "Method");
+    System.out.println("|" + border.substring(1, border.length() - 1) + "|");
+    for(int i = 0; i < methods.size(); i++) {
+      SamplingProfiler.HotMethod method = methods.get(i);
+      System.out.printf("| %-4d | %-" + methodWidth + "s | %-10d (%5.1f%%)   | %-10d (%5.1f%%)   |\n", i + 1,
+          method.method(), method.self(), 100.0 * method.self() / solutionSamples,
+          method.total(), 100.0 * method.total() / solutionSamples);
+    }
+    System.out.println(border);
+  }
+
+  /* Prints the phases a solution timed with SolveKit.Phase, per call over the last 80% of runs, like this:
+    +-------+----------------+------------------------------+------------------------------+-----------------+---------+
+    | Phase | Times per call | Median (last 80%), ms / µs   | Mean (last 80%), ms / µs     | Stddev[σ]       | Share   |
+    |-------+----------------+------------------------------+------------------------------+-----------------+---------|
+    | XXXXX | XXXXXXXXXX.XX  | XXXXXXX.XXX ms / XXXXXXXXX.X | XXXXXXX.XXX ms / XXXXXXXXX.X | XXXXXXX.XXX ms  | XXX.X%  |
+    +-------+----------------+------------------------------+------------------------------+-----------------+---------+
+     "Share" is the phase's median as a percentage of the whole solution's median (`solution`). Nested phases count
+     towards the phases around them too, so shares can add up to more than 100%. */
+  public static void showPhases(List<PhaseBreakdown.PhaseResult> phases, Statistics solution) {
+    int nameWidth = 5; // Wide enough for the "Phase" header
+    for(PhaseBreakdown.PhaseResult phase : phases) {
+      nameWidth = Math.max(nameWidth, phase.name().length());
+    }
+    String border = "+" + "-".repeat(nameWidth + 2) + "+----------------+------------------------------+------------------------------+-----------------+---------+";
+
+    System.out.println(border);
+    System.out.printf ("| %-" + nameWidth + "s | Times per call | Median (last 80%%), ms / µs   | Mean (last 80%%), ms / µs     | Stddev[σ]       | Share   |\n", "Phase");
+    System.out.println("|" + border.substring(1, border.length() - 1) + "|");
+    for(PhaseBreakdown.PhaseResult phase : phases) {
+      Statistics stats = phase.last80p();
+      System.out.printf("| %-" + nameWidth + "s | %-13.2f  | %-11.3f ms / %-11.1f | %-11.3f ms / %-11.1f | %-11.3f ms  | %5.1f%%  |\n",
+          phase.name(), phase.timesPerCall(),
+          UnitConverter.ns_ms(stats.getMedian()), UnitConverter.ns_us(stats.getMedian()),
+          UnitConverter.ns_ms(stats.getMean()), UnitConverter.ns_us(stats.getMean()),
+          UnitConverter.ns_ms(stats.getStddev()),
+          solution.getMedian() > 0 ? 100.0 * stats.getMedian() / solution.getMedian() : 0.0);
+    }
+    System.out.println(border);
+  }
+
+  /* Prints what one call of the solution did, as counted by OperationCounter, next to what the previous version of
+     the solution did on the same test (`previous`, or null if there was none), like this:
+    +-----------------+----------------------+----------------------+-----------+
+    | Operation       | This version         | Previous version     | Change    |
+    |-----------------+----------------------+----------------------+-----------|
+    | Invocations     | XXXXXXXXXXXXXXXXXXXX | XXXXXXXXXXXXXXXXXXXX | +XXXXX.X% |
+    +-----------------+----------------------+----------------------+-----------+ */
+  public static void showOperationCounts(SolveKit.OperationCounts.Counts counts, SolveKit.OperationCounts.Counts previous) {
+    String[] names = {"Invocations", "Loop back-edges", "Array accesses", "Allocations"};
+    long[] now = {counts.invocations(), counts.backEdges(), counts.arrayAccesses(), counts.allocations()};
+    long[] before = previous == null ? null :
+        new long[] {previous.invocations(), previous.backEdges(), previous.arrayAccesses(), previous.allocations()};
+
+    System.out.println("+-----------------+----------------------+----------------------+-----------+");
+    System.out.println("| Operation       | This version         | Previous version     | Change    |");
+    System.out.println("|-----------------+----------------------+----------------------+-----------|");
+    for(int i = 0; i < names.length; i++) {
+      String change = "";
+      if(before != null && before[i] != 0) {
+        change = String.format("%+.1f%%", 100.0 * (now[i] - before[i]) / before[i]);
+      } else if(before != null) {
+        change = now[i] == 0 ? "+0.0%" : "new";
+      }
+      System.out.printf("| %-15s | %-20d | %-20s | %-9s |\n", names[i], now[i], before == null ? "-" : Long.toString(before[i]), change);
+    }
+    System.out.println("+-----------------+----------------------+----------------------+-----------+");
+  }
+
+  /* Prints the reference workload's times before and after a benchmark (see MachineCalibration), like this:
+    +-------------------+------------------------------+------------------------------+----------+
+    | Reference kernel  | Before, ms / µs              | After, ms / µs               | Drift    |
+    |-------------------+------------------------------+------------------------------+----------|
+    | Integer           | XXXXXXX.XXX ms / XXXXXXXXX.X | XXXXXXX.XXX ms / XXXXXXXXX.X | +XXX.X%  |
+    | Memory            | XXXXXXX.XXX ms / XXXXXXXXX.X | XXXXXXX.XXX ms / XXXXXXXXX.X | +XXX.X%  |
+    | Branchy           | XXXXXXX.XXX ms / XXXXXXXXX.X | XXXXXXX.XXX ms / XXXXXXXXX.X | +XXX.X%  |
+    |-------------------+------------------------------+------------------------------+----------|
+    | Score (geo. mean) | XXXXXXX.XXX ms / XXXXXXXXX.X | XXXXXXX.XXX ms / XXXXXXXXX.X | +XXX.X%  |
+    +-------------------+------------------------------+------------------------------+----------+
+     Rows whose drift is beyond `driftLimit` (a fraction) are marked with a "!". */
+  public static void showCalibration(MachineCalibration.Sample before, MachineCalibration.Sample after, double driftLimit) {
+    String[] names = {"Integer", "Memory", "Branchy"};
+    double[] beforeNs = {before.integerNs(), before.memoryNs(), before.branchNs()};
+    double[] afterNs = {after.integerNs(), after.memoryNs(), after.branchNs()};
+
+    System.out.println("+-------------------+------------------------------+------------------------------+----------+");
+    System.out.println("| Reference kernel  | Before, ms / µs              | After, ms / µs               | Drift    |");
+    System.out.println("|-------------------+------------------------------+------------------------------+----------|");
+    for(int i = 0; i < names.length; i++) {
+      showCalibrationRow(names[i], beforeNs[i], afterNs[i], driftLimit);
+    }
+    System.out.println("|-------------------+------------------------------+------------------------------+----------|");
+    showCalibrationRow("Score (geo. mean)", before.score(), after.score(), driftLimit);
+    System.out.println("+-------------------+------------------------------+------------------------------+----------+");
+  }
+
+  private static void showCalibrationRow(String name, double beforeNs, double afterNs, double driftLimit) {
+    double drift = afterNs / beforeNs - 1;
+    System.out.printf("| %-17s | %-11.3f ms / %-11.1f | %-11.3f ms / %-11.1f | %+6.1f%%%s |\n", name,
+        UnitConverter.ns_ms((long)beforeNs), UnitConverter.ns_us((long)beforeNs),
+        UnitConverter.ns_ms((long)afterNs), UnitConverter.ns_us((long)afterNs), 100 * drift,
+        Math.abs(drift) > driftLimit ? "!" : " ");
+  }
+
+  // Compares the compute-only timing of the main benchmark with the timing while output goes to a judge-like sink.
+  public static void showOutputSink(Statistics computeOnly, Statistics withSink, OutputSinkBenchmark.Result sink) {
+    double outputShare = Math.max(0, 1 - (double)computeOnly.getMedian() / withSink.getMedian());
+    String column = "Output to " + sink.sink();
+
+    System.out.println("+------------------------------+------------------------------+------------------------------+");
+    System.out.printf("| Last 80%% of runs             | %-28s | %-28s |\n", "Compute only", column);
+    System.out.println("|------------------------------+------------------------------+------------------------------|");
+    System.out.printf("| Median, ms / µs              | %-11.3f ms / %-11.1f | %-11.3f ms / %-11.1f |\n",
+        UnitConverter.ns_ms(computeOnly.getMedian()), UnitConverter.ns_us(computeOnly.getMedian()),
+        UnitConverter.ns_ms(withSink.getMedian()), UnitConverter.ns_us(withSink.getMedian()));
+    System.out.printf("| Mean, ms / µs                | %-11.3f ms / %-11.1f | %-11.3f ms / %-11.1f |\n",
+        UnitConverter.ns_ms(computeOnly.getMean()), UnitConverter.ns_us(computeOnly.getMean()),
+        UnitConverter.ns_ms(withSink.getMean()), UnitConverter.ns_us(withSink.getMean()));
+    System.out.printf("| Output per call, bytes       | %-28s | %-28d |\n", "-", sink.bytes());
+    System.out.printf("| Writes to the %-4s per call  | %-28s | %-28d |\n", sink.sink(), "-", sink.writes());
+    System.out.printf("| Output rate                  | %-28s | %-28s |\n", "-",
+        String.format("%.1f MB/s", sink.bytes() / 1e6 / (withSink.getMedian() / 1e9)));
+    System.out.printf("| Share of runtime in output   | %-28s | %-28s |\n", "-",
+        String.format("%.1f %%", 100 * outputShare));
+    System.out.println("+------------------------------+------------------------------+------------------------------+");
+  }
+
   /* Saves all data points to a CSV file in the inputs directory. Appends the current Unix timestamp
      to the end of the filename to avoid filename conflicts. The current timestamp is an argument;
      it's not gotten from inside the method because it has to be synchronized with what the caller
      knows.
 
+     Each row is one iteration, in order: its runtime in nanoseconds, the JVM uptime in seconds when it ended (the same
+     clock as -Xlog:gc, so rows can be lined up with GC pauses or other logged events), and its Tukey and MAD outlier
+     classification according to `outliers`, left empty for ordinary iterations. endTimes[i] is when iteration i ended,
+     in System.nanoTime(), as returned by the loop that measured `data` (see BenchmarkEngine.Samples); null leaves the
+     column empty.
+
      (The inputs directory is configured to be the cwd by default, and it somewhat makes sense to
      store the CSV to that directory as the user will most likely spend a lot of time there editing
      test inputs.) */
-  public static void saveToCSV(long[] data, long currentTime) throws Exception {
+  public static void saveToCSV(long[] data, long[] endTimes, Outliers outliers, long currentTime) throws Exception {
     RandomAccessFile stream = new RandomAccessFile("runtimes_" + currentTime + ".csv", "rw");
     FileChannel channel = stream.getChannel();
     FileLock lock = null;
     try {
       lock = channel.tryLock();
 
+      if(endTimes != null && endTimes.length != data.length) {
+        throw new IllegalArgumentException("Got " + endTimes.length + " end times for " + data.length + " runtimes.");
+      }
+
       // Save every element to a row in the CSV
+      stream.write("runtime_ns,end_uptime_s,tukey_outlier,mad_outlier\n".getBytes());
       for(int i = 0; i < data.length; i++) {
-        stream.write(Long.toString(data[i]).getBytes());
-        stream.write("\n".getBytes());
+        String endUptime = endTimes != null ? String.format(Locale.ROOT, "%.6f", (endTimes[i] - JVM_START_NANOS) * 1e-9) : "";
+        stream.write((data[i] + "," + endUptime + "," + outliers.classify(data[i]).label() + "," +
+            (outliers.isMadOutlier(data[i]) ? "outlier" : "") + "\n").getBytes());
       }
     } catch (final OverlappingFileLockException e) {
       stream.close();
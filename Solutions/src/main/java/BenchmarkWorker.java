@@ -0,0 +1,238 @@
+/*** BenchmarkWorker.java *****************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    A SolveKit process that benchmarks for a                   *
+ *                 BenchmarkCoordinator, possibly on another machine. It      *
+ *                 connects over TCP, receives jobs (a solution's class       *
+ *                 files, an input and what to do with them) and streams each *
+ *                 iteration's runtime back as soon as it's measured.         *
+\******************************************************************************/
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.reflect.InvocationTargetException;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/* The protocol, over one TCP connection per worker (all integers big-endian, strings as DataOutput.writeUTF):
+     worker:      PROTOCOL, worker name
+     coordinator: JOB, job id, mode, platform, solution name, iterations,
+                  number of class files, then (class name, length, bytes) for each,
+                  input length (-1 for no input file), input bytes
+     worker:      ITERATION, runtime in ns   (once per iteration, as each one completes)
+                  then DONE, or FAILED and a message
+     ...more jobs...
+     coordinator: SHUTDOWN
+   Both sides also send HEARTBEAT every HEARTBEAT_INTERVAL_MS (the worker all the time, the coordinator while the
+   worker waits for a job), and give up on the other side when nothing arrives for SILENCE_TIMEOUT_MS, so a machine
+   that crashes or drops off the network is noticed even though its connection is never closed. Receivers skip
+   heartbeats wherever they come.
+   A worker handles one job at a time, and a job either finishes or fails as a whole; if the connection drops or goes
+   silent, the coordinator gives the job to another worker. */
+public class BenchmarkWorker {
+  public static final String PROTOCOL = "SolveKit-worker-2";
+
+  // Message types
+  public static final byte JOB = 1;
+  public static final byte SHUTDOWN = 2;
+  public static final byte ITERATION = 3;
+  public static final byte DONE = 4;
+  public static final byte FAILED = 5;
+  public static final byte HEARTBEAT = 6;
+
+  public static final long HEARTBEAT_INTERVAL_MS = 2_000;
+  public static final int SILENCE_TIMEOUT_MS = 15_000; // Several missed heartbeats, not just a slow network
+
+  // Job modes
+  public static final byte MODE_BENCHMARK = 1; // Benchmark the solution on the input
+
+  // How long to keep trying to reach a coordinator that isn't listening yet
+  private static final long CONNECT_TIMEOUT_MS = 30_000;
+
+  /* Connects to the coordinator at `address` ("host:port"), runs jobs until it says to shut down, then returns.
+     `handlers` are Main's platform handlers. */
+  public static void run(String address, Map<String, PlatformHandler> handlers) throws IOException {
+    int colon = address.lastIndexOf(':');
+    if(colon <= 0) {
+      throw new IllegalSpecifierException("--worker needs the coordinator's address, like --worker=buildhost:7000.");
+    }
+    String host = address.substring(0, colon);
+    int port;
+    try {
+      port = Integer.parseInt(address.substring(colon + 1));
+    } catch(NumberFormatException e) {
+      throw new IllegalSpecifierException("\"" + address.substring(colon + 1) + "\" isn't a port number.");
+    }
+
+    PrintStream console = StdIOMultiplexer.consoleOut();
+    String name = InetAddress.getLocalHost().getHostName() + "/" + ProcessHandle.current().pid();
+    try(Socket socket = connect(host, port)) {
+      socket.setTcpNoDelay(true); // Iteration results are tiny; send each one right away
+      socket.setSoTimeout(SILENCE_TIMEOUT_MS);
+      DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+      DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+      out.writeUTF(PROTOCOL);
+      out.writeUTF(name);
+      out.flush();
+      console.println("Worker " + name + " connected to coordinator " + address + ".");
+      sendHeartbeats(out);
+
+      Loaded loaded = null; // The solution version of the last job, kept so its JIT-compiled code carries over
+      while(true) {
+        byte type;
+        try {
+          type = in.readByte();
+        } catch(SocketTimeoutException e) {
+          throw new IOException("The coordinator stopped responding for " + SILENCE_TIMEOUT_MS / 1000 + " s.", e);
+        }
+        if(type == HEARTBEAT) {
+          continue;
+        }
+        if(type == SHUTDOWN) {
+          console.println("Coordinator is done; shutting down.");
+          return;
+        }
+        if(type != JOB) {
+          throw new IOException("Unexpected message " + type + " from the coordinator.");
+        }
+
+        int jobId = in.readInt();
+        byte mode = in.readByte();
+        String platform = in.readUTF();
+        String solutionName = in.readUTF();
+        int iterations = in.readInt();
+        Map<String, byte[]> classFiles = new HashMap<>();
+        int classCount = in.readInt();
+        for(int i = 0; i < classCount; i++) {
+          String className = in.readUTF();
+          classFiles.put(className, in.readNBytes(in.readInt()));
+        }
+        int inputLength = in.readInt();
+        byte[] input = inputLength < 0 ? null : in.readNBytes(inputLength);
+
+        console.printf("Job %d: %s.%s, %d iterations... ", jobId, platform, solutionName, iterations);
+        if(loaded == null || !loaded.matches(platform, classFiles)) {
+          loaded = new Loaded(platform, classFiles, new SolutionLoader.Fresh(platform, classFiles));
+        }
+        try {
+          if(mode != MODE_BENCHMARK) {
+            throw new IllegalSpecifierException("This worker doesn't know job mode " + mode + "; update it.");
+          }
+          PlatformHandler handler = handlers.get(platform);
+          if(handler == null) {
+            throw new IllegalSpecifierException("This worker doesn't know platform " + platform + ".");
+          }
+          benchmark(handler, platform, solutionName, input, iterations, loaded.loader(), out);
+          synchronized(out) {
+            out.writeByte(DONE);
+            out.flush();
+          }
+          console.println("done");
+        } catch(ReflectiveOperationException | RuntimeException e) { // The solution (or its input) failed, not the worker
+          Throwable cause = e instanceof InvocationTargetException ? e.getCause() : e;
+          synchronized(out) {
+            out.writeByte(FAILED);
+            out.writeUTF(String.valueOf(cause));
+            out.flush();
+          }
+          console.println("failed: " + cause);
+        }
+      }
+    }
+  }
+
+  // Tells the coordinator every HEARTBEAT_INTERVAL_MS that this worker is alive, even while a long job runs, until the
+  // connection closes. Everything written to `out` holds its lock, so heartbeats never land inside another message.
+  private static void sendHeartbeats(DataOutputStream out) {
+    Thread.ofPlatform().daemon().name("worker-heartbeat").start(() -> {
+      try {
+        while(true) {
+          Thread.sleep(HEARTBEAT_INTERVAL_MS);
+          synchronized(out) {
+            out.writeByte(HEARTBEAT);
+            out.flush();
+          }
+        }
+      } catch(IOException | InterruptedException e) {
+        // The connection is closed; the worker is shutting down
+      }
+    });
+  }
+
+  // The class files of a solution and the loader defining them
+  private record Loaded(String platform, Map<String, byte[]> classFiles, ClassLoader loader) {
+    boolean matches(String otherPlatform, Map<String, byte[]> otherClassFiles) {
+      if(!platform.equals(otherPlatform) || !classFiles.keySet().equals(otherClassFiles.keySet())) {
+        return false;
+      }
+      for(Map.Entry<String, byte[]> entry : classFiles.entrySet()) {
+        if(!Arrays.equals(entry.getValue(), otherClassFiles.get(entry.getKey()))) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
+  /* Benchmarks the solution on `input` with the same timed loop as every other benchmark, sending each runtime as
+     soon as it's measured. The input is written to a file of this worker's own under .solvekit-cache (see
+     TestCorpus.CACHED_PREFIX), which is deleted afterwards. */
+  private static void benchmark(PlatformHandler handler, String platform, String solutionName, byte[] input,
+                                int iterations, ClassLoader loader, DataOutputStream out) throws IOException, ReflectiveOperationException {
+    SolutionSpecifier spec = new SolutionSpecifier(solutionName,
+        TestCorpus.CACHED_PREFIX + "worker-" + ProcessHandle.current().pid());
+    Path inputFile = TestCorpus.inputPath(platform, spec);
+    ClassLoader previous = SolutionLoader.current();
+    try {
+      if(input != null) {
+        Files.createDirectories(inputFile.toAbsolutePath().getParent());
+        Files.write(inputFile, input);
+      }
+      SolutionLoader.use(loader);
+      handler.loadInput(spec);
+      SolutionInvoker[] batch = {handler.newInvoker(spec)};
+      for(int i = 0; i < iterations; i++) {
+        long runtime = BenchmarkEngine.timeBatch(batch);
+        synchronized(out) {
+          out.writeByte(ITERATION);
+          out.writeLong(runtime);
+          out.flush();
+        }
+      }
+    } finally {
+      SolutionLoader.use(previous);
+      Files.deleteIfExists(inputFile);
+    }
+  }
+
+  // Connects to the coordinator, retrying for a while in case it's still starting up.
+  private static Socket connect(String host, int port) throws IOException {
+    long giveUp = System.currentTimeMillis() + CONNECT_TIMEOUT_MS;
+    while(true) {
+      try {
+        return new Socket(host, port);
+      } catch(ConnectException e) {
+        if(System.currentTimeMillis() > giveUp) {
+          throw e;
+        }
+        try {
+          Thread.sleep(500);
+        } catch(InterruptedException interrupted) {
+          Thread.currentThread().interrupt();
+          throw e;
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,66 @@
+/*** CorpusBenchmark.java *****************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    Benchmarks a solution on every test of a corpus, one test  *
+ *                 after the other, and collects statistics for each test so  *
+ *                 that the slowest ones can be reported.                     *
+\******************************************************************************/
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class CorpusBenchmark {
+  // Statistics of the last 80% of runs on one test
+  public record TestResult(TestCorpus.Entry test, Statistics last80p) { }
+
+  /* Benchmarks every selected test, unless ResultCache still has runtimes for the same solution bytecode, input, JVM
+     and iteration count; those are reused. `force` benchmarks everything again (and refreshes the cache). */
+  public static List<TestResult> run(PlatformHandler handler, String platformName, String solutionName, String selector,
+                                     int iterations, boolean forceRescan, boolean force) throws IOException, ClassNotFoundException, NoSuchMethodException, InvocationTargetException, IllegalAccessException {
+    List<TestCorpus.Entry> tests = TestCorpus.select(platformName, solutionName, selector, forceRescan);
+    if(tests.isEmpty()) {
+      throw new IllegalSpecifierException("No tests of solution " + solutionName + " match \"" + selector + "\".");
+    }
+
+    // The handlers print a line per iteration; with hundreds of tests that's just noise, so only the line per test
+    // below goes to the console.
+    PrintStream console = StdIOMultiplexer.consoleOut();
+    String counterFormat = "[%" + Integer.toString(tests.size()).length() + "d/%d] ";
+
+    List<TestResult> results = new ArrayList<>();
+    int reused = 0;
+    for(int i = 0; i < tests.size(); i++) {
+      TestCorpus.Entry test = tests.get(i);
+      console.printf(counterFormat + "Test %s (%d bytes): ", i + 1, tests.size(), test.id(), test.size());
+
+      String key = ResultCache.key(platformName, solutionName, test.file(), iterations);
+      long[] runtimes = force ? null : ResultCache.load(key);
+      boolean cached = runtimes != null;
+      if(!cached) {
+        StdIOMultiplexer.setOut(StdIOMultiplexer.NULL_STREAM);
+        try {
+          runtimes = handler.benchmarkSolution(new SolutionSpecifier(solutionName, test.id()), iterations).perCallTimes();
+        } finally {
+          StdIOMultiplexer.setOut(null); // Back to the console
+        }
+        ResultCache.store(key, runtimes);
+      } else {
+        reused++;
+      }
+
+      Statistics last80p = new Statistics(Statistics.last80Percent(runtimes));
+      results.add(new TestResult(test, last80p));
+      console.printf("median %.3f ms / %.1f µs%s\n", UnitConverter.ns_ms(last80p.getMedian()),
+          UnitConverter.ns_us(last80p.getMedian()), cached ? " (cached)" : "");
+    }
+
+    if(reused > 0) {
+      console.println(reused + " of " + tests.size() + " tests were unchanged since they were last benchmarked, so " +
+          "their results were reused. Add --force to benchmark them again.");
+    }
+    return results;
+  }
+}
@@ -0,0 +1,203 @@
+/*** ForkedBenchmark.java *****************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    Benchmarks a solution in a separate JVM with extra JVM     *
+ *                 options, for settings that can only be chosen when a JVM   *
+ *                 starts (e.g. the common pool's parallelism or the garbage  *
+ *                 collector). The child runs Main as usual and hands its     *
+ *                 runtimes back through a file.                              *
+\******************************************************************************/
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class ForkedBenchmark {
+  // How much of a failed child's output to show
+  private static final int LOG_TAIL_LINES = 20;
+
+  /* Runs `java [inherited options] [jvmOptions] Main solutionArg [mainOptions] --runtimes-out=...` in the working
+     directory of this JVM, prefixed by `commandPrefix` (e.g. a taskset command), and returns the runtimes the child
+     benchmarked. `solutionArg` must ask for a benchmark, e.g. "Codeforces.p1A-3B100". The child's console output is
+     only shown if it fails. */
+  public static long[] run(String solutionArg, List<String> mainOptions, List<String> jvmOptions,
+                           List<String> commandPrefix) throws IOException {
+    return run(solutionArg, mainOptions, jvmOptions, commandPrefix, null);
+  }
+
+  // Like run() above, but kills the child and fails if it takes longer than `timeout` (null waits forever).
+  public static long[] run(String solutionArg, List<String> mainOptions, List<String> jvmOptions,
+                           List<String> commandPrefix, Duration timeout) throws IOException {
+    Path runtimesFile = Files.createTempFile("solvekit-runtimes", ".txt");
+    Path logFile = Files.createTempFile("solvekit-child", ".log");
+    try {
+      List<String> command = new ArrayList<>(commandPrefix);
+      command.add(javaExecutable());
+      command.addAll(inheritedJvmOptions(jvmOptions));
+      command.addAll(jvmOptions);
+      command.add("-cp");
+      command.add(System.getProperty("java.class.path"));
+      command.add("Main");
+      command.add(solutionArg);
+      command.addAll(mainOptions);
+      command.add("--runtimes-out=" + runtimesFile);
+
+      Process child = new ProcessBuilder(command)
+          .redirectErrorStream(true)
+          .redirectOutput(logFile.toFile())
+          .start();
+      int exitCode;
+      try {
+        if(timeout == null) {
+          exitCode = child.waitFor();
+        } else if(child.waitFor(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+          exitCode = child.exitValue();
+        } else {
+          child.destroyForcibly();
+          child.waitFor();
+          throw new IllegalStateException("The child JVM (" + String.join(" ", jvmOptions) + ") didn't finish within " +
+              timeout.toSeconds() + " s.");
+        }
+      } catch(InterruptedException e) {
+        child.destroyForcibly();
+        Thread.currentThread().interrupt();
+        throw new IOException("Interrupted while waiting for the child JVM", e);
+      }
+
+      List<String> lines = Files.readAllLines(runtimesFile);
+      if(exitCode != 0 || lines.isEmpty()) {
+        throw childFailure("The child JVM (" + String.join(" ", jvmOptions) + ")", exitCode, logFile);
+      }
+
+      long[] runtimes = new long[lines.size()];
+      for(int i = 0; i < runtimes.length; i++) {
+        runtimes[i] = Long.parseLong(lines.get(i).trim());
+      }
+      return runtimes;
+    } finally {
+      Files.deleteIfExists(runtimesFile);
+      Files.deleteIfExists(logFile);
+    }
+  }
+
+  // The java launcher of the JDK this JVM runs on.
+  public static String javaExecutable() {
+    return Path.of(System.getProperty("java.home"), "bin", "java").toString();
+  }
+
+  // An exception saying that `what` exited with `exitCode`, with the last lines the child wrote to `logFile`.
+  public static IllegalStateException childFailure(String what, int exitCode, Path logFile) throws IOException {
+    List<String> log = Files.readAllLines(logFile);
+    return new IllegalStateException(what + " failed with exit code " + exitCode + ". Its last lines of output were:\n" +
+        String.join("\n", log.subList(Math.max(0, log.size() - LOG_TAIL_LINES), log.size())));
+  }
+
+  // Writes the runtimes for a parent JVM to read back, one per line. Called by Main in the child.
+  public static void writeRuntimes(Path file, long[] runtimes) throws IOException {
+    StringBuilder text = new StringBuilder();
+    for(long runtime : runtimes) {
+      text.append(runtime).append('\n');
+    }
+    Files.writeString(file, text);
+  }
+
+  /* The options this JVM was started with, minus debugger and agent options (a child would fight over the debugger
+     port, and IDE agents aren't needed for benchmarking) and minus any option that one of `overrides` sets too. Just
+     putting the overrides last isn't enough: e.g. a JVM refuses to start with two different garbage collectors. */
+  public static List<String> inheritedJvmOptions(List<String> overrides) {
+    List<String> overridden = overrides.stream().map(ForkedBenchmark::optionKey).toList();
+    List<String> options = new ArrayList<>();
+    for(String option : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+      if(!option.startsWith("-agentlib:") && !option.startsWith("-agentpath:") && !option.startsWith("-javaagent:")
+          && !option.startsWith("-Xrunjdwp") && !overridden.contains(optionKey(option))) {
+        options.add(option);
+      }
+    }
+    return options;
+  }
+
+  // What a JVM option sets, so two options setting the same thing compare equal: "-XX:+UseZGC" and "-XX:+UseG1GC" both
+  // pick the GC, "-XX:TieredStopAtLevel=1" and "-XX:-TieredCompilation" both limit the JIT, "-Xmx64m" and "-Xmx1g" are
+  // both the heap size, and "-Dkey=a" and "-Dkey=b" are the same property.
+  private static String optionKey(String option) {
+    if(option.matches("-XX:[+-]Use\\w*GC")) {
+      return "gc";
+    }
+    if(option.equals("-Xint") || option.equals("-Xcomp") || option.equals("-Xmixed")
+        || option.startsWith("-XX:TieredStopAtLevel=") || option.matches("-XX:[+-]TieredCompilation")) {
+      return "jit";
+    }
+    if(option.startsWith("-XX:")) { // -XX:+Name, -XX:-Name, -XX:Name=value
+      String name = option.substring(4).replaceFirst("^[+-]", "");
+      int equals = name.indexOf('=');
+      return "-XX:" + (equals < 0 ? name : name.substring(0, equals));
+    }
+    if(option.startsWith("-D")) {
+      int equals = option.indexOf('=');
+      return equals < 0 ? option : option.substring(0, equals);
+    }
+    for(String sized : new String[] {"-Xmx", "-Xms", "-Xss", "-Xmn"}) {
+      if(option.startsWith(sized)) {
+        return sized;
+      }
+    }
+    return option;
+  }
+
+  /* A command prefix that restricts a child to the first `cpus` CPUs this process may run on, using taskset. Returns an
+     empty list (no restriction) if that isn't possible: not on Linux, taskset isn't installed, or there aren't enough
+     CPUs. */
+  public static List<String> pinningPrefix(int cpus) {
+    List<Integer> allowed = allowedCpus();
+    if(allowed.size() < cpus || !tasksetAvailable()) {
+      return List.of();
+    }
+
+    StringBuilder list = new StringBuilder();
+    for(int i = 0; i < cpus; i++) {
+      list.append(i == 0 ? "" : ",").append(allowed.get(i));
+    }
+    return List.of("taskset", "-c", list.toString());
+  }
+
+  // CPUs this process may run on, from the Cpus_allowed_list line of /proc/self/status (e.g. "0-3,8"). Empty when not
+  // on Linux.
+  private static List<Integer> allowedCpus() {
+    List<Integer> cpus = new ArrayList<>();
+    try {
+      for(String line : Files.readAllLines(Path.of("/proc/self/status"))) {
+        if(line.startsWith("Cpus_allowed_list:")) {
+          for(String range : line.substring(line.indexOf(':') + 1).trim().split(",")) {
+            String[] ends = range.split("-");
+            int first = Integer.parseInt(ends[0]);
+            int last = Integer.parseInt(ends[ends.length - 1]);
+            for(int cpu = first; cpu <= last; cpu++) {
+              cpus.add(cpu);
+            }
+          }
+        }
+      }
+    } catch(IOException | NumberFormatException e) {
+      cpus.clear(); // Not Linux, or a format we don't understand; don't pin
+    }
+    return cpus;
+  }
+
+  private static boolean tasksetAvailable() {
+    try {
+      Process probe = new ProcessBuilder("taskset", "-V").redirectErrorStream(true)
+          .redirectOutput(ProcessBuilder.Redirect.DISCARD).start();
+      return probe.waitFor() == 0;
+    } catch(IOException e) {
+      return false;
+    } catch(InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+}
@@ -0,0 +1,110 @@
+/*** GeneratedInputs.java *****************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    Turns a problem's InputGrammar into test files. Every      *
+ *                 generated input is kept in the cache under its grammar,    *
+ *                 mode, seed and the grammar's bytecode, so even inputs      *
+ *                 hundreds of MB large are only written once, and tests are  *
+ *                 links to the cached files.                                 *
+\******************************************************************************/
+
+import SolveKit.InputGrammar;
+import SolveKit.InputWriter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Properties;
+
+public class GeneratedInputs {
+  // inputs/.solvekit-cache/generated, next to the other caches
+  private static final Path DIRECTORY = Path.of(System.getProperty("solvekit.cache", ".solvekit-cache"), "generated");
+
+  // Which test files this class wrote, and from which cache file. Only those are ever replaced.
+  private static final Path INDEX = DIRECTORY.resolve("tests.properties");
+
+  /* Makes test `thisSolution.test()` the input `grammar` writes for `seed` in `mode`, generating it unless it's cached.
+     Returns the test file. Refuses to replace a test file it didn't write, so hand-made tests are safe. */
+  public static Path materialize(String platform, SolutionSpecifier thisSolution, String grammar, InputWriter.Mode mode,
+                                 long seed) throws IOException, ReflectiveOperationException {
+    Class<?> grammarClass = SolutionLoader.forName(platform + "." + grammar);
+    if(!InputGrammar.class.isAssignableFrom(grammarClass)) {
+      throw new IllegalSpecifierException(platform + "." + grammar + " must implement SolveKit.InputGrammar.");
+    }
+
+    Path cached = DIRECTORY.resolve(platform).resolve(grammar)
+        .resolve(mode.name().toLowerCase() + "_" + seed + "_" + bytecodeHash(grammarClass) + ".txt");
+    if(!Files.exists(cached)) {
+      System.out.println("Generating " + mode.name().toLowerCase() + " input with " + grammar + ", seed " + seed + "...");
+      long start = System.nanoTime();
+      Files.createDirectories(cached.getParent());
+      Path temp = Files.createTempFile(cached.getParent(), "generating", ".tmp");
+      try(OutputStream out = Files.newOutputStream(temp)) {
+        InputWriter writer = new InputWriter(out, seed, mode);
+        ((InputGrammar)grammarClass.getConstructor().newInstance()).write(writer);
+        writer.flush();
+      } catch(IOException | ReflectiveOperationException | RuntimeException e) {
+        Files.deleteIfExists(temp);
+        throw e;
+      }
+      Files.move(temp, cached, StandardCopyOption.ATOMIC_MOVE); // Never leaves a half-written input in the cache
+      System.out.printf("Generated %.1f MB in %.1f s.\n", Files.size(cached) / 1e6, UnitConverter.ns_ms(System.nanoTime() - start) / 1000);
+    }
+
+    Path test = TestCorpus.inputPath(platform, thisSolution);
+    Properties index = loadIndex();
+    String key = test.toAbsolutePath().normalize().toString();
+    if(Files.exists(test)) {
+      if(index.getProperty(key) == null) {
+        throw new IllegalSpecifierException("Test " + thisSolution.test() + " already exists (" + test + ") and wasn't " +
+            "generated by SolveKit. Pick another test ID for the generated input.");
+      }
+      if(Files.isSameFile(test, cached)) { // Already linked to this very input
+        return test;
+      }
+      Files.delete(test);
+    }
+
+    Files.createDirectories(test.toAbsolutePath().getParent());
+    try {
+      Files.createLink(test, cached); // A hard link costs no space, however large the input
+    } catch(IOException | UnsupportedOperationException e) { // E.g. the cache is on another file system
+      Files.copy(cached, test);
+    }
+    index.setProperty(key, cached.toAbsolutePath().normalize().toString());
+    try(OutputStream out = Files.newOutputStream(INDEX)) {
+      index.store(out, "Test files written by SolveKit's input generator, and the cached input each one came from");
+    }
+    System.out.println("Test " + thisSolution.test() + " (" + test + ") is " + mode.name().toLowerCase() + " input from " +
+        grammar + " with seed " + seed + ".");
+    return test;
+  }
+
+  private static Properties loadIndex() throws IOException {
+    Properties index = new Properties();
+    if(Files.exists(INDEX)) {
+      try(InputStream in = Files.newInputStream(INDEX)) {
+        index.load(in);
+      }
+    }
+    return index;
+  }
+
+  // Short hash of the grammar's class file, so editing the grammar gives new inputs instead of stale cached ones.
+  private static String bytecodeHash(Class<?> grammarClass) throws IOException {
+    try(InputStream in = grammarClass.getClassLoader().getResourceAsStream(grammarClass.getName().replace('.', '/') + ".class")) {
+      if(in == null) {
+        return "0";
+      }
+      return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(in.readAllBytes()), 0, 6);
+    } catch(NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 isn't available", e); // Every JDK has to provide it
+    }
+  }
+}
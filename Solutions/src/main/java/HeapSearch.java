@@ -0,0 +1,180 @@
+/*** HeapSearch.java **********************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    Finds the smallest maximum heap (-Xmx) a solution          *
+ *                 completes in, by benchmarking it in child JVMs and         *
+ *                 searching over the heap size, and shows how its runtime    *
+ *                 and garbage collection overhead change near that size.     *
+\******************************************************************************/
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class HeapSearch {
+  private static final int SMALLEST_MB = 2; // A JVM doesn't even start with less
+  private static final double PRECISION = 0.02; // The search stops once the answer is known within 2% (or 1 MB)
+  private static final double[] CURVE = {1.1, 1.25, 1.5, 2, 3, 4}; // Multiples of the minimum also measured
+
+  // A child that takes this many times longer than the first one, with the largest heap, is thrashing and gets killed
+  private static final int TIMEOUT_FACTOR = 20;
+  private static final Duration MIN_TIMEOUT = Duration.ofSeconds(10);
+
+  /* One child JVM. A trial failed if `failure` says why (out of memory, too much time in GC, ...); `last80p`, `gcShare`
+     (the share of the benchmark's wall time spent in GC) and `gcsPerRun` are there whenever the child finished. */
+  public record Trial(int heapMb, Statistics last80p, double gcShare, double gcsPerRun, String failure) {
+    public boolean ok() {
+      return failure == null;
+    }
+  }
+
+  // `minimumMb` is the smallest heap that passed and `failingMb` the largest that failed (below SMALLEST_MB if none
+  // did); `trials` holds every heap tried, smallest first.
+  public record Result(int minimumMb, int failingMb, int maxMb, List<Trial> trials) { }
+
+  /* Benchmarks `solutionArg` (e.g. "Codeforces.p1A-3B10") in child JVMs with different -Xmx, and binary searches for
+     the smallest heap in which it completes with at most `gcLimit` of its time spent collecting garbage. `maxMb` must
+     pass; every heap below SMALLEST_MB is taken to fail. Then measures a few multiples of that heap for the curve. */
+  public static Result search(String solutionArg, List<String> mainOptions, int maxMb, double gcLimit) throws IOException {
+    Map<Integer, Trial> trials = new TreeMap<>();
+    long start = System.nanoTime();
+    Trial largest = trial(solutionArg, mainOptions, maxMb, gcLimit, null);
+    trials.put(maxMb, largest);
+    if(!largest.ok()) {
+      throw new IllegalSpecifierException("The solution doesn't complete even with a " + maxMb + " MB heap (" +
+          largest.failure() + "). Pass a larger maximum, e.g. --min-heap=" + maxMb * 4 + ".");
+    }
+    Duration timeout = Duration.ofNanos(Math.max(MIN_TIMEOUT.toNanos(), TIMEOUT_FACTOR * (System.nanoTime() - start)));
+
+    int failing = SMALLEST_MB - 1; // Largest heap known to fail
+    int passing = maxMb; // Smallest heap known to pass
+    while(passing - failing > Math.max(1, passing * PRECISION)) {
+      int mid = failing + (passing - failing) / 2;
+      Trial trial = trial(solutionArg, mainOptions, mid, gcLimit, timeout);
+      trials.put(mid, trial);
+      if(trial.ok()) {
+        passing = mid;
+      } else {
+        failing = mid;
+      }
+    }
+
+    for(double multiple : CURVE) { // How much giving the solution more room is worth
+      int heapMb = (int)Math.round(passing * multiple);
+      if(heapMb <= maxMb && !trials.containsKey(heapMb)) {
+        trials.put(heapMb, trial(solutionArg, mainOptions, heapMb, gcLimit, timeout));
+      }
+    }
+    return new Result(passing, failing, maxMb, new ArrayList<>(trials.values()));
+  }
+
+  private static Trial trial(String solutionArg, List<String> mainOptions, int heapMb, double gcLimit,
+                             Duration timeout) throws IOException {
+    System.out.print("Benchmarking with -Xmx" + heapMb + "m... ");
+    Path gcFile = Files.createTempFile("solvekit-gc", ".txt");
+    try {
+      List<String> options = new ArrayList<>(mainOptions);
+      options.add("--gc-out=" + gcFile);
+      long[] runtimes;
+      try {
+        runtimes = ForkedBenchmark.run(solutionArg, options, heapOptions(heapMb), List.of(), timeout);
+      } catch(IllegalStateException e) { // The child failed or was killed; say why in a few words
+        String why = e.getMessage().contains("OutOfMemoryError") ? "out of memory"
+            : e.getMessage().contains("didn't finish") ? "timed out" : "failed";
+        System.out.println(why.equals("failed") ? why + "\n" + e.getMessage() : why); // Unexpected, so show the details
+        return new Trial(heapMb, null, 0, 0, why);
+      }
+
+      String[] gc = Files.readString(gcFile).trim().split(" "); // "collections milliseconds wall-nanoseconds"
+      double gcShare = Long.parseLong(gc[1]) * 1e6 / Math.max(Long.parseLong(gc[2]), 1);
+      double gcsPerRun = (double)Long.parseLong(gc[0]) / runtimes.length;
+      Statistics last80p = new Statistics(Statistics.last80Percent(runtimes));
+      String failure = gcShare > gcLimit ? String.format("GC took %.0f%%", 100 * gcShare) : null;
+      System.out.printf("%s, median %.3f ms, %.1f%% in GC\n", failure == null ? "ok" : "too much GC",
+          UnitConverter.ns_ms(last80p.getMedian()), 100 * gcShare);
+      return new Trial(heapMb, last80p, gcShare, gcsPerRun, failure);
+    } finally {
+      Files.deleteIfExists(gcFile);
+    }
+  }
+
+  /* -Xmx for the child, which exits at its first OutOfMemoryError (and says so) instead of letting Main report it as
+     just another exception. A judge's -Xms (Codeforces passes -Xms8M, for example) is kept if this JVM was started with
+     one, but capped at the child's maximum, since a JVM refuses to start with a larger initial than maximum heap. */
+  private static List<String> heapOptions(int heapMb) {
+    for(String option : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+      if(option.startsWith("-Xms")) {
+        return List.of("-Xmx" + heapMb + "m", "-Xms" + Math.min(heapMb, megabytes(option.substring(4))) + "m",
+            "-XX:+ExitOnOutOfMemoryError");
+      }
+    }
+    return List.of("-Xmx" + heapMb + "m", "-XX:+ExitOnOutOfMemoryError");
+  }
+
+  // A JVM size like "512m", "2g" or "8388608" in MB, rounded up.
+  private static long megabytes(String size) {
+    long unit = switch(Character.toLowerCase(size.charAt(size.length() - 1))) {
+      case 'k' -> 1L << 10;
+      case 'm' -> 1L << 20;
+      case 'g' -> 1L << 30;
+      case 't' -> 1L << 40;
+      default -> 1;
+    };
+    long number = Long.parseLong(unit == 1 ? size : size.substring(0, size.length() - 1));
+    return (number * unit + (1 << 20) - 1) >> 20;
+  }
+
+  // Garbage collections so far and the milliseconds they took, over all collectors of this JVM, and System.nanoTime().
+  public static long[] gcTotals() {
+    long[] totals = new long[3];
+    totals[2] = System.nanoTime();
+    for(GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+      totals[0] += Math.max(collector.getCollectionCount(), 0); // -1 if the collector doesn't know
+      totals[1] += Math.max(collector.getCollectionTime(), 0);
+    }
+    return totals;
+  }
+
+  // Writes the collections, GC milliseconds and elapsed nanoseconds between two gcTotals() for a parent JVM to read
+  // back. Called by Main in the child.
+  public static void writeGcTotals(Path file, long[] before, long[] after) throws IOException {
+    Files.writeString(file, (after[0] - before[0]) + " " + (after[1] - before[1]) + " " + (after[2] - before[2]) + "\n");
+  }
+
+  /* Prints a table like this, where "vs. max" compares each median to the one with the largest heap and the smallest
+     passing heap is marked with "*":
+    +-------------+------------------------------+-----------+-------------+-------------+
+    | -Xmx        | Median (last 80%), ms / µs   | vs. max   | Time in GC  | GCs per run |
+    |-------------+------------------------------+-----------+-------------+-------------|
+    | XXXXXXX MB* | XXXXXXX.XXX ms / XXXXXXXXX.X | XXXX.XXx  | XXXXX.X %   | XXXXXXX.X   |
+    +-------------+------------------------------+-----------+-------------+-------------+ */
+  public static void showResults(Result result) {
+    Statistics max = result.trials().stream().filter(trial -> trial.heapMb() == result.maxMb())
+        .findFirst().orElseThrow().last80p();
+
+    System.out.println("+-------------+------------------------------+-----------+-------------+-------------+");
+    System.out.println("| -Xmx        | Median (last 80%), ms / µs   | vs. max   | Time in GC  | GCs per run |");
+    System.out.println("|-------------+------------------------------+-----------+-------------+-------------|");
+    for(Trial trial : result.trials().stream().sorted(Comparator.comparingInt(Trial::heapMb)).toList()) {
+      String heap = String.format("%d MB%s", trial.heapMb(), trial.heapMb() == result.minimumMb() ? "*" : "");
+      Statistics stats = trial.last80p();
+      if(stats == null) {
+        System.out.printf("| %-11s | %-28s | %-9s | %-11s | %-11s |\n", heap, trial.failure(), "", "", "");
+        continue;
+      }
+      System.out.printf("| %-11s | %-11.3f ms / %-11.1f | %-9s | %-11s | %-11.1f |\n", heap,
+          UnitConverter.ns_ms(stats.getMedian()), UnitConverter.ns_us(stats.getMedian()),
+          String.format("%.2fx", (double)stats.getMedian() / Math.max(max.getMedian(), 1)),
+          String.format("%.1f %%", 100 * trial.gcShare()) + (trial.ok() ? "" : "!"), trial.gcsPerRun());
+    }
+    System.out.println("+-------------+------------------------------+-----------+-------------+-------------+");
+  }
+}
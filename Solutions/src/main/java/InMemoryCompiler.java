@@ -0,0 +1,127 @@
+/*** InMemoryCompiler.java ****************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    Compiles a single solution source file with javax.tools    *
+ *                 without touching the disk, and caches the class bytes by   *
+ *                 the hash of the source.                                    *
+\******************************************************************************/
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+public final class InMemoryCompiler {
+  private InMemoryCompiler() { }
+
+  // Class bytes (binary class name -> bytes) of every source compiled so far, by SHA-256 of the source. Undoing an
+  // edit brings back a version that's already compiled, so it doesn't need compiling again.
+  private static final Map<String, Map<String, byte[]>> cache = new HashMap<>();
+
+  private static JavaCompiler compiler;
+  private static StandardJavaFileManager standardFileManager; // Reused, since opening the JDK's modules is slow
+
+  // SHA-256 of a source file's contents, in hex.
+  public static String hash(byte[] source) {
+    try {
+      return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(source));
+    } catch(NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 isn't available", e); // Every JDK has to provide it
+    }
+  }
+
+  // Whether the source with this hash is already compiled.
+  public static synchronized boolean isCached(String sourceHash) {
+    return cache.containsKey(sourceHash);
+  }
+
+  /* Compiles `source` (the contents of `file`) against the class path SolveKit runs with and returns the class bytes
+     of every class it declares, including nested ones. Throws IllegalStateException with javac's messages if it
+     doesn't compile, or if this is a JRE without a compiler. */
+  public static synchronized Map<String, byte[]> compile(Path file, byte[] source) {
+    String sourceHash = hash(source);
+    Map<String, byte[]> cached = cache.get(sourceHash);
+    if(cached != null) {
+      return cached;
+    }
+
+    if(compiler == null) {
+      compiler = ToolProvider.getSystemJavaCompiler();
+      if(compiler == null) {
+        throw new IllegalStateException("This Java runtime has no compiler. Run SolveKit with a JDK to use watch mode.");
+      }
+      standardFileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8);
+    }
+
+    String text = new String(source, StandardCharsets.UTF_8);
+    JavaFileObject sourceObject = new SimpleJavaFileObject(file.toUri(), JavaFileObject.Kind.SOURCE) {
+      @Override
+      public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+        return text;
+      }
+    };
+
+    Map<String, ByteArrayOutputStream> output = new HashMap<>();
+    JavaFileManager fileManager = new ForwardingJavaFileManager<>(standardFileManager) {
+      @Override
+      public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind,
+                                                 FileObject sibling) {
+        return new SimpleJavaFileObject(URI.create("mem:///" + className.replace('.', '/') + kind.extension), kind) {
+          @Override
+          public OutputStream openOutputStream() {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            output.put(className, bytes);
+            return bytes;
+          }
+        };
+      }
+    };
+
+    List<String> options = new ArrayList<>(List.of(
+        "-classpath", System.getProperty("java.class.path"),
+        "-encoding", "UTF-8",
+        "-proc:none",      // No annotation processors to look for
+        "-implicit:none",  // Don't emit classes for other sources javac happens to read
+        "-g"));
+    if(ManagementFactory.getRuntimeMXBean().getInputArguments().contains("--enable-preview")) {
+      // Solutions may use preview features when SolveKit itself does; javac only allows that with --release
+      options.addAll(List.of("--enable-preview", "--release", String.valueOf(Runtime.version().feature())));
+    }
+
+    DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    boolean success = compiler.getTask(null, fileManager, diagnostics, options, null, List.of(sourceObject)).call();
+    if(!success) {
+      StringBuilder message = new StringBuilder(file.getFileName() + " doesn't compile:");
+      for(Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+        if(diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+          message.append("\n  line ").append(diagnostic.getLineNumber()).append(": ").append(diagnostic.getMessage(null));
+        }
+      }
+      throw new IllegalStateException(message.toString());
+    }
+
+    Map<String, byte[]> classes = new HashMap<>();
+    output.forEach((className, bytes) -> classes.put(className, bytes.toByteArray()));
+    cache.put(sourceHash, classes);
+    return classes;
+  }
+}
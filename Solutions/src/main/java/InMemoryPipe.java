@@ -0,0 +1,252 @@
+/*** InMemoryPipe.java ********************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    A one-way byte pipe between two threads of this JVM, used  *
+ *                 to connect interactive solutions to their interactor       *
+ *                 without OS pipes. Like a real pipe, what the writer writes *
+ *                 only becomes visible when it flushes (or the buffer        *
+ *                 fills), and a reader with nothing to read waits.           *
+\******************************************************************************/
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.locks.LockSupport;
+
+/* One thread writes through sink() and one thread reads through source(); the pipe isn't safe for more. Data lives in
+   a ring buffer. The writer fills it past `published` and moves `published` forward on flush, and the reader consumes
+   up to `published`. Waiting threads spin briefly (when there's more than one CPU) and then park, so a reply that
+   comes quickly is picked up within microseconds. */
+public class InMemoryPipe {
+  private static final int CAPACITY = 1 << 16;
+  private static final int SPINS = Runtime.getRuntime().availableProcessors() > 1 ? 20_000 : 0;
+
+  private final byte[] ring = new byte[CAPACITY];
+  private long written; // Writer only: bytes written so far, published or not
+  private volatile long published; // Bytes the reader may read
+  private volatile long consumed; // Bytes the reader has read
+  private volatile boolean closed; // No more data will be published
+  private volatile boolean abandoned; // Nobody will read any more; writes fail
+  private volatile Thread parkedReader;
+  private volatile Thread parkedWriter;
+  private volatile boolean readerWaiting;
+  private volatile long lastPublishNanos;
+
+  // Statistics. The writer's are only written by the writer and the reader's by the reader; read them after both
+  // threads are done.
+  private int flushes;
+  private long readerWaitNs;
+  private int readerWaits;
+  private InMemoryPipe requests; // See measureRoundTripsFrom()
+  private long[] roundTrips = new long[16];
+  private int roundTripCount;
+
+  private final InputStream source = new InputStream() {
+    @Override
+    public int read() throws IOException {
+      awaitData();
+      if(published == consumed) {
+        return -1;
+      }
+      int b = ring[(int)(consumed & (CAPACITY - 1))] & 0xFF;
+      consume(1);
+      return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      if(len == 0) {
+        return 0;
+      }
+      awaitData();
+      int n = (int)Math.min(len, published - consumed);
+      if(n == 0) {
+        return -1; // Closed and drained
+      }
+      int start = (int)(consumed & (CAPACITY - 1));
+      int first = Math.min(n, CAPACITY - start); // Up to the end of the ring, then the rest from its start
+      System.arraycopy(ring, start, b, off, first);
+      System.arraycopy(ring, 0, b, off + first, n - first);
+      consume(n);
+      return n;
+    }
+
+    @Override
+    public int available() {
+      return (int)Math.min(Integer.MAX_VALUE, published - consumed);
+    }
+
+    @Override
+    public void close() {
+      abandon();
+    }
+  };
+
+  private final OutputStream sink = new OutputStream() {
+    @Override
+    public void write(int b) throws IOException {
+      awaitSpace();
+      ring[(int)(written & (CAPACITY - 1))] = (byte)b;
+      written++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      while(len > 0) {
+        awaitSpace();
+        int start = (int)(written & (CAPACITY - 1));
+        int n = (int)Math.min(len, Math.min(CAPACITY - (written - consumed), CAPACITY - start));
+        System.arraycopy(b, off, ring, start, n);
+        written += n;
+        off += n;
+        len -= n;
+      }
+    }
+
+    @Override
+    public void flush() throws IOException {
+      if(abandoned) {
+        throw new IOException("Broken pipe: the other side stopped reading");
+      }
+      if(written != published) {
+        flushes++;
+        publish();
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      flush();
+      InMemoryPipe.this.close();
+    }
+  };
+
+  public InputStream source() {
+    return source;
+  }
+
+  public OutputStream sink() {
+    return sink;
+  }
+
+  /* Makes the reader record a round trip every time it had to wait for data: from the last flush of `requests` (the
+     pipe going the other way) until the reply arrived here. */
+  public void measureRoundTripsFrom(InMemoryPipe requests) {
+    this.requests = requests;
+  }
+
+  // No more data will come; the reader gets what's left and then end of file.
+  public void close() {
+    closed = true;
+    LockSupport.unpark(parkedReader);
+  }
+
+  // Gives up on the pipe from both ends: the reader sees end of file at once and the writer gets IOExceptions.
+  public void abandon() {
+    abandoned = true;
+    closed = true;
+    LockSupport.unpark(parkedReader);
+    LockSupport.unpark(parkedWriter);
+  }
+
+  public boolean isReaderWaiting() {
+    return readerWaiting;
+  }
+
+  // Every byte ever published, to tell whether the pipe has moved since the last look
+  public long publishedBytes() {
+    return published;
+  }
+
+  // Published bytes the reader hasn't read
+  public long unreadBytes() {
+    return published - consumed;
+  }
+
+  public int flushes() {
+    return flushes;
+  }
+
+  public long readerWaitNs() {
+    return readerWaitNs;
+  }
+
+  public int readerWaits() {
+    return readerWaits;
+  }
+
+  public long[] roundTrips() {
+    return Arrays.copyOf(roundTrips, roundTripCount);
+  }
+
+  private void publish() {
+    lastPublishNanos = System.nanoTime();
+    published = written;
+    LockSupport.unpark(parkedReader);
+  }
+
+  private void consume(int n) {
+    consumed += n;
+    LockSupport.unpark(parkedWriter);
+  }
+
+  // Waits until there's something to read or the pipe is closed.
+  private void awaitData() {
+    if(published != consumed || closed) {
+      return;
+    }
+    long start = System.nanoTime();
+    readerWaiting = true;
+    int spins = 0;
+    while(published == consumed && !closed) {
+      if(spins < SPINS) {
+        spins++;
+        Thread.onSpinWait();
+      } else {
+        parkedReader = Thread.currentThread();
+        if(published == consumed && !closed) { // The writer may have published between the check above and now
+          LockSupport.park(this);
+        }
+        parkedReader = null;
+      }
+    }
+    readerWaiting = false;
+    long end = System.nanoTime();
+    readerWaitNs += end - start;
+    readerWaits++;
+    if(requests != null && requests.lastPublishNanos != 0 && published != consumed) { // Not the wait for the first line
+      if(roundTripCount == roundTrips.length) {
+        roundTrips = Arrays.copyOf(roundTrips, roundTripCount * 2);
+      }
+      roundTrips[roundTripCount++] = end - requests.lastPublishNanos;
+    }
+  }
+
+  // Waits until the ring has room for another byte. A full ring is published first, like a full buffer gets written.
+  private void awaitSpace() throws IOException {
+    if(abandoned) {
+      throw new IOException("Broken pipe: the other side stopped reading");
+    }
+    if(written - consumed < CAPACITY) {
+      return;
+    }
+    publish();
+    int spins = 0;
+    while(written - consumed == CAPACITY && !abandoned) {
+      if(spins < SPINS) {
+        spins++;
+        Thread.onSpinWait();
+      } else {
+        parkedWriter = Thread.currentThread();
+        if(written - consumed == CAPACITY && !abandoned) {
+          LockSupport.park(this);
+        }
+        parkedWriter = null;
+      }
+    }
+    if(abandoned) {
+      throw new IOException("Broken pipe: the other side stopped reading");
+    }
+  }
+}
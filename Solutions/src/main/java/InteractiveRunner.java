@@ -0,0 +1,240 @@
+/*** InteractiveRunner.java ***************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    Runs a solution to an interactive problem against a user-  *
+ *                 written SolveKit.Interactor in the same JVM, connected by  *
+ *                 in-memory pipes, and reports the verdict, the queries it   *
+ *                 made, its compute time and what each exchange with the     *
+ *                 interactor cost.                                           *
+\******************************************************************************/
+
+import SolveKit.Interactor;
+import SolveKit.Judge;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class InteractiveRunner {
+  private static final long POLL_MS = 10; // How often the harness checks for idleness and the time limit
+  private static final long ABANDON_GRACE_MS = 1000; // How long stopped threads get to notice
+
+  public static final String ACCEPTED = "Accepted";
+
+  /* One interaction. `solutionNs` is the solution's wall time and `waitingNs` the part of it spent waiting for the
+     interactor's replies; `exchanges` counts those waits (a reply that arrives
+     before the solution reads it costs no wait). `roundTrips` holds, for every exchange, the time from the
+     solution's flush to the reply arriving on its stdin. */
+  public record Result(String verdict, String message, int queries, long solutionNs, long waitingNs, int exchanges,
+                       int solutionFlushes, long solutionBytes, long[] roundTrips) {
+    public long computeNs() {
+      return solutionNs - waitingNs;
+    }
+
+    public boolean accepted() {
+      return verdict.equals(ACCEPTED);
+    }
+  }
+
+  /* Runs the interaction `runs` times, stopping early at the first verdict other than Accepted. The solution reads
+     stdin and writes stdout as usual; like the real System.out, its stdout flushes on every print, so solutions that
+     print through an unflushed PrintWriter or BufferedWriter must flush after each query, as on a judge. */
+  public static List<Result> run(String platform, SolutionSpecifier thisSolution, String interactorName, int runs,
+                                 long timeLimitMs, long idleLimitMs) throws ReflectiveOperationException, IOException {
+    Method solutionMain = SolutionLoader.forName(platform + "." + thisSolution.name()).getMethod("main");
+    solutionMain.setAccessible(true);
+    Class<?> interactorClass = SolutionLoader.forName(platform + "." + interactorName);
+    if(!Interactor.class.isAssignableFrom(interactorClass)) {
+      throw new IllegalSpecifierException(platform + "." + interactorName + " must implement SolveKit.Interactor.");
+    }
+    String test = Files.readString(TestCorpus.inputPath(platform, thisSolution));
+
+    List<Result> results = new ArrayList<>();
+    for(int i = 0; i < runs; i++) {
+      Interactor interactor = (Interactor)interactorClass.getConstructor().newInstance(); // Fresh state every time
+      Result result = interact(solutionMain, interactor, test, timeLimitMs, idleLimitMs);
+      results.add(result);
+      if(!result.accepted()) {
+        break;
+      }
+    }
+    return results;
+  }
+
+  private static Result interact(Method solutionMain, Interactor interactor, String test, long timeLimitMs,
+                                 long idleLimitMs) {
+    InMemoryPipe toSolution = new InMemoryPipe();
+    InMemoryPipe toInteractor = new InMemoryPipe();
+    toSolution.measureRoundTripsFrom(toInteractor);
+    Judge judge = new Judge(toInteractor.source(), toSolution.sink());
+
+    // The first thing to go wrong decides the verdict; everything after it is fallout from abandoning the pipes
+    AtomicReference<String[]> failure = new AtomicReference<>();
+    long[] solutionTimes = new long[2]; // Start and end, written by the solution's thread
+    solutionTimes[0] = System.nanoTime();
+
+    Thread solutionThread = Thread.ofPlatform().daemon().name("solvekit-interactive-solution").unstarted(() -> {
+      PrintStream stdout = new PrintStream(toInteractor.sink(), true, StandardCharsets.UTF_8);
+      StdIOMultiplexer.setIn(toSolution.source());
+      StdIOMultiplexer.setOut(stdout);
+      try {
+        solutionTimes[0] = System.nanoTime();
+        solutionMain.invoke(null, SolutionInvoker.NO_ARGUMENTS);
+        solutionTimes[1] = System.nanoTime();
+        stdout.flush(); // Whatever is left reaches the interactor at exit, like on a judge
+        toInteractor.close();
+      } catch(InvocationTargetException e) {
+        solutionTimes[1] = System.nanoTime();
+        fail(failure, toSolution, toInteractor, "Runtime error", e.getCause().toString());
+      } catch(IllegalAccessException e) {
+        solutionTimes[1] = System.nanoTime();
+        fail(failure, toSolution, toInteractor, "Runtime error", e.toString());
+      } finally {
+        StdIOMultiplexer.unbindAll();
+      }
+    });
+    Thread interactorThread = Thread.ofPlatform().daemon().name("solvekit-interactor").unstarted(() -> {
+      try {
+        interactor.interact(test, judge);
+        toSolution.close(); // The solution sees the end of its input
+      } catch(Judge.Rejection e) {
+        fail(failure, toSolution, toInteractor, e.verdict(), e.getMessage());
+      } catch(Exception e) {
+        fail(failure, toSolution, toInteractor, "Interactor failed", e.toString());
+      }
+    });
+    solutionThread.start();
+    interactorThread.start();
+
+    // Watch both sides until they're done
+    long idleSince = -1;
+    long lastProgress = -1;
+    try {
+      while(!solutionThread.join(Duration.ofMillis(POLL_MS)) || interactorThread.isAlive()) {
+        if(failure.get() != null) {
+          break;
+        }
+        long now = System.nanoTime();
+        if(now - solutionTimes[0] > timeLimitMs * 1_000_000) {
+          if(solutionThread.isAlive()) {
+            fail(failure, toSolution, toInteractor, "Time limit exceeded", "The solution ran for more than " +
+                timeLimitMs + " ms.");
+          } else {
+            fail(failure, toSolution, toInteractor, "Interactor failed", "The interactor was still running " +
+                timeLimitMs + " ms after the solution started.");
+          }
+          break;
+        }
+
+        long progress = toSolution.publishedBytes() + toInteractor.publishedBytes();
+        if(toSolution.isReaderWaiting() && toInteractor.isReaderWaiting() && progress == lastProgress) {
+          if(idleSince == -1) {
+            idleSince = now;
+          } else if(now - idleSince > idleLimitMs * 1_000_000) {
+            fail(failure, toSolution, toInteractor, "Idleness limit exceeded", "The solution and the interactor both " +
+                "waited for each other for " + idleLimitMs + " ms. Did the solution forget to flush after a query?");
+            break;
+          }
+        } else {
+          idleSince = -1;
+        }
+        lastProgress = progress;
+      }
+
+      // After a failure both pipes are abandoned, which wakes up anyone blocked on them
+      solutionThread.join(Duration.ofMillis(ABANDON_GRACE_MS));
+      interactorThread.join(Duration.ofMillis(ABANDON_GRACE_MS));
+    } catch(InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for the interaction to finish", e);
+    }
+
+    String verdict = ACCEPTED;
+    String message = "";
+    if(failure.get() != null) {
+      verdict = failure.get()[0];
+      message = failure.get()[1];
+      if(solutionThread.isAlive()) {
+        message += " (The solution's thread is still running and can't be stopped.)";
+      }
+    } else if(toInteractor.unreadBytes() > 0) {
+      verdict = "Wrong answer";
+      message = "The solution printed more after the interactor was done.";
+    }
+
+    // Statistics are only read once both threads are done, or given up on
+    long solutionNs = (solutionTimes[1] == 0 ? System.nanoTime() : solutionTimes[1]) - solutionTimes[0];
+    return new Result(verdict, message, judge.queries(), solutionNs, toSolution.readerWaitNs(), toSolution.readerWaits(),
+        toInteractor.flushes(), toInteractor.publishedBytes(), toSolution.roundTrips());
+  }
+
+  private static void fail(AtomicReference<String[]> failure, InMemoryPipe toSolution, InMemoryPipe toInteractor,
+                           String verdict, String message) {
+    failure.compareAndSet(null, new String[]{verdict, message});
+    toInteractor.abandon(); // First, so the solution can't slip more output to the interactor once it's woken up
+    toSolution.abandon();
+  }
+
+  // Prints the verdict, then per-interaction statistics over the last 80% of the interactions and the round trips.
+  public static void showResults(List<Result> results) {
+    Result last = results.getLast();
+    if(!last.accepted()) {
+      System.out.println("Verdict: " + last.verdict() + (results.size() > 1 ? " on interaction " + results.size() : "") +
+          "\n" + last.message());
+    } else {
+      System.out.println("Verdict: " + ACCEPTED + (results.size() > 1 ? " on all " + results.size() + " interactions" : ""));
+    }
+
+    List<Result> used = results.size() > 1 ? results.subList(results.size() / 5, results.size()) : results;
+    System.out.println("+------------------------------+-----------------+-----------------+");
+    System.out.println("| Per interaction              | Median          | Max             |");
+    System.out.println("|------------------------------+-----------------+-----------------|");
+    showTimeRow("Solution wall time (ms)", used.stream().mapToLong(Result::solutionNs).toArray());
+    showTimeRow("Solution compute time (ms)", used.stream().mapToLong(Result::computeNs).toArray());
+    showTimeRow("Waiting for replies (ms)", used.stream().mapToLong(Result::waitingNs).toArray());
+    showCountRow("Queries", used.stream().mapToLong(Result::queries).toArray());
+    showCountRow("Waits for a reply", used.stream().mapToLong(Result::exchanges).toArray());
+    showCountRow("Flushes by the solution", used.stream().mapToLong(Result::solutionFlushes).toArray());
+    showCountRow("Bytes sent by the solution", used.stream().mapToLong(Result::solutionBytes).toArray());
+    System.out.println("+------------------------------+-----------------+-----------------+");
+
+    long[] roundTrips = used.stream().flatMapToLong(result -> Arrays.stream(result.roundTrips())).sorted().toArray();
+    if(roundTrips.length > 0) {
+      System.out.printf("Round trip from flush to reply over %d exchanges: median %.1f μs, p90 %.1f μs, p99 %.1f μs, " +
+              "max %.1f μs\n", roundTrips.length, UnitConverter.ns_us(percentile(roundTrips, 50)),
+          UnitConverter.ns_us(percentile(roundTrips, 90)), UnitConverter.ns_us(percentile(roundTrips, 99)),
+          UnitConverter.ns_us(roundTrips[roundTrips.length - 1]));
+    }
+    long queries = used.stream().mapToLong(Result::queries).sum();
+    long flushes = used.stream().mapToLong(Result::solutionFlushes).sum();
+    if(queries > 0 && flushes > 2 * queries) { // More than one flush per query and one per answer is wasted
+      System.out.printf("The solution flushed %.1f times per query; one flush after each complete query is enough.\n",
+          (double)flushes / queries);
+    }
+  }
+
+  private static void showTimeRow(String name, long[] values) {
+    Arrays.sort(values);
+    System.out.printf("| %-28s | %-15.3f | %-15.3f |\n", name, UnitConverter.ns_ms(percentile(values, 50)),
+        UnitConverter.ns_ms(values[values.length - 1]));
+  }
+
+  private static void showCountRow(String name, long[] values) {
+    Arrays.sort(values);
+    System.out.printf("| %-28s | %-15d | %-15d |\n", name, percentile(values, 50), values[values.length - 1]);
+  }
+
+  // The value below which `p` percent of the sorted values lie (nearest rank)
+  private static long percentile(long[] sorted, int p) {
+    int rank = (int)Math.ceil(sorted.length * p / 100.0);
+    return sorted[Math.max(rank - 1, 0)];
+  }
+}
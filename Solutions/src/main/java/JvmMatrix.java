@@ -0,0 +1,106 @@
+/*** JvmMatrix.java ***********************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    Benchmarks one solution under several sets of JVM options  *
+ *                 (garbage collectors, JIT tiers, heap sizes, ...), each in  *
+ *                 its own JVM, and compares the results, to show how         *
+ *                 sensitive the solution is to the VM setup a judge uses.    *
+\******************************************************************************/
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class JvmMatrix {
+  // Used when no matrix file is given. The first set is the baseline the others are compared to.
+  public static final List<String> DEFAULT_SETS = List.of(
+      "",
+      "-XX:+UseSerialGC",
+      "-XX:+UseParallelGC",
+      "-XX:+UseG1GC",
+      "-XX:+UseZGC",
+      "-XX:TieredStopAtLevel=1",
+      "-Xint",
+      "-Xmx64m"
+  );
+
+  // Results for one set of options. Either last80p or error is null.
+  public record Entry(String options, Statistics last80p, String error) { }
+
+  // Reads option sets from a file: one set per line, options separated by spaces. Blank lines and lines starting with
+  // "#" are skipped, and a line that is just "default" means no extra options.
+  public static List<String> readSets(Path file) throws IOException {
+    List<String> sets = new ArrayList<>();
+    for(String line : Files.readAllLines(file)) {
+      line = line.trim();
+      if(line.isEmpty() || line.startsWith("#")) {
+        continue;
+      }
+      sets.add(line.equals("default") ? "" : line);
+    }
+    if(sets.isEmpty()) {
+      throw new IllegalSpecifierException(file + " doesn't contain any JVM option sets.");
+    }
+    return sets;
+  }
+
+  // Benchmarks the solution in a child JVM per option set. A set the JVM rejects (e.g. a GC this JVM wasn't built
+  // with) is reported as failed and the rest still run.
+  public static Entry[] measure(String solutionArg, List<String> mainOptions, List<String> sets) throws IOException {
+    Entry[] entries = new Entry[sets.size()];
+    for(int i = 0; i < sets.size(); i++) {
+      String set = sets.get(i);
+      System.out.printf("[%d/%d] Benchmarking with %s...\n", i + 1, sets.size(), describe(set));
+      List<String> jvmOptions = set.isEmpty() ? List.of() : Arrays.asList(set.split("\\s+"));
+      try {
+        long[] runtimes = ForkedBenchmark.run(solutionArg, mainOptions, jvmOptions, List.of());
+        entries[i] = new Entry(set, new Statistics(Statistics.last80Percent(runtimes)), null);
+      } catch(IllegalStateException e) {
+        System.out.println(e.getMessage());
+        entries[i] = new Entry(set, null, "failed");
+      }
+    }
+    return entries;
+  }
+
+  private static String describe(String set) {
+    return set.isEmpty() ? "default options" : set;
+  }
+
+  /* Prints a table like this, where "vs. first" compares each median to the first set's:
+    +-------------+------------------------------+------------------------------+-----------------+-----------+
+    | JVM options | Median (last 80%), ms / µs   | Mean (last 80%), ms / µs     | Stddev[σ]       | vs. first |
+    |-------------+------------------------------+------------------------------+-----------------+-----------|
+    | XXXXXXXXXXX | XXXXXXX.XXX ms / XXXXXXXXX.X | XXXXXXX.XXX ms / XXXXXXXXX.X | XXXXXXX.XXX ms  | XXXX.XXx  |
+    +-------------+------------------------------+------------------------------+-----------------+-----------+
+     The "JVM options" column grows to fit the longest set. */
+  public static void showResults(Entry[] entries) {
+    int optionsWidth = 11; // Wide enough for the "JVM options" header
+    for(Entry entry : entries) {
+      optionsWidth = Math.max(optionsWidth, describe(entry.options()).length());
+    }
+    String border = "+" + "-".repeat(optionsWidth + 2) + "+------------------------------+------------------------------+-----------------+-----------+";
+    Statistics first = entries[0].last80p();
+
+    System.out.println(border);
+    System.out.printf ("| %-" + optionsWidth + "s | Median (last 80%%), ms / µs   | Mean (last 80%%), ms / µs     | Stddev[σ]       | vs. first |\n", "JVM options");
+    System.out.println("|" + border.substring(1, border.length() - 1) + "|");
+    for(Entry entry : entries) {
+      Statistics stats = entry.last80p();
+      if(stats == null) {
+        System.out.printf("| %-" + optionsWidth + "s | %-28s | %-28s | %-15s | %-9s |\n", describe(entry.options()),
+            entry.error(), "", "", "");
+        continue;
+      }
+      String relative = first == null ? "-" : String.format("%.2fx", (double)stats.getMedian() / Math.max(first.getMedian(), 1));
+      System.out.printf("| %-" + optionsWidth + "s | %-11.3f ms / %-11.1f | %-11.3f ms / %-11.1f | %-11.3f ms  | %-9s |\n",
+          describe(entry.options()), UnitConverter.ns_ms(stats.getMedian()), UnitConverter.ns_us(stats.getMedian()),
+          UnitConverter.ns_ms(stats.getMean()), UnitConverter.ns_us(stats.getMean()), UnitConverter.ns_ms(stats.getStddev()),
+          relative);
+    }
+    System.out.println(border);
+  }
+}
@@ -0,0 +1,26 @@
+/*** ListNode.java ************************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    LeetCode's definition of a singly-linked list node, which  *
+ *                 LeetCode provides to solutions without them having to      *
+ *                 declare it. SolveKit builds these from input files like    *
+ *                 [1,2,3].                                                   *
+\******************************************************************************/
+
+package LeetCode;
+
+public class ListNode {
+  public int val;
+  public ListNode next;
+
+  public ListNode() { }
+
+  public ListNode(int val) {
+    this.val = val;
+  }
+
+  public ListNode(int val, ListNode next) {
+    this.val = val;
+    this.next = next;
+  }
+}
@@ -0,0 +1,28 @@
+/*** TreeNode.java ************************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    LeetCode's definition of a binary tree node, which         *
+ *                 LeetCode provides to solutions without them having to      *
+ *                 declare it. SolveKit builds these from level-order input   *
+ *                 like [1,null,2,3].                                         *
+\******************************************************************************/
+
+package LeetCode;
+
+public class TreeNode {
+  public int val;
+  public TreeNode left;
+  public TreeNode right;
+
+  public TreeNode() { }
+
+  public TreeNode(int val) {
+    this.val = val;
+  }
+
+  public TreeNode(int val, TreeNode left, TreeNode right) {
+    this.val = val;
+    this.left = left;
+    this.right = right;
+  }
+}
@@ -0,0 +1,364 @@
+/*** LeetCodeLiterals.java ****************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    Reads and writes values in the syntax LeetCode uses for    *
+ *                 testcases, e.g. [2,7,11,15], [[1,2],[3,4]], "abc" or       *
+ *                 [1,null,2,3], and converts them to the Java types a        *
+ *                 Solution method expects. Also makes deep copies of those   *
+ *                 values, so every run of a solution gets input it hasn't    *
+ *                 modified yet.                                              *
+\******************************************************************************/
+
+import LeetCode.ListNode;
+import LeetCode.TreeNode;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+
+public class LeetCodeLiterals {
+  /* Parses every top-level value in `text`. Values are separated by whitespace, newlines or commas, and may be
+     prefixed by a parameter name and "=", so both LeetCode's testcase box format (one value per line) and the
+     "nums = [2,7,11,15], target = 9" format from problem statements work. Lines starting with # are comments.
+
+     Parsed values are untyped: lists become List<Object>, scalars stay as their source text, strings/chars become
+     Quoted, and null becomes null. Use convert() to turn them into the types a method expects. */
+  public static List<Object> parseAll(String text) {
+    Parser parser = new Parser(text);
+    List<Object> values = new ArrayList<>();
+    while(parser.skipSeparators()) {
+      values.add(parser.value());
+    }
+    return values;
+  }
+
+  // A string or char literal; kept apart from bare tokens so that "null" and null stay different.
+  public record Quoted(String text) { }
+
+  // Converts a parsed value to `type`.
+  public static Object convert(Object value, Type type) {
+    if(type instanceof ParameterizedType parameterized) { // List<...>
+      Type raw = parameterized.getRawType();
+      if(raw != List.class && raw != Collection.class && raw != Iterable.class) {
+        throw new IllegalArgumentException("Unsupported parameter type " + type.getTypeName());
+      }
+      Type element = parameterized.getActualTypeArguments()[0];
+      List<Object> list = new ArrayList<>();
+      for(Object item : asList(value, type)) {
+        list.add(convert(item, element));
+      }
+      return list;
+    }
+
+    Class<?> c = (Class<?>)type;
+    if(c.isArray()) {
+      List<Object> items = asList(value, type);
+      Object array = Array.newInstance(c.getComponentType(), items.size());
+      for(int i = 0; i < items.size(); i++) {
+        Array.set(array, i, convert(items.get(i), c.getComponentType()));
+      }
+      return array;
+    }
+
+    if(c == ListNode.class) {
+      ListNode dummy = new ListNode();
+      ListNode tail = dummy;
+      for(Object item : asList(value, type)) {
+        tail.next = new ListNode((int)convert(item, int.class));
+        tail = tail.next;
+      }
+      return dummy.next;
+    }
+
+    if(c == TreeNode.class) {
+      return buildTree(asList(value, type));
+    }
+
+    if(value == null) {
+      if(c.isPrimitive()) {
+        throw new IllegalArgumentException("null can't be passed as a " + c.getName());
+      }
+      return null;
+    }
+
+    String text = value instanceof Quoted quoted ? quoted.text() : value.toString();
+    if(c == String.class) {
+      return text;
+    } else if(c == int.class || c == Integer.class) {
+      return Integer.parseInt(text);
+    } else if(c == long.class || c == Long.class) {
+      return Long.parseLong(text);
+    } else if(c == double.class || c == Double.class) {
+      return Double.parseDouble(text);
+    } else if(c == float.class || c == Float.class) {
+      return Float.parseFloat(text);
+    } else if(c == boolean.class || c == Boolean.class) {
+      if(!text.equals("true") && !text.equals("false")) { // Boolean.parseBoolean() would quietly make any typo false
+        throw new IllegalArgumentException("\"" + text + "\" isn't true or false");
+      }
+      return text.equals("true");
+    } else if(c == char.class || c == Character.class) {
+      if(text.length() != 1) {
+        throw new IllegalArgumentException("\"" + text + "\" isn't a single character");
+      }
+      return text.charAt(0);
+    }
+    throw new IllegalArgumentException("Unsupported parameter type " + c.getTypeName());
+  }
+
+  @SuppressWarnings("unchecked")
+  private static List<Object> asList(Object value, Type type) {
+    if(value == null) { // An empty list/tree/linked list is sometimes written as null
+      return List.of();
+    }
+    if(!(value instanceof List)) {
+      throw new IllegalArgumentException("Expected a list for " + type.getTypeName() + ", got " + value);
+    }
+    return (List<Object>)value;
+  }
+
+  // Builds a tree from LeetCode's level-order format, where null marks a missing child: [1,null,2,3]
+  private static TreeNode buildTree(List<Object> levelOrder) {
+    if(levelOrder.isEmpty() || levelOrder.get(0) == null) {
+      return null;
+    }
+
+    TreeNode root = new TreeNode((int)convert(levelOrder.get(0), int.class));
+    Queue<TreeNode> parents = new ArrayDeque<>();
+    parents.add(root);
+    int i = 1;
+    while(i < levelOrder.size()) {
+      TreeNode parent = parents.remove();
+      if(levelOrder.get(i) != null) {
+        parent.left = new TreeNode((int)convert(levelOrder.get(i), int.class));
+        parents.add(parent.left);
+      }
+      i++;
+
+      if(i < levelOrder.size() && levelOrder.get(i) != null) {
+        parent.right = new TreeNode((int)convert(levelOrder.get(i), int.class));
+        parents.add(parent.right);
+      }
+      i++;
+    }
+    return root;
+  }
+
+  // Deep copies a converted value. Strings and boxed primitives are immutable, so they're shared.
+  public static Object deepCopy(Object value) {
+    if(value == null) {
+      return null;
+    } else if(value instanceof Object[] array) {
+      Object[] copy = array.clone();
+      for(int i = 0; i < copy.length; i++) {
+        copy[i] = deepCopy(copy[i]);
+      }
+      return copy;
+    } else if(value.getClass().isArray()) { // Array of primitives
+      int length = Array.getLength(value);
+      Object copy = Array.newInstance(value.getClass().getComponentType(), length);
+      System.arraycopy(value, 0, copy, 0, length);
+      return copy;
+    } else if(value instanceof List<?> list) {
+      List<Object> copy = new ArrayList<>(list.size());
+      for(Object item : list) {
+        copy.add(deepCopy(item));
+      }
+      return copy;
+    } else if(value instanceof ListNode head) {
+      ListNode dummy = new ListNode();
+      ListNode tail = dummy;
+      for(ListNode node = head; node != null; node = node.next) {
+        tail.next = new ListNode(node.val);
+        tail = tail.next;
+      }
+      return dummy.next;
+    } else if(value instanceof TreeNode node) {
+      return new TreeNode(node.val, (TreeNode)deepCopy(node.left), (TreeNode)deepCopy(node.right));
+    }
+    return value;
+  }
+
+  // Formats a value the way LeetCode displays outputs.
+  public static String format(Object value) {
+    StringBuilder out = new StringBuilder();
+    format(value, out);
+    return out.toString();
+  }
+
+  private static void format(Object value, StringBuilder out) {
+    if(value == null) {
+      out.append("null");
+    } else if(value instanceof String s) {
+      out.append('"').append(s).append('"');
+    } else if(value instanceof Character c) {
+      out.append('"').append(c).append('"');
+    } else if(value.getClass().isArray()) {
+      out.append('[');
+      for(int i = 0; i < Array.getLength(value); i++) {
+        if(i > 0) {
+          out.append(',');
+        }
+        format(Array.get(value, i), out);
+      }
+      out.append(']');
+    } else if(value instanceof List<?> list) {
+      format(list.toArray(), out);
+    } else if(value instanceof ListNode head) {
+      List<Object> values = new ArrayList<>();
+      for(ListNode node = head; node != null; node = node.next) {
+        values.add(node.val);
+      }
+      format(values, out);
+    } else if(value instanceof TreeNode root) {
+      List<Object> levelOrder = new ArrayList<>();
+      Queue<TreeNode> queue = new ArrayDeque<>();
+      queue.add(root);
+      levelOrder.add(root.val);
+      while(!queue.isEmpty()) { // ArrayDeque doesn't allow null, so children are checked before being queued
+        TreeNode node = queue.remove();
+        for(TreeNode child : new TreeNode[] {node.left, node.right}) {
+          levelOrder.add(child == null ? null : child.val);
+          if(child != null) {
+            queue.add(child);
+          }
+        }
+      }
+      while(levelOrder.get(levelOrder.size() - 1) == null) { // LeetCode leaves out trailing nulls
+        levelOrder.remove(levelOrder.size() - 1);
+      }
+      format(levelOrder, out);
+    } else {
+      out.append(value);
+    }
+  }
+
+  private static class Parser {
+    private final String text;
+    private int pos = 0;
+
+    Parser(String text) {
+      this.text = text;
+    }
+
+    // Skips whitespace, commas, comments and "name =" prefixes between top-level values. Returns false at the end.
+    boolean skipSeparators() {
+      while(pos < text.length()) {
+        char c = text.charAt(pos);
+        if(Character.isWhitespace(c) || c == ',') {
+          pos++;
+        } else if(c == '#') { // Comment until the end of the line
+          while(pos < text.length() && text.charAt(pos) != '\n') {
+            pos++;
+          }
+        } else if(Character.isLetter(c) && nameFollowedByEquals()) {
+          pos = text.indexOf('=', pos) + 1;
+        } else {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private boolean nameFollowedByEquals() {
+      int i = pos;
+      while(i < text.length() && (Character.isLetterOrDigit(text.charAt(i)) || text.charAt(i) == '_')) {
+        i++;
+      }
+      while(i < text.length() && text.charAt(i) == ' ') {
+        i++;
+      }
+      return i < text.length() && text.charAt(i) == '=';
+    }
+
+    Object value() {
+      skipWhitespace();
+      if(pos >= text.length()) {
+        throw error("Unexpected end of input");
+      }
+
+      char c = text.charAt(pos);
+      if(c == '[') {
+        pos++;
+        List<Object> list = new ArrayList<>();
+        skipWhitespace();
+        if(peek() == ']') {
+          pos++;
+          return list;
+        }
+        while(true) {
+          list.add(value());
+          skipWhitespace();
+          char next = peek();
+          pos++;
+          if(next == ']') {
+            return list;
+          } else if(next != ',') {
+            throw error("Expected , or ]");
+          }
+        }
+      } else if(c == '"' || c == '\'') {
+        return new Quoted(quoted(c));
+      }
+
+      int start = pos; // Bare token: number, true/false or null
+      while(pos < text.length() && "[],\"' \t\r\n".indexOf(text.charAt(pos)) == -1) {
+        pos++;
+      }
+      String token = text.substring(start, pos);
+      if(token.isEmpty()) {
+        throw error("Expected a value");
+      }
+      return token.equals("null") ? null : token;
+    }
+
+    private String quoted(char quote) {
+      StringBuilder s = new StringBuilder();
+      pos++; // Opening quote
+      while(true) {
+        if(pos >= text.length()) {
+          throw error("Unterminated string");
+        }
+        char c = text.charAt(pos++);
+        if(c == quote) {
+          return s.toString();
+        } else if(c == '\\' && pos < text.length()) {
+          char escaped = text.charAt(pos++);
+          switch(escaped) {
+            case 'n' -> s.append('\n');
+            case 't' -> s.append('\t');
+            case 'u' -> {
+              s.append((char)Integer.parseInt(text.substring(pos, pos + 4), 16));
+              pos += 4;
+            }
+            default -> s.append(escaped);
+          }
+        } else {
+          s.append(c);
+        }
+      }
+    }
+
+    private void skipWhitespace() {
+      while(pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+        pos++;
+      }
+    }
+
+    private char peek() {
+      if(pos >= text.length()) {
+        throw error("Unexpected end of input");
+      }
+      return text.charAt(pos);
+    }
+
+    private IllegalArgumentException error(String message) {
+      return new IllegalArgumentException(message + " at character " + pos + " of the input file");
+    }
+  }
+}
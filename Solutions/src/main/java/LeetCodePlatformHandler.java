@@ -6,59 +6,242 @@
 \******************************************************************************/
 
 import java.io.IOException;
-import java.io.OutputStream;
-import java.io.PrintStream;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 public class LeetCodePlatformHandler implements PlatformHandler {
+  // Contents of the test's input file, or null if there isn't one, in which case the solution's main(int test)
+  // builds its own input.
+  private String cachedInput;
+  private Path cachedInputPath;
+
+  // What benchmarkInputParsing() parsed last, stored so the JIT can't throw the parsing away
+  private Object[] parsedArguments;
+
+  // A call to a Solution method with arguments parsed from an input file
+  private record TypedCall(Constructor<?> constructor, Method method, Object[] arguments) {
+    Object newSolution() {
+      try {
+        return constructor.newInstance();
+      } catch(ReflectiveOperationException e) {
+        throw new IllegalStateException("Couldn't create a new Solution object: " + e, e);
+      }
+    }
+
+    // Every call gets its own copy of the arguments, since solutions are allowed to modify them
+    Object[] copyArguments() {
+      Object[] copy = new Object[arguments.length];
+      for(int i = 0; i < copy.length; i++) {
+        copy[i] = LeetCodeLiterals.deepCopy(arguments[i]);
+      }
+      return copy;
+    }
+  }
+
+  // Load the test's input file, if it has one: i_{Specifier}_{Test}.txt containing one LeetCode-style value per
+  // parameter, e.g. "[2,7,11,15]" and "9" on separate lines.
+  @Override
+  public void loadInput(SolutionSpecifier thisSolution) throws IOException {
+    cachedInputPath = TestCorpus.inputPath("LeetCode", thisSolution);
+    cachedInput = Files.exists(cachedInputPath) ? Files.readString(cachedInputPath) : null;
+  }
+
   @Override
   public long runSolution(SolutionSpecifier thisSolution) throws NoSuchMethodException, InvocationTargetException, IllegalAccessException, ClassNotFoundException, IOException {
-    // Do some reflection voodoo to be able to call the solution's main method
-    Class<?> solutionClass = Class.forName("LeetCode." + thisSolution.name());
-    Method solutionMain = solutionClass.getMethod("main", int.class);
+    loadInput(thisSolution);
+    if(cachedInput == null) { // The solution's main method builds the input from the test #
+      // Do some reflection voodoo to be able to call the solution's main method
+      Class<?> solutionClass = SolutionLoader.forName("LeetCode." + thisSolution.name());
+      Method solutionMain = solutionClass.getMethod("main", int.class);
+
+      // Call the solution and time it.
+      long tickStart = System.nanoTime();
+      solutionMain.invoke(null, thisSolution.testNumber());
+      return System.nanoTime() - tickStart; // Return execution time of entire solution
+    }
+
+    // Parse the input and create the Solution object before timing, so only the algorithm itself is timed
+    TypedCall call = prepareTypedCall(thisSolution);
+    Object solution = call.newSolution();
+    Object[] arguments = call.copyArguments();
 
-    // Call the solution and time it.
     long tickStart = System.nanoTime();
-    solutionMain.invoke(null, thisSolution.test());
-    return System.nanoTime() - tickStart; // Return execution time of entire solution
+    Object result = call.method().invoke(solution, arguments);
+    long runtime = System.nanoTime() - tickStart;
+
+    // Methods that modify their input in place (e.g. "Rotate Array") return void; LeetCode shows the first argument.
+    // A void method without parameters has nothing to show.
+    if(call.method().getReturnType() != void.class) {
+      System.out.println(LeetCodeLiterals.format(result));
+    } else if(arguments.length > 0) {
+      System.out.println(LeetCodeLiterals.format(arguments[0]));
+    }
+    return runtime;
   }
 
+  // Times only the parsing of the input file into the Solution method's arguments, in BenchmarkEngine's loop. Finding
+  // the Solution class and the method to call happens once, before the timing.
   @Override
-  public long[] benchmarkSolution(SolutionSpecifier thisSolution, int iterations) throws ClassNotFoundException, NoSuchMethodException, InvocationTargetException, IllegalAccessException, IOException {
+  public BenchmarkEngine.Samples benchmarkInputParsing(SolutionSpecifier thisSolution, int iterations) throws ClassNotFoundException, NoSuchMethodException, InvocationTargetException, IllegalAccessException, IOException {
+    loadInput(thisSolution);
+    if(cachedInput == null) {
+      throw new IllegalSpecifierException("Test " + thisSolution.test() + " has no input file, so there is no parsing to benchmark.");
+    }
+
+    TypedCall call = prepareTypedCall(thisSolution);
+    BenchmarkEngine.Samples samples = BenchmarkEngine.run(new SolutionInvoker() {
+      @Override
+      public void refreshInput() {
+        // The input file's contents are only read, never changed
+      }
+
+      @Override
+      public void invoke() {
+        parsedArguments = convertArguments(parseValues(), call.method());
+      }
+    }, iterations);
+
+    System.out.println("Parsed " + parsedArguments.length + " argument(s) for " + call.method().getName() + ".");
+    return samples;
+  }
+
+  @Override
+  public SolutionInvoker newInvoker(SolutionSpecifier thisSolution) throws ClassNotFoundException, NoSuchMethodException {
+    if(cachedInput != null) { // Call the Solution method directly
+      return typedInvoker(prepareTypedCall(thisSolution));
+    }
+
     // Do some reflection voodoo to be able to call the solution's main method
-    Class<?> solutionClass = Class.forName("LeetCode." + thisSolution.name());
+    Class<?> solutionClass = SolutionLoader.forName("LeetCode." + thisSolution.name());
     Method solutionMain = solutionClass.getMethod("main", int.class);
 
     // Do not use the JVM argument --add-opens when running benchmarks. It is a legacy argument meant to maintain
     // backwards compatibility with old code and is completely irrelevant to programming puzzle solutions.
     solutionMain.setAccessible(true); // Make reflection-based method calling faster (won't work with --add-opens JVM arg)
+    return mainInvoker(solutionMain, thisSolution.testNumber());
+  }
+
+  @Override
+  public SolutionInvoker newBaselineInvoker(SolutionSpecifier thisSolution) throws ClassNotFoundException, NoSuchMethodException {
+    if(cachedInput != null) { // An empty method with as many parameters, called with the same parsed arguments
+      TypedCall call = prepareTypedCall(thisSolution);
+      return typedInvoker(new TypedCall(EmptySolution.class.getConstructor(), EmptySolution.matching(call.method()),
+          call.arguments()));
+    }
+    Method solutionMain = SolutionLoader.forName("LeetCode." + thisSolution.name()).getMethod("main", int.class);
+    return mainInvoker(EmptySolution.matching(solutionMain), thisSolution.testNumber());
+  }
 
-    PrintStream originalOut = System.out; // We're going to be enabling and disabling console output in the near future.
-    PrintStream originalErr = System.err;
+  // Calls the Solution method on a new Solution object with a fresh copy of the arguments every time
+  private static SolutionInvoker typedInvoker(TypedCall call) {
+    return new SolutionInvoker() {
+      private Object solution;
+      private Object[] arguments;
+      private Object result; // Kept so the JIT can't decide the call is useless
 
-    long[] execTimes = new long[iterations];
-    for(int i = 0; i < iterations; i++) { // Run the solution `iterations` times and record execution time of each iteration
-      // Disable console output to increase performance and ignore non-algorithmic runtime
-      System.setOut(new PrintStream(OutputStream.nullOutputStream()));
-      System.setErr(new PrintStream(OutputStream.nullOutputStream()));
+      @Override
+      public void refreshInput() {
+        solution = call.newSolution();
+        arguments = call.copyArguments();
+      }
 
-      try {
-        long tickStart = System.nanoTime(); // Begin timing
-        solutionMain.invoke(null, thisSolution.test());
-        execTimes[i] = System.nanoTime() - tickStart; // End timing
-      } finally {
-        System.setOut(originalOut); // Restore console printing functionality for stats printing of this run
-        System.setErr(originalErr);
+      @Override
+      public void invoke() throws InvocationTargetException, IllegalAccessException {
+        result = call.method().invoke(solution, arguments);
+      }
+    };
+  }
+
+  // Calls the solution's main method, which builds its own input from the test #
+  private static SolutionInvoker mainInvoker(Method solutionMain, int testNumber) {
+    return new SolutionInvoker() {
+      private final Object[] arguments = {testNumber}; // Boxed once, not on every call
+
+      @Override
+      public void refreshInput() {
+        // LeetCode solutions build their own input from the test #
+      }
+
+      @Override
+      public void invoke() throws InvocationTargetException, IllegalAccessException {
+        solutionMain.invoke(null, arguments);
+      }
+    };
+  }
+
+  /* Finds the Solution method to call and converts the input file's values to its parameter types. The Solution class
+     is either nested in the solution's public class (which lets several LeetCode solutions coexist in the package) or
+     the usual top-level class named Solution. If it has more than one candidate method, the one with as many
+     parameters as the input file has values is used, or the input file can pick one with a "# method: name" line. */
+  private TypedCall prepareTypedCall(SolutionSpecifier thisSolution) throws ClassNotFoundException, NoSuchMethodException {
+    Class<?> solutionClass;
+    try {
+      solutionClass = SolutionLoader.forName("LeetCode." + thisSolution.name() + "$Solution");
+    } catch(ClassNotFoundException e) {
+      solutionClass = SolutionLoader.forName("LeetCode.Solution");
+    }
+
+    List<Object> values = parseValues();
+    Matcher directive = Pattern.compile("(?m)^#\\s*method:\\s*(\\w+)").matcher(cachedInput);
+    String wantedName = directive.find() ? directive.group(1) : null;
+
+    List<Method> candidates = new ArrayList<>();
+    for(Method method : solutionClass.getDeclaredMethods()) {
+      if(!Modifier.isStatic(method.getModifiers()) && !Modifier.isPrivate(method.getModifiers()) && !method.isSynthetic()
+          && (wantedName == null || method.getName().equals(wantedName))) {
+        candidates.add(method);
       }
+    }
+    if(candidates.size() > 1) {
+      candidates.removeIf(method -> method.getParameterCount() != values.size());
+    }
+    if(candidates.size() != 1) {
+      throw new NoSuchMethodException("Couldn't decide which method of " + solutionClass.getName() + " to call with " +
+          values.size() + " argument(s). Add a line like \"# method: twoSum\" to " + cachedInputPath + ".");
+    }
 
-      // Print the amount of time this iteration took to execute in both milliseconds and microseconds, as both may be useful.
-      // The format string left-aligns the iteration number integer, then pads it to the max number of digits any iteration # will have.
-      System.out.printf("Iteration " +
-          String.format("%-" + Integer.toString(iterations).length() + "d", i + 1) + // Iteration #
-          ": %.3f ms / %.1f µs\n", UnitConverter.ns_ms(execTimes[i]), UnitConverter.ns_us(execTimes[i])); // Times
+    Method method = candidates.get(0);
+    if(method.getParameterCount() != values.size()) {
+      throw new IllegalArgumentException(cachedInputPath + " has " + values.size() + " value(s), but " +
+          method.getName() + " takes " + method.getParameterCount() + " argument(s).");
     }
 
-    return execTimes; // Return array of all execution times
+    Constructor<?> constructor = solutionClass.getDeclaredConstructor();
+    constructor.setAccessible(true); // Solution classes usually aren't public
+    method.setAccessible(true);
+    return new TypedCall(constructor, method, convertArguments(values, method));
+  }
+
+  // Parses the input file's LeetCode-style values, one per parameter.
+  private List<Object> parseValues() {
+    try {
+      return LeetCodeLiterals.parseAll(cachedInput);
+    } catch(IllegalArgumentException e) {
+      throw new IllegalArgumentException("Couldn't parse " + cachedInputPath + ": " + e.getMessage(), e);
+    }
+  }
+
+  // Converts parsed values to `method`'s parameter types, which must be as many.
+  private Object[] convertArguments(List<Object> values, Method method) {
+    Type[] parameterTypes = method.getGenericParameterTypes();
+    Object[] arguments = new Object[values.size()];
+    for(int i = 0; i < arguments.length; i++) {
+      try {
+        arguments[i] = LeetCodeLiterals.convert(values.get(i), parameterTypes[i]);
+      } catch(IllegalArgumentException e) { // Includes NumberFormatException
+        throw new IllegalArgumentException("Value #" + (i + 1) + " in " + cachedInputPath + " doesn't fit parameter " +
+            "type " + parameterTypes[i].getTypeName() + ": " + e.getMessage(), e);
+      }
+    }
+    return arguments;
   }
 }
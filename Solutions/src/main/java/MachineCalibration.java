@@ -0,0 +1,143 @@
+/*** MachineCalibration.java **************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    Measures how fast this machine is right now with a fixed   *
+ *                 reference workload (integer, memory-bound and branchy      *
+ *                 kernels), so benchmark results can be normalized to it and *
+ *                 runs during which the machine's speed changed can be       *
+ *                 flagged.                                                   *
+\******************************************************************************/
+
+import java.util.SplittableRandom;
+
+public class MachineCalibration {
+  // Work per kernel run, sized so each run takes some milliseconds on a current desktop CPU
+  private static final int INTEGER_STEPS = 5_000_000;
+  private static final int MEMORY_SLOTS = 1 << 22; // 16 MB of ints: more than most caches hold, so most steps miss
+  private static final int MEMORY_STEPS = 250_000;
+  private static final int BRANCH_SLOTS = 1 << 16;
+  private static final int BRANCH_ROUNDS = 40;
+
+  // Every kernel runs this many times untimed first, so the JIT has compiled it before the first measurement counts.
+  // After that the fastest of MEASURED_RUNS runs is kept, which is the least disturbed by whatever else happens.
+  private static final int WARMUP_RUNS = 3;
+  private static final int MEASURED_RUNS = 9;
+
+  // Where kernels put their results so the JIT can't skip computing them
+  private static volatile long sink;
+
+  // Time of the fastest run of each kernel, and their geometric mean as a single number for the machine's speed
+  public record Sample(long integerNs, long memoryNs, long branchNs) {
+    public double score() {
+      return Math.cbrt((double)integerNs * memoryNs * branchNs);
+    }
+  }
+
+  private final int[] chain = new int[MEMORY_SLOTS]; // A single cycle through every slot, visited in random order
+  private final byte[] coinFlips = new byte[BRANCH_SLOTS];
+  private boolean warmedUp;
+
+  public MachineCalibration() {
+    // Sattolo's algorithm: a random permutation that is one big cycle, so the memory kernel can't get stuck in a small,
+    // cached loop. Seeded, so every machine walks the same cycle.
+    SplittableRandom random = new SplittableRandom(0x5EED);
+    for(int i = 0; i < MEMORY_SLOTS; i++) {
+      chain[i] = i;
+    }
+    for(int i = MEMORY_SLOTS - 1; i > 0; i--) {
+      int j = random.nextInt(i);
+      int t = chain[i];
+      chain[i] = chain[j];
+      chain[j] = t;
+    }
+    for(int i = 0; i < BRANCH_SLOTS; i++) {
+      coinFlips[i] = (byte)random.nextInt(2);
+    }
+  }
+
+  // Runs the reference workload and returns how long each kernel took. The first call also warms the kernels up.
+  public Sample measure() {
+    if(!warmedUp) {
+      for(int i = 0; i < WARMUP_RUNS; i++) {
+        integerKernel();
+        memoryKernel();
+        branchKernel();
+      }
+      warmedUp = true;
+    }
+
+    long integer = Long.MAX_VALUE;
+    long memory = Long.MAX_VALUE;
+    long branch = Long.MAX_VALUE;
+    for(int i = 0; i < MEASURED_RUNS; i++) {
+      integer = Math.min(integer, integerKernel());
+      memory = Math.min(memory, memoryKernel());
+      branch = Math.min(branch, branchKernel());
+    }
+    return new Sample(integer, memory, branch);
+  }
+
+  // Multiplications, shifts and xors that depend on each other, so only the core's arithmetic speed matters.
+  private static long integerKernel() {
+    long start = System.nanoTime();
+    long x = 1;
+    for(int i = 0; i < INTEGER_STEPS; i++) {
+      x = x * 6364136223846793005L + 1442695040888963407L;
+      x ^= x >>> 29;
+    }
+    long elapsed = System.nanoTime() - start;
+    sink = x;
+    return elapsed;
+  }
+
+  // Follows the chain, where every step's address comes from the step before, so each cache miss is paid in full.
+  private long memoryKernel() {
+    long start = System.nanoTime();
+    int slot = 0;
+    for(int i = 0; i < MEMORY_STEPS; i++) {
+      slot = chain[slot];
+    }
+    long elapsed = System.nanoTime() - start;
+    sink = slot;
+    return elapsed;
+  }
+
+  // Branches on random coin flips, which no branch predictor can guess. The two sides do different kinds of work so
+  // the JIT can't turn the branch into a conditional move.
+  private long branchKernel() {
+    long start = System.nanoTime();
+    long x = 0;
+    for(int round = 0; round < BRANCH_ROUNDS; round++) {
+      for(int i = 0; i < BRANCH_SLOTS; i++) {
+        if(coinFlips[i] != 0) {
+          x = x * 31 + i;
+        } else {
+          x ^= x >>> 7;
+        }
+      }
+    }
+    long elapsed = System.nanoTime() - start;
+    sink = x;
+    return elapsed;
+  }
+
+  // How much faster (< 0) or slower (> 0) the machine was in `after` than in `before`, as a fraction.
+  public static double drift(Sample before, Sample after) {
+    return after.score() / before.score() - 1;
+  }
+
+  // The largest change of any single kernel between `before` and `after`, as a fraction either way. One kernel can
+  // drift on its own, e.g. the memory kernel when a neighbour starts thrashing the shared cache.
+  public static double maxKernelDrift(Sample before, Sample after) {
+    return Math.max(Math.abs((double)after.integerNs() / before.integerNs() - 1),
+        Math.max(Math.abs((double)after.memoryNs() / before.memoryNs() - 1),
+            Math.abs((double)after.branchNs() / before.branchNs() - 1)));
+  }
+
+  // `runtimeNs` in units of the reference workload: how many times longer than it the runtime took, averaged over
+  // the measurements before and after. Comparable across machines as long as they are alike enough to slow down
+  // the solution and the reference in the same proportion.
+  public static double normalize(long runtimeNs, Sample before, Sample after) {
+    return runtimeNs / ((before.score() + after.score()) / 2);
+  }
+}
@@ -6,31 +6,112 @@
  *                 solutions using reflection.                                *
 \******************************************************************************/
 
+import SolveKit.InputWriter;
+import SolveKit.OperationCounts;
+
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 public class Main {
   static void main(String[] args) {
-    // Arg (singular) will look like this: "{Platform}.{Specifier}-Z[BN[...][S]]"
+    // First arg will look like this: "{Platform}.{Specifier}-{Test}[BN[...][S]]"
     //  * {Platform} is a valid Java package name. It is the name of the platform that hosted the programming problem
     //    to which the solution is implemented. Supported values: "AdventOfCode", "LeetCode", "ProjectEuler",
     //    "Codeforces", "AtCoder", "SPOJ", "UVa".
     //  * {Specifier} is a valid Java class name. It is the name of the class in which there is a main method which we
     //    must execute. It should be the same as the identifier for the problem that the solution is written for.
-    //  * Z is the test number (always 1 digit, 0-9)
-    //  * If the letter B is present after Z, we need to benchmark the solution N times, where N is an integer in the
-    //    range [0, (2^31)-1].
+    //  * {Test} is the test ID. It's usually a number, but can be any name that doesn't end in "B" followed by digits.
+    //    It may contain "/" to refer to tests in subdirectories of inputs/{Platform}/{Specifier}/. "*" selects every
+    //    test of the solution and "dir/*" every test in a subdirectory; see TestCorpus.
+    //  * If the letter B is present after {Test}, we need to benchmark the solution N times, where N is an integer in
+    //    the range [0, (2^31)-1].
     //  * If the letter S is at the end and B is also present, benchmark timing data will be saved to a CSV in ./inputs.
+    // Any further args are options of the form "--name[=value]" that select extra modes:
+    //  * --throughput[=N]: Instead of running or benchmarking, run the solution on 1, 2, 4, ... N threads at once
+    //    (default N = number of cores) and report how many runs per second complete at each thread count.
+    //    --virtual uses virtual threads instead of platform threads, and --duration=S runs each thread count for S
+    //    seconds (default 2).
+    //  * --slowest=N: When benchmarking a corpus of tests, how many of the slowest tests to list (default 10).
+    //  * --coordinator[=PORT]: When benchmarking a corpus of tests, hand the tests out to worker processes that connect
+    //    to PORT (default: any free port) instead of benchmarking them here. --workers=N starts N workers on this
+    //    machine; workers elsewhere are started from their inputs directory with just "--worker=HOST:PORT" as their
+    //    argument. Results aren't cached. See BenchmarkCoordinator and BenchmarkWorker.
+    //  * --reindex: Rescan the corpus instead of trusting its index file.
+    //  * --force: When benchmarking a corpus, benchmark every test again instead of reusing cached results for tests
+    //    whose solution bytecode, input and JVM haven't changed (see ResultCache). --cache-days=D (default 30) and
+    //    --cache-mb=M (default 64) set how long unused results are kept and how much space they may take.
+    //  * --parse: When benchmarking, time only the parsing of the input file into the solution's arguments instead of
+    //    the solution itself. Only for platforms that parse input before timing (Advent of Code, LeetCode input files).
+    //  * --batch=K: When benchmarking a single test, time K calls of the solution per sample and report the time per
+    //    call. By default K is picked automatically, so that solutions faster than the timer's resolution still get
+    //    meaningful numbers; --batch=1 turns batching off.
+    //  * --scaling[=N]: Benchmark the solution (B is required) in separate JVMs whose common ForkJoinPool has
+    //    parallelism 1, 2, 4, ... N (default N = number of cores), and report how well it scales. For solutions that
+    //    use parallel streams.
+    //  * --matrix[=FILE]: Benchmark the solution (B is required) in a separate JVM per set of JVM options (GCs, JIT
+    //    tiers, heap sizes, ...) and compare them. FILE lists one set per line; by default a built-in list is used.
+    //  * --min-heap[=MB]: Benchmark the solution (B is required) in separate JVMs with different maximum heap sizes
+    //    (-Xmx), binary searching for the smallest one it completes in, and show its runtime and GC overhead near that
+    //    size. MB is the largest heap tried (default 1024). Heaps in which garbage collection takes more than
+    //    --gc-limit=P percent (default 50) of the runtime count as failed. See HeapSearch.
+    //  * --watch[=DIR]: Run or benchmark the solution, then again every time its source file changes. The file is
+    //    compiled in memory, so no IDE build is needed. DIR is the directory holding the platform packages (default
+    //    ../Solutions/src/main/java, relative to inputs/).
+    //  * --profile[=HZ]: When benchmarking a single test, sample the solution's stack HZ times per second (default
+    //    100) during the benchmark, print its hottest methods (--profile-top=N of them, default 10) and save the
+    //    stacks to profile_T.collapsed for flame graph tools. See SamplingProfiler.
+    //  * --calibrate: When benchmarking a single test, time a fixed reference workload (see MachineCalibration) before
+    //    and after the benchmark, show how much the machine's speed drifted in between and give the runtimes in units
+    //    of the reference workload as well, which are comparable across machines and days. Runs that drifted more
+    //    than --drift-limit=P percent (default 3) are flagged.
+    //  * --sink[=KIND]: When benchmarking a single test, benchmark the solution a second time with stdout going where a
+    //    judge sends it, a pipe drained by another thread (KIND "pipe", the default) or a file ("file"), through a
+    //    stream like the real System.out. Shows that timing next to the compute-only one (where output is thrown away)
+    //    with the bytes printed, the output rate and the share of the runtime spent on output. See OutputSinkBenchmark.
+    //  * --count-ops: When benchmarking a single test, also run an instrumented copy of the solution once and print how
+    //    many method invocations, loop back-edges, array accesses and allocations one call makes, compared with the
+    //    previous version of the solution. Unlike runtimes, the counts don't depend on the machine. They're kept in
+    //    {Platform}/opcounts_{ProblemSpecifier}.tsv. See OperationCounter.
+    //  * --strip[=DIR]: Instead of running the solution, print its source without the SolveKit.Phase calls that time
+    //    its phases during benchmarks, ready to submit. DIR works like for --watch. See PhaseStripper.
+    //  * --stress=REFERENCE --gen=GENERATOR: For stdin platforms. Instead of running the solution, run it and the
+    //    reference solution REFERENCE (same package) on random inputs from GENERATOR (a SolveKit.InputGenerator in the
+    //    same package, or a SolveKit.InputGrammar) on all cores, and compare their output. The first input they disagree on, or else the one the
+    //    solution was slowest on, is saved as test {Test}. --cases=N (default 10000), --seed=S (default random) and
+    //    --threads=N (default number of cores) tune it.
+    //  * --interactor=INTERACTOR: For interactive problems on stdin platforms. Run the solution against INTERACTOR (a
+    //    SolveKit.Interactor in the same package), connected to it by in-memory pipes, once or with B N times, and report
+    //    the verdict, the queries made, the solution's compute time and the round trip time of each exchange.
+    //    --time-limit=MS (default 10000) and --idle-limit=MS (default 1000, for solutions that forget to flush) end
+    //    interactions early. See InteractiveRunner.
+    //  * --generate=GRAMMAR: First make test {Test} the input that GRAMMAR (a SolveKit.InputGrammar in the solution's
+    //    package) writes, then run or benchmark as usual. --mode=max puts every size at its limit (default: random),
+    //    and --seed=S picks the input (default 0). Generated inputs are cached; see GeneratedInputs.
+    //  * --aot: Build (or reuse) a class cache of SolveKit and its dependencies by running the solution once in a
+    //    training JVM, and print the command line that launches SolveKit with it. See AotCache.
+    //  * --startup[=N]: Instead of running the solution here, launch it in N fresh JVMs (default 10) without and N with
+    //    the class cache, and compare time to main, solution time and total process time.
+    //    (--runtimes-out=FILE is how the child JVMs of --scaling, --matrix and --min-heap hand their runtimes back,
+    //    --gc-out=FILE how those of --min-heap report their garbage collections, and --startup-report=FILE the same for
+    //    --startup; they aren't meant to be typed.)
+    //  * --subtract-overhead: When benchmarking a single test, subtract the harness's own overhead per call (measured
+    //    by timing an empty solution with the same signature the same way) from every runtime before computing stats.
 
-    final boolean saveBenchResultsToCSV;
-    if(args[0].charAt(args[0].length() - 1) == 'S') { // We must save benchmark results to CSV if there is an S at the end of the arg
-      saveBenchResultsToCSV = true;
-      args[0] = args[0].substring(0, args[0].length()-1); // Chop off the S to make code down the line look a little cleaner
-    } else {
-      saveBenchResultsToCSV = false;
-    }
+    final Instant mainEntered = Instant.now(); // For --startup-report
+
+    // Give every thread its own stdin/stdout so that solutions can run side by side in this JVM
+    StdIOMultiplexer.install();
 
     Map<String, PlatformHandler> handlers = Map.of(
         "AdventOfCode", new AdventOfCodePlatformHandler(),
@@ -42,18 +123,36 @@ public class Main {
         "UVa", new UVaPlatformHandler()
     );
 
-    final int testNum;
+    if(args.length == 1 && args[0].startsWith("--worker")) { // A worker for another SolveKit's --coordinator
+      try {
+        BenchmarkWorker.run(args[0].substring(args[0].indexOf('=') + 1), handlers);
+      } catch(IllegalSpecifierException e) {
+        System.out.println("\nError: Incorrect arguments were provided to SolveKit.\n\nDetails:\n" + e.getMessage());
+      } catch(IOException e) {
+        System.out.println("\nError: Lost the connection to the coordinator.\n" + e.getMessage());
+      }
+      return;
+    }
+
+    final String testId;
     final boolean benchmarking;
+    final String benchmarkingIterationsArg;
+    final boolean saveBenchResultsToCSV;
     final String platformName;
     try {
       // Extract the platform name (only occurs before the ".")
       platformName = args[0].substring(0, args[0].indexOf("."));
 
-      // Extract the one-digit test number from the character that comes after "-"
-      testNum = Integer.parseInt(args[0].substring(args[0].indexOf("-")+1, args[0].indexOf("-")+2));
-
-      // Extract the benchmark flag from the part of the string after the "-"
-      benchmarking = args[0].substring(args[0].indexOf("-")+1).contains("B");
+      // Split the part after the "-" into the test ID and the benchmarking flags. The test ID is matched lazily so
+      // that a trailing "B<digits>[S]" is always read as flags.
+      Matcher testAndFlags = Pattern.compile("(.+?)(?:B(\\d+)(S?))?").matcher(args[0].substring(args[0].indexOf("-")+1));
+      if(!testAndFlags.matches()) {
+        throw new IllegalArgumentException("No test ID after the \"-\".");
+      }
+      testId = testAndFlags.group(1);
+      benchmarking = testAndFlags.group(2) != null;
+      benchmarkingIterationsArg = testAndFlags.group(2);
+      saveBenchResultsToCSV = benchmarking && !testAndFlags.group(3).isEmpty(); // S at the end: save results to CSV
     } catch(Exception e) {
       System.out.println("Error parsing arguments.\nIf you are in IntelliJ IDEA, try clicking anywhere in the solution " +
           "source code window and try again.\n\nError details:\n" + e.getMessage());
@@ -64,8 +163,9 @@ public class Main {
 
     try {
       // Input validation
-      if(testNum < 0 || testNum > 9) { // Is the test # in [0, 9]?
-        throw new IllegalSpecifierException("Invalid test number. Test numbers must be integers in the range [0, 9].");
+      if(testId.contains("..") || testId.startsWith("/") || testId.contains("\\")) { // Must stay inside inputs/
+        throw new IllegalSpecifierException("Invalid test ID \"" + testId + "\". Test IDs can't contain \"..\" or " +
+            "backslashes, or start with \"/\".");
       }
 
       if(!handlers.containsKey(platformName)) { // Is the requested platform invalid?
@@ -75,48 +175,483 @@ public class Main {
 
       SolutionSpecifier thisSolution = new SolutionSpecifier(
           args[0].substring(args[0].indexOf(".") + 1, args[0].indexOf("-")),
-          testNum
+          testId
       );
 
+      RunOptions options = new RunOptions(Arrays.copyOfRange(args, 1, args.length));
+
+      if(TestCorpus.isSelector(testId) && (!benchmarking || options.has("throughput") || options.has("scaling")
+          || options.has("matrix") || options.has("min-heap") || options.has("aot") || options.has("startup")
+          || options.has("stress") || options.has("generate") || options.has("interactor"))) {
+        throw new IllegalSpecifierException("Test selectors like \"" + testId + "\" can only be used when benchmarking.");
+      }
+      if(options.has("coordinator") && !(benchmarking && TestCorpus.isSelector(testId))) {
+        throw new IllegalSpecifierException("--coordinator hands out the tests of a corpus benchmark, so it needs a " +
+            "selector and a benchmark like \"-*B50\".");
+      }
+
+      if(options.has("generate")) { // Write the test file (or link it from the cache) before anything reads it
+        if(options.get("generate", null) == null || options.has("stress")) {
+          throw new IllegalSpecifierException("--generate needs the name of an input grammar, e.g. --generate=p1A_input, " +
+              "and can't be combined with --stress.");
+        }
+        String mode = options.get("mode", "random");
+        if(!mode.equals("random") && !mode.equals("max")) {
+          throw new IllegalSpecifierException("--mode must be \"random\" or \"max\".");
+        }
+        if(!StressTester.STDIN_PLATFORMS.contains(platformName)) {
+          throw new IllegalSpecifierException("--generate only works for platforms whose solutions read stdin: " +
+              String.join(", ", StressTester.STDIN_PLATFORMS));
+        }
+        GeneratedInputs.materialize(platformName, thisSolution, options.get("generate", null),
+            mode.equals("max") ? InputWriter.Mode.MAX : InputWriter.Mode.RANDOM, options.getLong("seed", 0));
+      }
+
+      if(options.has("strip")) { // Only prints source; doesn't need the solution's class at all
+        PhaseStripper.print(Path.of(options.get("strip", "../Solutions/src/main/java")), platformName, thisSolution.name());
+        return;
+      }
+
+      if(options.has("watch")) { // Rerun every time the source changes, each time through the rest of main()
+        if(options.has("scaling") || options.has("matrix") || options.has("min-heap") || options.has("aot")
+            || options.has("startup")) {
+          throw new IllegalSpecifierException("--watch can't be combined with --scaling, --matrix, --min-heap, --aot or " +
+              "--startup, whose child JVMs would run the solution as it was last built.");
+        }
+        String[] watchedArgs = Arrays.stream(args).filter(arg -> !arg.startsWith("--watch")).toArray(String[]::new);
+        SourceWatcher.watch(Path.of(options.get("watch", "../Solutions/src/main/java")), platformName,
+            thisSolution.name(), () -> main(watchedArgs));
+        return;
+      }
+
       // Solution running
-      if(!benchmarking) { // We are running the solution only once
+      if(options.has("throughput")) { // Running the solution on several threads at once
+        int maxThreads = options.getInt("throughput", Runtime.getRuntime().availableProcessors());
+        boolean virtualThreads = options.has("virtual");
+        double seconds = options.getDouble("duration", 2);
+        if(maxThreads < 1 || seconds <= 0) {
+          throw new IllegalSpecifierException("Thread count and duration must both be > 0");
+        }
+
+        System.out.println("Measuring throughput for up to " + maxThreads + " threads, " + seconds + " s per thread count...");
+        ThroughputRunner.Level[] levels = ThroughputRunner.measure(handler, thisSolution,
+            ThroughputRunner.threadCounts(maxThreads), virtualThreads, (long)(seconds * 1e9));
+
+        System.out.println("\nThroughput results for solution " + platformName + "." + thisSolution.name() + " (" +
+            (virtualThreads ? "virtual" : "platform") + " threads):");
+        ThroughputRunner.showResults(levels);
+      } else if(options.has("scaling")) { // Benchmarking at several common pool sizes, each in its own JVM
+        if(!benchmarking || saveBenchResultsToCSV) {
+          throw new IllegalSpecifierException("--scaling needs a benchmark like \"-1B50\", without S.");
+        }
+        int maxParallelism = options.getInt("scaling", Runtime.getRuntime().availableProcessors());
+        if(maxParallelism < 1) {
+          throw new IllegalSpecifierException("Parallelism must be > 0");
+        }
+
+        // Children get the same arguments, minus the one that made this a scaling run
+        List<String> childOptions = Arrays.stream(args, 1, args.length).filter(arg -> !arg.startsWith("--scaling")).toList();
+        ScalingRunner.Level[] levels = ScalingRunner.measure(args[0], childOptions,
+            ThroughputRunner.threadCounts(maxParallelism));
+
+        System.out.println("\nParallel scaling results for solution " + platformName + "." + thisSolution.name() + ":");
+        ScalingRunner.showResults(levels);
+      } else if(options.has("matrix")) { // Benchmarking under several sets of JVM options, each in its own JVM
+        if(!benchmarking || saveBenchResultsToCSV) {
+          throw new IllegalSpecifierException("--matrix needs a benchmark like \"-1B50\", without S.");
+        }
+        String matrixFile = options.get("matrix", null);
+        List<String> sets = matrixFile == null ? JvmMatrix.DEFAULT_SETS : JvmMatrix.readSets(Path.of(matrixFile));
+
+        // Children get the same arguments, minus the one that made this a matrix run
+        List<String> childOptions = Arrays.stream(args, 1, args.length).filter(arg -> !arg.startsWith("--matrix")).toList();
+        JvmMatrix.Entry[] entries = JvmMatrix.measure(args[0], childOptions, sets);
+
+        System.out.println("\nJVM option matrix results for solution " + platformName + "." + thisSolution.name() + ":");
+        JvmMatrix.showResults(entries);
+      } else if(options.has("min-heap")) { // Searching for the smallest heap, each size in its own JVM
+        if(!benchmarking || saveBenchResultsToCSV) {
+          throw new IllegalSpecifierException("--min-heap needs a benchmark like \"-1B10\", without S.");
+        }
+        int maxMb = options.getInt("min-heap", 1024);
+        double gcLimit = options.getDouble("gc-limit", 50) / 100;
+        if(maxMb < 2 || gcLimit <= 0) {
+          throw new IllegalSpecifierException("The largest heap must be at least 2 MB, and the GC limit must be > 0");
+        }
+
+        // Children get the same arguments, minus the ones that made this a heap search
+        List<String> childOptions = Arrays.stream(args, 1, args.length)
+            .filter(arg -> !arg.startsWith("--min-heap") && !arg.startsWith("--gc-limit")).toList();
+        HeapSearch.Result result = HeapSearch.search(args[0], childOptions, maxMb, gcLimit);
+
+        System.out.println("\nHeap size results for solution " + platformName + "." + thisSolution.name() + ":");
+        HeapSearch.showResults(result);
+        System.out.printf("Smallest heap the solution completes in: %d MB (-Xmx%dm)%s.\n", result.minimumMb(),
+            result.minimumMb(), result.failingMb() >= 2 ? "; it failed with " + result.failingMb() + " MB" : "");
+      } else if(options.has("stress")) { // Comparing against a reference solution on random inputs
+        if(benchmarking) {
+          throw new IllegalSpecifierException("--stress can't be combined with B.");
+        }
+        if(!StressTester.STDIN_PLATFORMS.contains(platformName)) {
+          throw new IllegalSpecifierException("--stress only works for platforms whose solutions read stdin: " +
+              String.join(", ", StressTester.STDIN_PLATFORMS));
+        }
+        String reference = options.get("stress", null);
+        String generator = options.get("gen", null);
+        if(reference == null || generator == null) {
+          throw new IllegalSpecifierException("--stress needs a reference solution and a generator, e.g. " +
+              "--stress=p1A_brute --gen=p1A_gen.");
+        }
+        Path saveTo = TestCorpus.inputPath(platformName, thisSolution);
+        if(Files.exists(saveTo)) {
+          throw new IllegalSpecifierException("Test " + testId + " already exists (" + saveTo + "). Pick a new test ID " +
+              "to save the stress test's input under.");
+        }
+        long cases = options.getInt("cases", 10_000);
+        int threads = options.getInt("threads", Runtime.getRuntime().availableProcessors());
+        if(cases < 1 || threads < 1) {
+          throw new IllegalSpecifierException("Case and thread counts must both be > 0");
+        }
+        long seed = options.has("seed") ? options.getLong("seed", 0) : new Random().nextLong(1L << 48);
+
+        System.out.println("Stress testing " + thisSolution.name() + " against " + reference + " on " + cases +
+            " inputs from " + generator + ", seeds " + seed + " to " + (seed + cases - 1) + ", on " + threads + " threads...");
+        StressTester.Result result = StressTester.run(platformName, thisSolution.name(), reference, generator, seed,
+            cases, threads);
+
+        System.out.printf("\n%d cases passed in %.1f s (%.0f cases/min).\n", result.cases(),
+            UnitConverter.ns_ms(result.elapsedNs()) / 1000, result.casesPerMinute());
+        StressTester.Mismatch mismatch = result.mismatch();
+        Files.createDirectories(saveTo.getParent());
+        if(mismatch != null) {
+          Files.write(saveTo, mismatch.input());
+          System.out.println("\nMISMATCH on seed " + mismatch.seed() + ". The input was saved as test " + testId + " (" +
+              saveTo + "):\n" + StressTester.preview(new String(mismatch.input(), StandardCharsets.UTF_8), 20) +
+              "\n\n" + reference + " printed:\n" + StressTester.preview(mismatch.expected(), 20) +
+              "\n\n" + thisSolution.name() + " printed:\n" + StressTester.preview(mismatch.actual(), 20));
+        } else if(result.slowestInput() != null) {
+          Files.write(saveTo, result.slowestInput());
+          System.out.printf("No mismatches. The slowest case (seed %d, %.3f ms) was saved as test %s (%s).\n",
+              result.slowestSeed(), UnitConverter.ns_ms(result.slowestNs()), testId, saveTo);
+        }
+      } else if(options.has("interactor")) { // Playing an interactive problem against a user-written interactor
+        if(!StressTester.STDIN_PLATFORMS.contains(platformName)) {
+          throw new IllegalSpecifierException("--interactor only works for platforms whose solutions read stdin: " +
+              String.join(", ", StressTester.STDIN_PLATFORMS));
+        }
+        String interactor = options.get("interactor", null);
+        if(interactor == null) {
+          throw new IllegalSpecifierException("--interactor needs the name of an interactor, e.g. --interactor=p1A_interactor.");
+        }
+        int runs = benchmarking ? Integer.parseInt(benchmarkingIterationsArg) : 1;
+        long timeLimitMs = options.getInt("time-limit", 10_000);
+        long idleLimitMs = options.getInt("idle-limit", 1000);
+        if(runs < 1 || timeLimitMs < 1 || idleLimitMs < 1) {
+          throw new IllegalSpecifierException("Interaction count, time limit and idle limit must all be > 0");
+        }
+
+        System.out.println("Running " + thisSolution.name() + " against " + interactor + " on test " + testId +
+            (runs > 1 ? ", " + runs + " times" : "") + "...");
+        List<InteractiveRunner.Result> results = InteractiveRunner.run(platformName, thisSolution, interactor, runs,
+            timeLimitMs, idleLimitMs);
+        System.out.println();
+        InteractiveRunner.showResults(results);
+      } else if(options.has("aot") || options.has("startup")) { // Launching fresh JVMs with and without a class cache
+        if(benchmarking) {
+          throw new IllegalSpecifierException("--aot and --startup run the solution once per JVM, so they can't be " +
+              "combined with B.");
+        }
+
+        // Children get the same arguments, minus the ones that made this a cache or startup run
+        List<String> childOptions = Arrays.stream(args, 1, args.length)
+            .filter(arg -> !arg.equals("--aot") && !arg.startsWith("--startup")).toList();
+        if(options.has("startup")) {
+          int launches = options.getInt("startup", 10);
+          if(launches <= 2) {
+            throw new IllegalSpecifierException("The number of launches must be > 2");
+          }
+          StartupBenchmark.Result result = StartupBenchmark.run(args[0], childOptions, launches);
+          System.out.println("\nStartup results for solution " + platformName + "." + thisSolution.name() + ":");
+          StartupBenchmark.showResults(result);
+        } else {
+          List<String> mainArgs = new ArrayList<>();
+          mainArgs.add(args[0]);
+          mainArgs.addAll(childOptions);
+          AotCache.Archive archive = AotCache.prepare(mainArgs);
+          System.out.println("Class cache ready in " + archive.directory() + ". Run SolveKit with it from the inputs " +
+              "directory like this:\n" + String.join(" ", archive.command(mainArgs)));
+        }
+      } else if(!benchmarking) { // We are running the solution only once
         long runtime = handler.runSolution(thisSolution);
         System.out.println("\n---------------------------------------------------");
         System.out.printf("Runtime: %.1f μs / %.3f ms", UnitConverter.ns_us(runtime), UnitConverter.ns_ms(runtime));
+        if(options.has("startup-report")) { // We're a child JVM of a --startup run; tell the parent how it went
+          StartupBenchmark.writeReport(Path.of(options.get("startup-report", "")), mainEntered, runtime);
+        }
       } else { // Benchmarking
-        /* Extract the number of benchmarking iterations from the command line arg:
-           The number will always occur 2 spaces after the dash and ends at the end of the arg because we chopped
-           the S off earlier, if it was there to begin with.
-         */
-        int benchmarkingIterations = Integer.parseInt(args[0].substring(args[0].indexOf("-")+3));
+        // The number of benchmarking iterations is the number right after the B
+        int benchmarkingIterations = Integer.parseInt(benchmarkingIterationsArg);
         if(benchmarkingIterations <= 2) { // Statistical calculation code glitches if there are less than 3 data points
           throw new IllegalSpecifierException("Benchmarking iterations must be > 2");
         }
 
-        long[] benchmarkRuntimes = handler.benchmarkSolution(thisSolution, benchmarkingIterations);
+        if(TestCorpus.isSelector(testId)) { // Benchmark every selected test, then list the slowest ones
+          if(saveBenchResultsToCSV) {
+            throw new IllegalSpecifierException("Saving to CSV is only supported when benchmarking a single test.");
+          }
+
+          List<CorpusBenchmark.TestResult> results;
+          if(options.has("coordinator")) { // Spread the tests over worker processes
+            int localWorkers = options.getInt("workers", 0);
+            if(localWorkers < 0) {
+              throw new IllegalSpecifierException("Number of workers must be >= 0");
+            }
+            results = BenchmarkCoordinator.run(platformName, thisSolution.name(), testId, benchmarkingIterations,
+                options.has("reindex"), options.getInt("coordinator", 0), localWorkers);
+            if(results.isEmpty()) {
+              return; // Every test failed, and the coordinator said why
+            }
+          } else {
+            results = CorpusBenchmark.run(handler, platformName, thisSolution.name(),
+                testId, benchmarkingIterations, options.has("reindex"), options.has("force"));
+            int evicted = ResultCache.evict(Duration.ofDays(options.getInt("cache-days", 30)),
+                options.getInt("cache-mb", 64) * 1_000_000L);
+            if(evicted > 0) {
+              System.out.println("Removed " + evicted + " old results from the result cache.");
+            }
+          }
+
+          System.out.println("\nSlowest tests for solution " + platformName + "." + thisSolution.name() + ":");
+          BenchmarkReporter.showSlowestTests(results, options.getInt("slowest", 10));
+          return;
+        }
+
+        boolean parseOnly = options.has("parse");
+        boolean subtractOverhead = options.has("subtract-overhead");
+        if((subtractOverhead || options.has("profile") || options.has("count-ops") || options.has("sink")) && parseOnly) {
+          throw new IllegalSpecifierException("--subtract-overhead, --profile, --count-ops and --sink can't be combined " +
+              "with --parse.");
+        }
+        long[] benchmarkRuntimes;
+        long[] benchmarkEndTimes = null; // When each of them ended, in System.nanoTime(); for the CSV export
+        int batchSize = 1;
+        Statistics overheadAll = null; // Harness overhead per call; stays null when only parsing is benchmarked
+        Statistics overheadLast80p = null;
+        double harnessAllocation = -1; // Bytes SolveKit allocated per call in its timed loop; -1 if unknown
+        SamplingProfiler profiler = null; // Only with --profile
+        OperationCounts.Counts operations = null; // Only with --count-ops
+        OutputSinkBenchmark.Result outputSink = null; // Only with --sink
+        PhaseBreakdown phases = null; // What the solution timed with SolveKit.Phase; taken before --sink runs it again
+        ProcMetrics.Snapshot osBefore = null; // /proc counters around the timed runs, on Linux
+        ProcMetrics.Snapshot osAfter = null;
+        MachineCalibration calibration = null; // Only with --calibrate
+        MachineCalibration.Sample calibrationBefore = null;
+        MachineCalibration.Sample calibrationAfter = null;
+        long[] gcBefore = null; // Garbage collections around the timed runs, for --gc-out
+        long[] gcAfter = null;
+        if(options.has("calibrate")) {
+          System.out.println("Timing the reference workload...");
+          calibration = new MachineCalibration();
+          calibrationBefore = calibration.measure();
+        }
+        if(options.has("gc-out")) {
+          gcBefore = HeapSearch.gcTotals();
+        }
+        if(parseOnly) {
+          BenchmarkEngine.Samples parsing = handler.benchmarkInputParsing(thisSolution, benchmarkingIterations);
+          benchmarkRuntimes = parsing.perCallTimes();
+          benchmarkEndTimes = parsing.endTimes();
+          gcAfter = HeapSearch.gcTotals();
+          if(calibration != null) {
+            System.out.println("Timing the reference workload again...");
+            calibrationAfter = calibration.measure();
+          }
+        } else {
+          int requestedBatchSize = options.getInt("batch", 0); // 0 = pick automatically
+          if(requestedBatchSize < 0 || (options.has("batch") && requestedBatchSize == 0)) {
+            throw new IllegalSpecifierException("Batch size must be > 0");
+          }
+
+          BatchedBenchmark.Timer timer = BatchedBenchmark.measureTimer();
+          System.out.printf("Timer granularity: %d ns, cost per reading: %.1f ns. Samples should last at least %.1f µs.\n",
+              timer.granularityNs(), timer.costNs(), UnitConverter.ns_us(timer.targetSampleNs()));
+
+          if(options.has("profile")) {
+            int hz = options.getInt("profile", 100);
+            if(hz < 1) {
+              throw new IllegalSpecifierException("Sampling rate must be > 0");
+            }
+            profiler = new SamplingProfiler(Thread.currentThread(), platformName, hz);
+            profiler.start();
+          }
+          BatchedBenchmark.Result result;
+          try {
+            result = BatchedBenchmark.benchmark(handler, thisSolution, benchmarkingIterations, requestedBatchSize, timer);
+          } finally {
+            if(profiler != null) {
+              profiler.stop();
+            }
+          }
+          gcAfter = HeapSearch.gcTotals();
+          if(calibration != null) { // Right after the timed runs, before anything else changes the machine's state
+            System.out.println("Timing the reference workload again...");
+            calibrationAfter = calibration.measure();
+          }
+          benchmarkRuntimes = result.perCallTimes();
+          benchmarkEndTimes = result.endTimes();
+          batchSize = result.batchSize();
+          phases = BenchmarkEngine.lastPhases();
+          osBefore = result.osBefore();
+          osAfter = result.osAfter();
+
+          // Time an empty solution with the same signature the same way, to see how much of that is SolveKit itself
+          System.out.println("Measuring harness overhead with an empty solution...");
+          BatchedBenchmark.Overhead overhead = BatchedBenchmark.measureOverhead(handler, thisSolution,
+              benchmarkingIterations, batchSize);
+          long[] overheadRuntimes = overhead.perCallTimes();
+          harnessAllocation = overhead.allocatedBytesPerCall();
+          overheadAll = new Statistics(overheadRuntimes);
+          overheadLast80p = new Statistics(Statistics.last80Percent(overheadRuntimes));
+          if(subtractOverhead) {
+            benchmarkRuntimes = BatchedBenchmark.subtractOverhead(benchmarkRuntimes, overheadLast80p.getMedian());
+          }
+
+          if(options.has("sink")) { // The same runs again, this time paying for the output
+            String sink = options.get("sink", OutputSinkBenchmark.PIPE);
+            System.out.println("Benchmarking again with the solution's output going to a " + sink + "...");
+            outputSink = OutputSinkBenchmark.run(handler, thisSolution, benchmarkingIterations, batchSize, sink);
+          }
+
+          if(options.has("count-ops")) { // After timing, so the instrumented copy can't disturb the timed runs
+            System.out.println("Counting operations with an instrumented copy of the solution...");
+            operations = OperationCounter.count(handler, platformName, thisSolution);
+          }
+        }
+
+        if(options.has("runtimes-out")) { // We're a child JVM of a --scaling or --matrix run; hand the runtimes to the parent
+          ForkedBenchmark.writeRuntimes(Path.of(options.get("runtimes-out", "")), benchmarkRuntimes);
+        }
+        if(gcBefore != null) { // We're a child JVM of a --min-heap run; tell the parent how much it collected garbage
+          HeapSearch.writeGcTotals(Path.of(options.get("gc-out", "")), gcBefore, gcAfter);
+        }
 
         System.out.println("Computing statistics...");
 
-        // Make an array of length 80% of benchmarkRuntimes
-        long[] benchmarkRuntimes_last80p = new long[(int)(Math.ceil(benchmarkRuntimes.length*0.8))];
         // Copy the last 80% of elements of benchmarkRuntimes to benchmarkRuntimes_last80p
-        System.arraycopy(benchmarkRuntimes, (int)(Math.floor(benchmarkRuntimes.length*0.2)), benchmarkRuntimes_last80p, 0, benchmarkRuntimes_last80p.length);
+        long[] benchmarkRuntimes_last80p = Statistics.last80Percent(benchmarkRuntimes);
 
         // Compute statistical variables on our runtime data
         Statistics allRuns = new Statistics(benchmarkRuntimes);
         Statistics last80p = new Statistics(benchmarkRuntimes_last80p);
 
         // Repeat info about the solution being benchmarked
-        System.out.println("\nBenchmarking results for solution " + platformName + "." + thisSolution.name() + ":");
+        System.out.println("\nBenchmarking results for " + (parseOnly ? "input parsing of " : "") + "solution " +
+            platformName + "." + thisSolution.name() + (batchSize > 1 ? " (per call, " + batchSize + " calls per run)" : "") +
+            (subtractOverhead ? " (harness overhead subtracted)" : "") + ":");
 
         // Print the pretty stats table
-        BenchmarkReporter.showBenchmarkResults(allRuns, last80p);
+        BenchmarkReporter.showBenchmarkResults(allRuns, last80p, overheadAll, overheadLast80p);
+
+        // Break the runtime down by the phases the solution timed itself with SolveKit.Phase, if it did
+        if(phases != null && !phases.isEmpty()) {
+          System.out.println("\nPhases (per call" + (batchSize > 1 ? ", " + batchSize + " calls per run" : "") + "):");
+          BenchmarkReporter.showPhases(phases.results(), last80p);
+          if(phases.lost() > 0) {
+            System.out.println("Warning: " + phases.lost() + " phases ended faster than SolveKit could collect them " +
+                "and weren't counted.");
+          }
+        }
+
+        if(outputSink != null) { // How much of a judge's runtime would be output
+          long[] sinkRuntimes = outputSink.perCallTimes();
+          if(subtractOverhead) { // Like the compute-only runtimes it's compared with
+            sinkRuntimes = BatchedBenchmark.subtractOverhead(sinkRuntimes, overheadLast80p.getMedian());
+          }
+          Statistics withSink = new Statistics(Statistics.last80Percent(sinkRuntimes));
+          System.out.println("\nOutput cost per call" + (batchSize > 1 ? " (" + batchSize + " calls per run)" : "") + ":");
+          BenchmarkReporter.showOutputSink(last80p, withSink, outputSink);
+          double outputShare = 1 - (double)last80p.getMedian() / withSink.getMedian();
+          if(outputShare > 0.1 && outputSink.writes() > 100 && outputSink.bytes() / outputSink.writes() < 4096) {
+            System.out.printf("Output takes %.0f%% of the runtime in %d writes of %d bytes on average. Print into a " +
+                "StringBuilder, or a PrintWriter over a BufferedOutputStream, and flush once at the end.\n",
+                100 * outputShare, outputSink.writes(), outputSink.bytes() / outputSink.writes());
+          }
+        }
+
+        if(operations != null) { // Compare with the last version of the solution that was counted on this test
+          String solutionHash = ResultCache.solutionHash(platformName, thisSolution.name());
+          OperationCounts.Counts previous = OperationCounter.previousVersion(platformName, thisSolution.name(),
+              thisSolution.test(), solutionHash);
+          System.out.println("\nOperations per call:");
+          BenchmarkReporter.showOperationCounts(operations, previous);
+          OperationCounter.record(platformName, thisSolution.name(), thisSolution.test(), solutionHash, operations,
+              last80p.getMedian());
+        }
+
+        if(calibrationAfter != null) { // How the machine's speed changed, and the results in its terms
+          double driftLimit = options.getDouble("drift-limit", 3) / 100;
+          System.out.println("\nReference workload:");
+          BenchmarkReporter.showCalibration(calibrationBefore, calibrationAfter, driftLimit);
+          System.out.printf("Normalized to the reference workload (last 80%% of runs): median %.4g, mean %.4g " +
+              "(raw: %.3f ms / %.3f ms).\n",
+              MachineCalibration.normalize(last80p.getMedian(), calibrationBefore, calibrationAfter),
+              MachineCalibration.normalize(last80p.getMean(), calibrationBefore, calibrationAfter),
+              UnitConverter.ns_ms(last80p.getMedian()), UnitConverter.ns_ms(last80p.getMean()));
+          double drift = MachineCalibration.drift(calibrationBefore, calibrationAfter);
+          double kernelDrift = MachineCalibration.maxKernelDrift(calibrationBefore, calibrationAfter);
+          if(kernelDrift > driftLimit || Math.abs(drift) > driftLimit) {
+            System.out.printf("Warning: The machine's speed changed during the benchmark (score %+.1f%%, one kernel " +
+                "by up to %.1f%%, limit ±%.1f%%), e.g. from frequency scaling, throttling or other load. Don't trust " +
+                "these results; benchmark again.\n", 100 * drift, 100 * kernelDrift, 100 * driftLimit);
+          }
+        }
+
+        // Classify outliers within each set of runs and show what the stats look like without them
+        Outliers allOutliers = new Outliers(benchmarkRuntimes, allRuns);
+        Outliers last80pOutliers = new Outliers(benchmarkRuntimes_last80p, last80p);
+        BenchmarkReporter.showOutliers(allOutliers, new Statistics(allOutliers.withoutOutliers(benchmarkRuntimes)),
+            last80pOutliers, new Statistics(last80pOutliers.withoutOutliers(benchmarkRuntimes_last80p)));
+
+        if(osBefore != null && osAfter != null) {
+          BenchmarkReporter.showOsMetrics(osBefore, osAfter, benchmarkingIterations);
+        }
+
+        if(batchSize > 1) { // Batched solutions are often faster than the table's 0.1 µs resolution
+          System.out.println("\nMedian time per call (last 80% of runs): " + last80p.getMedian() + " ns");
+        }
+        if(overheadLast80p != null) {
+          System.out.println((batchSize > 1 ? "" : "\n") + "Median harness overhead per call (last 80% of runs): " +
+              overheadLast80p.getMedian() + " ns" + (subtractOverhead ? ", subtracted from every run above." :
+              ". Add --subtract-overhead to subtract it from every run."));
+        }
+        if(harnessAllocation > 0) { // The timed loop is meant to allocate nothing; see BenchmarkEngine
+          System.out.printf("Warning: SolveKit allocated %.1f bytes per call in its timed loop, so the times above " +
+              "include some of its garbage collection.\n", harnessAllocation);
+        } else if(harnessAllocation == 0) {
+          System.out.println("SolveKit allocated nothing in its timed loop.");
+        }
+
+        if(profiler != null) { // Where the solution spent its time
+          long now = Instant.now().getEpochSecond();
+          System.out.printf("\nProfile: %d of %d samples caught the solution running (%.1f µs per sample).\n",
+              profiler.solutionSamples(), profiler.allSamples(), UnitConverter.ns_us(profiler.nsPerSample()));
+          if(profiler.solutionSamples() > 0) {
+            BenchmarkReporter.showHotMethods(profiler.hottest(options.getInt("profile-top", 10)), profiler.solutionSamples());
+            try {
+              profiler.writeCollapsed(Path.of("profile_" + now + ".collapsed"));
+              System.out.println("Stacks saved to profile_" + now + ".collapsed in inputs directory, for flame graph tools.");
+            } catch(IOException e) {
+              System.out.println("Error: Couldn't save the profile. Error details:\n" + e.getMessage() + "\n");
+            }
+          }
+        }
 
         // If we're supposed to save the data to a CSV, then save it
         try {
           if(saveBenchResultsToCSV) {
             long now = Instant.now().getEpochSecond(); // Current Unix timestamp
-            BenchmarkReporter.saveToCSV(benchmarkRuntimes, now);
+            // Outliers are marked relative to the last 80% of runs, so warmup iterations stand out as well
+            BenchmarkReporter.saveToCSV(benchmarkRuntimes, benchmarkEndTimes, last80pOutliers, now);
             System.out.println("\nBenchmark results saved to runtimes_" + now + ".csv in inputs directory.");
           }
         } catch (IOException e) {
@@ -0,0 +1,288 @@
+/*** MathToolkitBenchmark.java ************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    Benchmarks the primitive SolveKit math toolkit against the *
+ *                 equivalent apfloat code paths, so the cost of Apint's per- *
+ *                 operation allocation is visible for typical Project Euler  *
+ *                 workloads.                                                 *
+\******************************************************************************/
+
+import SolveKit.NumberTheory;
+import SolveKit.Sieve;
+
+import org.apfloat.Apint;
+import org.apfloat.ApintMath;
+
+import java.util.SplittableRandom;
+import java.util.function.LongSupplier;
+
+public class MathToolkitBenchmark {
+  private static final int DEFAULT_ITERATIONS = 50;
+
+  // Fixed seed so both sides of every case see exactly the same operands on every run
+  private static final long SEED = 0x5EEDL;
+
+  private static final Apint ZERO = new Apint(0);
+  private static final Apint ONE = new Apint(1);
+  private static final Apint TWO = new Apint(2);
+
+  // One workload implemented twice. Both implementations return a checksum of their work, which is compared so a
+  // broken toolkit method can't "win" by computing the wrong thing, and which keeps the JIT from discarding the loop.
+  private record Case(String name, LongSupplier apfloat, LongSupplier primitive) { }
+
+  /* Usage: MathToolkitBenchmark [iterations]
+     Every case is timed `iterations` times per implementation and compared by the median of the last 80% of runs,
+     the same summary Main uses for solution benchmarks. */
+  public static void main(String[] args) {
+    int iterations;
+    try {
+      iterations = parseIterations(args);
+    } catch(IllegalSpecifierException e) { // Reported the way Main reports bad arguments
+      System.out.println("\nError: Incorrect arguments were provided to SolveKit.\n\nDetails:\n" + e.getMessage());
+      return;
+    }
+
+    Case[] cases = buildCases();
+    long[] apfloatMedians = new long[cases.length];
+    long[] primitiveMedians = new long[cases.length];
+    for(int c = 0; c < cases.length; c++) {
+      System.out.println("Benchmarking: " + cases[c].name());
+      long expected = cases[c].apfloat().getAsLong();
+      long actual = cases[c].primitive().getAsLong();
+      if(expected != actual) {
+        throw new IllegalStateException("SolveKit and apfloat disagree on \"" + cases[c].name() + "\": " + actual +
+            " vs " + expected);
+      }
+      apfloatMedians[c] = medianOf(cases[c].apfloat(), expected, iterations);
+      primitiveMedians[c] = medianOf(cases[c].primitive(), expected, iterations);
+    }
+
+    showComparison(cases, apfloatMedians, primitiveMedians, iterations);
+  }
+
+  private static int parseIterations(String[] args) {
+    if(args.length == 0) {
+      return DEFAULT_ITERATIONS;
+    }
+
+    int iterations;
+    try {
+      iterations = Integer.parseInt(args[0]);
+    } catch(NumberFormatException e) {
+      throw new IllegalSpecifierException("Iteration count must be an integer: " + args[0]);
+    }
+    if(iterations <= 2) { // Statistical calculation code glitches if there are less than 3 data points, same as in Main
+      throw new IllegalSpecifierException("Benchmarking iterations must be > 2");
+    }
+    return iterations;
+  }
+
+  // Checking every checksum outside the timed region keeps results observable without adding to the measurement
+  private static long medianOf(LongSupplier workload, long expected, int iterations) {
+    long[] runtimes = new long[iterations];
+    for(int i = 0; i < iterations; i++) {
+      long startTime = System.nanoTime();
+      long checksum = workload.getAsLong();
+      runtimes[i] = System.nanoTime() - startTime;
+      if(checksum != expected) {
+        throw new IllegalStateException("Checksum changed between iterations: " + checksum + " vs " + expected);
+      }
+    }
+    return new Statistics(Statistics.last80Percent(runtimes)).getMedian();
+  }
+
+  private static Case[] buildCases() {
+    SplittableRandom random = new SplittableRandom(SEED);
+
+    // Operands shared by the modular cases. The modulus is odd so modPow takes the Montgomery path, and > 2^62 so
+    // products really need 128 bits.
+    final long modulus = (1L << 62) + 135;
+    final long[] bases = new long[1000];
+    final long[] exponents = new long[1000];
+    for(int i = 0; i < bases.length; i++) {
+      bases[i] = random.nextLong(2, modulus);
+      exponents[i] = random.nextLong(1, Long.MAX_VALUE);
+    }
+    final long[] candidates = new long[2000];
+    for(int i = 0; i < candidates.length; i++) {
+      candidates[i] = random.nextLong(1L << 61, 1L << 62) | 1; // Odd, so Miller-Rabin does real work instead of
+    }                                                          // bailing out on the trial division by 2
+
+    return new Case[] {
+      new Case("Sum of multiples of 3 or 5 below 10^6",
+          () -> {
+            Apint sum = new Apint(0);
+            for(int i = 1; i < 1_000_000; i++) {
+              if(i % 3 == 0 || i % 5 == 0) {
+                sum = sum.add(new Apint(i));
+              }
+            }
+            return Long.parseLong(sum.toString());
+          },
+          () -> {
+            long sum = 0;
+            for(int i = 1; i < 1_000_000; i++) {
+              if(i % 3 == 0 || i % 5 == 0) {
+                sum += i;
+              }
+            }
+            return sum;
+          }),
+
+      new Case("mulMod chain, 10^5 steps (62-bit modulus)",
+          () -> {
+            Apint m = new Apint(modulus);
+            Apint x = new Apint(1);
+            for(int i = 0; i < 100_000; i++) {
+              x = x.multiply(new Apint(bases[i % bases.length])).mod(m);
+            }
+            return Long.parseLong(x.toString());
+          },
+          () -> {
+            long x = 1;
+            for(int i = 0; i < 100_000; i++) {
+              x = NumberTheory.mulMod(x, bases[i % bases.length], modulus);
+            }
+            return x;
+          }),
+
+      new Case("Montgomery chain, 10^5 steps (62-bit modulus)",
+          () -> {
+            Apint m = new Apint(modulus);
+            Apint x = new Apint(1);
+            for(int i = 0; i < 100_000; i++) {
+              x = x.multiply(new Apint(bases[i % bases.length])).mod(m);
+            }
+            return Long.parseLong(x.toString());
+          },
+          () -> {
+            // Stay in Montgomery form for the whole chain and convert back once, which is where Montgomery pays off
+            long mInv = NumberTheory.montgomeryInverse(modulus);
+            long r2 = NumberTheory.montgomeryR2(modulus);
+            long x = NumberTheory.toMontgomery(1, modulus, mInv, r2);
+            for(int i = 0; i < 100_000; i++) {
+              x = NumberTheory.montgomeryMultiply(x, NumberTheory.toMontgomery(bases[i % bases.length], modulus, mInv, r2),
+                  modulus, mInv);
+            }
+            return NumberTheory.fromMontgomery(x, modulus, mInv);
+          }),
+
+      new Case("modPow x1000 (62-bit modulus, 63-bit exponents)",
+          () -> {
+            Apint m = new Apint(modulus);
+            long checksum = 0;
+            for(int i = 0; i < bases.length; i++) {
+              checksum ^= Long.parseLong(ApintMath.modPow(new Apint(bases[i]), new Apint(exponents[i]), m).toString());
+            }
+            return checksum;
+          },
+          () -> {
+            long checksum = 0;
+            for(int i = 0; i < bases.length; i++) {
+              checksum ^= NumberTheory.modPow(bases[i], exponents[i], modulus);
+            }
+            return checksum;
+          }),
+
+      new Case("Miller-Rabin x2000 (62-bit odd candidates)",
+          () -> {
+            long primes = 0;
+            for(long candidate : candidates) {
+              if(apintIsPrime(candidate)) {
+                primes++;
+              }
+            }
+            return primes;
+          },
+          () -> {
+            long primes = 0;
+            for(long candidate : candidates) {
+              if(NumberTheory.isPrime(candidate)) {
+                primes++;
+              }
+            }
+            return primes;
+          }),
+
+      new Case("List primes below 5*10^4",
+          () -> {
+            // Trial division by the primes found so far, the usual way to do this with only Apint at hand
+            Apint[] found = new Apint[6000]; // pi(5*10^4) = 5133
+            int count = 0;
+            for(int n = 2; n < 50_000; n++) {
+              Apint candidate = new Apint(n);
+              boolean prime = true;
+              for(int i = 0; i < count; i++) {
+                if(found[i].multiply(found[i]).compareTo(candidate) > 0) {
+                  break;
+                }
+                if(candidate.mod(found[i]).equals(ZERO)) {
+                  prime = false;
+                  break;
+                }
+              }
+              if(prime) {
+                found[count++] = candidate;
+              }
+            }
+            return count;
+          },
+          () -> Sieve.primesUpTo(49_999).length)
+    };
+  }
+
+  // The same deterministic Miller-Rabin as NumberTheory.isPrime (same bases), written against Apint. Only called with
+  // odd n > 61 from the case above, so the small-n special cases are left out.
+  private static boolean apintIsPrime(long value) {
+    Apint n = new Apint(value);
+    Apint nMinusOne = n.subtract(ONE);
+    Apint d = nMinusOne;
+    int s = 0;
+    while(d.mod(TWO).equals(ZERO)) {
+      d = d.divide(TWO);
+      s++;
+    }
+    for(long base : new long[] {2, 325, 9375, 28178, 450775, 9780504, 1795265022}) {
+      Apint a = new Apint(base).mod(n);
+      if(a.equals(ZERO)) {
+        continue;
+      }
+      Apint x = ApintMath.modPow(a, d, n);
+      if(x.equals(ONE) || x.equals(nMinusOne)) {
+        continue;
+      }
+      boolean composite = true;
+      for(int r = 1; r < s; r++) {
+        x = x.multiply(x).mod(n);
+        if(x.equals(nMinusOne)) {
+          composite = false;
+          break;
+        }
+      }
+      if(composite) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /* Expected format:
+    +--------------------------------------------------+------------------------+------------------------+----------+
+    | Case                                             | apfloat (median), ms   | SolveKit (median), ms  | Speedup  |
+    |--------------------------------------------------+------------------------+------------------------+----------|
+    | XXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXXX | XXXXXXXXXX.XXX         | XXXXXXXXXX.XXX         | XXXXX.Xx |
+    +--------------------------------------------------+------------------------+------------------------+----------+ */
+  private static void showComparison(Case[] cases, long[] apfloatMedians, long[] primitiveMedians, int iterations) {
+    String border = "+--------------------------------------------------+------------------------+------------------------+----------+";
+    System.out.println("\nMedian of the last 80% of " + iterations + " iterations per implementation:");
+    System.out.println(border);
+    System.out.println("| Case                                             | apfloat (median), ms   | SolveKit (median), ms  | Speedup  |");
+    System.out.println("|" + border.substring(1, border.length() - 1) + "|");
+    for(int c = 0; c < cases.length; c++) {
+      String speedup = String.format("%.1fx", (double)apfloatMedians[c] / Math.max(1, primitiveMedians[c]));
+      System.out.printf("| %-48s | %-22.3f | %-22.3f | %-8s |\n", cases[c].name(),
+          UnitConverter.ns_ms(apfloatMedians[c]), UnitConverter.ns_ms(primitiveMedians[c]), speedup);
+    }
+    System.out.println(border);
+  }
+}
@@ -0,0 +1,168 @@
+/*** OperationCounter.java ****************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    Counts what a solution does instead of how long it takes:  *
+ *                 loads an instrumented copy of the solution whose bytecode  *
+ *                 counts method invocations, loop back-edges, array accesses *
+ *                 and allocations, runs it once, and keeps a history of the  *
+ *                 counts per test so versions can be compared on any         *
+ *                 machine.                                                   *
+\******************************************************************************/
+
+import SolveKit.OperationCounts;
+
+import java.io.IOException;
+import java.lang.classfile.ClassFile;
+import java.lang.classfile.ClassHierarchyResolver;
+import java.lang.classfile.ClassTransform;
+import java.lang.classfile.CodeBuilder;
+import java.lang.classfile.CodeElement;
+import java.lang.classfile.CodeTransform;
+import java.lang.classfile.Label;
+import java.lang.classfile.instruction.ArrayLoadInstruction;
+import java.lang.classfile.instruction.ArrayStoreInstruction;
+import java.lang.classfile.instruction.BranchInstruction;
+import java.lang.classfile.instruction.InvokeDynamicInstruction;
+import java.lang.classfile.instruction.InvokeInstruction;
+import java.lang.classfile.instruction.LabelTarget;
+import java.lang.classfile.instruction.NewMultiArrayInstruction;
+import java.lang.classfile.instruction.NewObjectInstruction;
+import java.lang.classfile.instruction.NewPrimitiveArrayInstruction;
+import java.lang.classfile.instruction.NewReferenceArrayInstruction;
+import java.lang.constant.ClassDesc;
+import java.lang.constant.ConstantDescs;
+import java.lang.constant.MethodTypeDesc;
+import java.lang.instrument.ClassFileTransformer;
+import java.lang.instrument.IllegalClassFormatException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.ProtectionDomain;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/* The instrumentation is a java.lang.instrument ClassFileTransformer, but it isn't installed as a -javaagent: SolveKit
+   already decides where solution classes come from (SolutionLoader), so it hands the transformer to a separate loader
+   for the counting run. The timed runs use the untouched classes, so counting never slows them down. */
+public class OperationCounter implements ClassFileTransformer {
+  private static final ClassDesc COUNTS = ClassDesc.of(OperationCounts.class.getName());
+  private static final MethodTypeDesc NO_ARGUMENTS = MethodTypeDesc.of(ConstantDescs.CD_void);
+
+  // Where the histories are kept, with SolveKit's other generated files rather than next to the tests
+  private static final Path HISTORIES = Path.of(System.getProperty("solvekit.cache", ".solvekit-cache"), "opcounts");
+  private static final String HISTORY_HEADER = "# unix_time\ttest\tsolution\tinvocations\tback_edges\tarray_accesses\tallocations\tmedian_ns";
+
+  private final String packagePrefix; // Internal name prefix of the classes to instrument, e.g. "Codeforces/"
+
+  // Stack maps have to be recomputed after inserting calls, which needs the superclasses of the solution's classes
+  private final ClassFile classFile = ClassFile.of(ClassFile.ClassHierarchyResolverOption.of(
+      ClassHierarchyResolver.defaultResolver().orElse(ClassHierarchyResolver.ofResourceParsing(OperationCounter.class.getClassLoader()))));
+
+  public OperationCounter(String platform) {
+    this.packagePrefix = platform + "/";
+  }
+
+  @Override
+  public byte[] transform(ClassLoader loader, String className, Class<?> classBeingRedefined,
+                          ProtectionDomain protectionDomain, byte[] classfileBuffer) throws IllegalClassFormatException {
+    if(className == null || !className.startsWith(packagePrefix)) {
+      return null; // Not a solution class; leave it alone
+    }
+    try {
+      return classFile.transformClass(classFile.parse(classfileBuffer),
+          ClassTransform.transformingMethodBodies(CodeTransform.ofStateful(Counting::new)));
+    } catch(IllegalArgumentException e) { // What the class file API throws for class files it can't handle
+      IllegalClassFormatException failure = new IllegalClassFormatException("Couldn't instrument " + className + ": " + e.getMessage());
+      failure.initCause(e);
+      throw failure;
+    }
+  }
+
+  /* Inserts a call to OperationCounts before every instruction it counts. The calls take nothing from and leave
+     nothing on the operand stack, so the code around them is unaffected. One instance per method body, since it
+     remembers which labels it has passed. */
+  private static final class Counting implements CodeTransform {
+    private final Set<Label> passed = new HashSet<>();
+
+    @Override
+    public void accept(CodeBuilder code, CodeElement element) {
+      if(element instanceof LabelTarget target) {
+        passed.add(target.label());
+      } else if(element instanceof BranchInstruction branch && passed.contains(branch.target())) {
+        count(code, "backEdge"); // Jumps to a label we've already passed go backwards, i.e. around a loop
+      } else if(element instanceof ArrayLoadInstruction || element instanceof ArrayStoreInstruction) {
+        count(code, "arrayAccess");
+      } else if(element instanceof InvokeInstruction || element instanceof InvokeDynamicInstruction) {
+        count(code, "invocation");
+      } else if(element instanceof NewObjectInstruction || element instanceof NewPrimitiveArrayInstruction
+          || element instanceof NewReferenceArrayInstruction || element instanceof NewMultiArrayInstruction) {
+        count(code, "allocation");
+      }
+      code.with(element);
+    }
+
+    private static void count(CodeBuilder code, String counter) {
+      code.invokestatic(COUNTS, counter, NO_ARGUMENTS);
+    }
+  }
+
+  /* Runs an instrumented copy of the solution once on the input from the last loadInput(), the way the benchmark ran
+     it, and returns what it did. Static initializers run before counting starts, like they run before timing starts.
+     Afterwards solutions come from wherever they came from before. */
+  public static OperationCounts.Counts count(PlatformHandler handler, String platform, SolutionSpecifier thisSolution)
+      throws ClassNotFoundException, NoSuchMethodException, InvocationTargetException, IllegalAccessException {
+    ClassLoader previous = SolutionLoader.current();
+    SolutionLoader.use(new SolutionLoader.Fresh(platform, Map.of(), new OperationCounter(platform)));
+    try {
+      SolutionInvoker[] batch = {handler.newInvoker(thisSolution)}; // Loads and initializes the instrumented classes
+      OperationCounts.reset();
+      BenchmarkEngine.timeBatch(batch);
+      return OperationCounts.snapshot();
+    } finally {
+      SolutionLoader.use(previous);
+    }
+  }
+
+  // inputs/.solvekit-cache/opcounts/{Platform}/{ProblemSpecifier}.tsv: one line per counted benchmark, oldest first
+  private static Path historyPath(String platform, String solutionName) {
+    return HISTORIES.resolve(platform).resolve(solutionName + ".tsv");
+  }
+
+  /* The counts of the latest earlier version of the solution (one whose class files hash differently than
+     `solutionHash`, see ResultCache.solutionHash) on test `test`, or null if there is none. */
+  public static OperationCounts.Counts previousVersion(String platform, String solutionName, String test, String solutionHash) throws IOException {
+    Path history = historyPath(platform, solutionName);
+    if(!Files.exists(history)) {
+      return null;
+    }
+    List<String> lines = Files.readAllLines(history);
+    for(int i = lines.size() - 1; i >= 0; i--) {
+      String[] fields = lines.get(i).split("\t");
+      if(lines.get(i).startsWith("#") || fields.length < 7) {
+        continue;
+      }
+      if(fields[1].equals(test) && !fields[2].equals(solutionHash)) {
+        return new OperationCounts.Counts(Long.parseLong(fields[3]), Long.parseLong(fields[4]),
+            Long.parseLong(fields[5]), Long.parseLong(fields[6]));
+      }
+    }
+    return null;
+  }
+
+  // Adds a line to the history. The median runtime is kept alongside for reference, but isn't compared.
+  public static void record(String platform, String solutionName, String test, String solutionHash,
+                            OperationCounts.Counts counts, long medianNs) throws IOException {
+    Path history = historyPath(platform, solutionName);
+    String line = Instant.now().getEpochSecond() + "\t" + test + "\t" + solutionHash + "\t" + counts.invocations() +
+        "\t" + counts.backEdges() + "\t" + counts.arrayAccesses() + "\t" + counts.allocations() + "\t" + medianNs + "\n";
+    if(!Files.exists(history)) {
+      Files.createDirectories(history.toAbsolutePath().getParent());
+      line = HISTORY_HEADER + "\n" + line;
+    }
+    Files.writeString(history, line, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+  }
+}
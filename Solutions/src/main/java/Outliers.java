@@ -0,0 +1,129 @@
+/*** Outliers.java ************************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    Classifies the data points of a benchmark as outliers      *
+ *                 using Tukey's fences (mild and severe) and the median      *
+ *                 absolute deviation, so that one hiccup can be spotted and  *
+ *                 its effect on the mean and stddev removed.                 *
+\******************************************************************************/
+
+import java.util.Arrays;
+
+public final class Outliers {
+  // Tukey's fences: mild outliers lie more than 1.5 IQR outside [Q1, Q3], severe ones more than 3 IQR outside it
+  private static final double MILD_FENCE = 1.5;
+  private static final double SEVERE_FENCE = 3.0;
+
+  // Iglewicz and Hoaglin's modified z-score: 0.6745*(x - median)/MAD. Points with |z| above 3.5 are outliers.
+  private static final double MAD_SCALE = 0.6745;
+  private static final double MAD_THRESHOLD = 3.5;
+  // When more than half the points are identical (e.g. a coarse timer) the MAD is 0, so the mean absolute deviation
+  // scaled by this constant is used instead, as Iglewicz and Hoaglin recommend.
+  private static final double MEAN_AD_SCALE = 0.7979;
+
+  public enum Kind {
+    NONE(""), MILD_LOW("mild-low"), MILD_HIGH("mild-high"), SEVERE_LOW("severe-low"), SEVERE_HIGH("severe-high");
+
+    private final String label;
+
+    Kind(String label) {
+      this.label = label;
+    }
+
+    // Used in the CSV; empty for data points that aren't outliers
+    public String label() {
+      return label;
+    }
+  }
+
+  private final double lowerMild, upperMild, lowerSevere, upperSevere;
+  private final long median;
+  private final double madDenominator; // Scaled MAD (or mean AD) that (x - median) is divided by; 0 = no MAD outliers
+  private int mildLow, mildHigh, severeLow, severeHigh, madOutliers;
+
+  // `stats` must have been computed on the same `data`, so its quartiles and median can be reused.
+  public Outliers(long[] data, Statistics stats) {
+    long iqr = stats.getQ3() - stats.getQ1();
+    lowerMild = stats.getQ1() - MILD_FENCE * iqr;
+    upperMild = stats.getQ3() + MILD_FENCE * iqr;
+    lowerSevere = stats.getQ1() - SEVERE_FENCE * iqr;
+    upperSevere = stats.getQ3() + SEVERE_FENCE * iqr;
+    median = stats.getMedian();
+
+    // MAD = median of |x - median|
+    long[] deviations = new long[data.length];
+    double deviationSum = 0;
+    for(int i = 0; i < data.length; i++) {
+      deviations[i] = Math.abs(data[i] - median);
+      deviationSum += deviations[i];
+    }
+    long mad = new Statistics(deviations).getMedian();
+    if(mad > 0) {
+      madDenominator = mad / MAD_SCALE;
+    } else { // Fall back to the mean absolute deviation; if that's 0 too, every point is equal and none are outliers
+      madDenominator = (deviationSum / data.length) / MEAN_AD_SCALE;
+    }
+
+    for(long x : data) {
+      switch(classify(x)) {
+        case MILD_LOW -> mildLow++;
+        case MILD_HIGH -> mildHigh++;
+        case SEVERE_LOW -> severeLow++;
+        case SEVERE_HIGH -> severeHigh++;
+        case NONE -> { }
+      }
+      if(isMadOutlier(x)) {
+        madOutliers++;
+      }
+    }
+  }
+
+  // Where x falls relative to Tukey's fences. x doesn't have to be one of the data points this was built from.
+  public Kind classify(long x) {
+    if(x < lowerSevere) {
+      return Kind.SEVERE_LOW;
+    } else if(x > upperSevere) {
+      return Kind.SEVERE_HIGH;
+    } else if(x < lowerMild) {
+      return Kind.MILD_LOW;
+    } else if(x > upperMild) {
+      return Kind.MILD_HIGH;
+    }
+    return Kind.NONE;
+  }
+
+  // Whether the modified z-score of x is above the threshold.
+  public boolean isMadOutlier(long x) {
+    return madDenominator > 0 && Math.abs(x - median) / madDenominator > MAD_THRESHOLD;
+  }
+
+  // `data` with every Tukey outlier (mild or severe) removed, in the original order. For the data this was built from
+  // it's never empty, because nothing between Q1 and Q3 can be an outlier.
+  public long[] withoutOutliers(long[] data) {
+    return Arrays.stream(data).filter(x -> classify(x) == Kind.NONE).toArray();
+  }
+
+  public int getMildLow() {
+    return mildLow;
+  }
+
+  public int getMildHigh() {
+    return mildHigh;
+  }
+
+  public int getSevereLow() {
+    return severeLow;
+  }
+
+  public int getSevereHigh() {
+    return severeHigh;
+  }
+
+  public int getTukeyCount() {
+    return mildLow + mildHigh + severeLow + severeHigh;
+  }
+
+  public int getMadCount() {
+    return madOutliers;
+  }
+}
@@ -0,0 +1,149 @@
+/*** OutputSinkBenchmark.java *************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    Benchmarks a solution with its stdout going where a judge  *
+ *                 sends it, a pipe drained by another thread or a file,      *
+ *                 instead of the null stream used for compute-only timing,   *
+ *                 and counts what it printed, so the cost of output can be   *
+ *                 told apart from the cost of computing.                     *
+\******************************************************************************/
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.Pipe;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class OutputSinkBenchmark {
+  // Where the "file" sink writes: inputs/.solvekit-cache/output-sink.out, next to the other caches. Emptied before
+  // every run and deleted at the end.
+  private static final Path FILE = Path.of(System.getProperty("solvekit.cache", ".solvekit-cache"), "output-sink.out");
+
+  // Same as the buffer of the JDK's own System.out, which is what a solution on a judge prints through
+  private static final int STDOUT_BUFFER = 128;
+
+  public static final String PIPE = "pipe";
+  public static final String FILE_SINK = "file";
+
+  /* `perCallTimes` are the solution's runtimes per call with its output going to the sink. `bytes` and `writes` are
+     what one call printed on average: how much, and in how many writes to the pipe or file (each one a system call on
+     a judge). */
+  public record Result(String sink, long[] perCallTimes, int batchSize, long bytes, long writes) { }
+
+  // Counts what reaches the sink. Passes arrays on whole, since FilterOutputStream would write them byte by byte.
+  private static final class CountingStream extends OutputStream {
+    private final OutputStream out;
+    long bytes;
+    long writes;
+
+    CountingStream(OutputStream out) {
+      this.out = out;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      bytes++;
+      writes++;
+      out.write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      bytes += len;
+      writes++;
+      out.write(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+      out.flush();
+    }
+  }
+
+  /* Benchmarks the solution like the compute-only benchmark did, through BenchmarkEngine with the same `batchSize`
+     calls per sample, except that its stdout goes to a stream like the real System.out (autoflushing, with a small
+     buffer) over `sink`, which is PIPE or FILE_SINK. */
+  public static Result run(PlatformHandler handler, SolutionSpecifier thisSolution, int iterations, int batchSize,
+                           String sink) throws IOException, ReflectiveOperationException {
+    handler.loadInput(thisSolution);
+    SolutionInvoker[] batch = new SolutionInvoker[batchSize];
+    for(int i = 0; i < batchSize; i++) {
+      batch[i] = handler.newInvoker(thisSolution);
+    }
+
+    if(sink.equals(PIPE)) {
+      Pipe pipe = Pipe.open(); // An OS pipe, like the one between a judge's checker and the solution
+      Thread drainer = Thread.ofPlatform().daemon().name("solvekit-output-drainer").start(() -> {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16);
+        try {
+          while(pipe.source().read(buffer) != -1) {
+            buffer.clear();
+          }
+        } catch(IOException e) {
+          // The write end is gone; nothing left to drain
+        }
+      });
+      CountingStream counted = new CountingStream(Channels.newOutputStream(pipe.sink()));
+      try {
+        return timeRuns(sink, batch, iterations, counted);
+      } finally {
+        pipe.sink().close();
+        joinQuietly(drainer);
+        pipe.source().close();
+      }
+    } else if(sink.equals(FILE_SINK)) {
+      Files.createDirectories(FILE.getParent());
+      try(FileOutputStream file = new FileOutputStream(FILE.toFile())) {
+        FileChannel channel = file.getChannel();
+        SolutionInvoker first = batch[0];
+        batch[0] = new SolutionInvoker() { // Empties the file before every sample, while input is refreshed (untimed)
+          @Override
+          public void refreshInput() {
+            try {
+              channel.truncate(0);
+            } catch(IOException e) {
+              throw new UncheckedIOException(e);
+            }
+            first.refreshInput();
+          }
+
+          @Override
+          public void invoke() throws InvocationTargetException, IllegalAccessException {
+            first.invoke();
+          }
+        };
+        return timeRuns(sink, batch, iterations, new CountingStream(file));
+      } finally {
+        Files.deleteIfExists(FILE);
+      }
+    }
+    throw new IllegalSpecifierException("--sink must be \"" + PIPE + "\" or \"" + FILE_SINK + "\".");
+  }
+
+  private static Result timeRuns(String sink, SolutionInvoker[] batch, int iterations, CountingStream counted) throws IOException, InvocationTargetException, IllegalAccessException {
+    PrintStream stdout = new PrintStream(new BufferedOutputStream(counted, STDOUT_BUFFER), true, StandardCharsets.UTF_8);
+    long[] times = BenchmarkEngine.run(batch, iterations, stdout).perCallTimes();
+    if(stdout.checkError()) {
+      throw new IOException("Writing the solution's output to the sink failed.");
+    }
+    long calls = (long)iterations * batch.length;
+    return new Result(sink, times, batch.length, counted.bytes / calls, counted.writes / calls);
+  }
+
+  private static void joinQuietly(Thread thread) {
+    try {
+      thread.join();
+    } catch(InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,83 @@
+/*** PhaseBreakdown.java ******************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    Collects what a solution recorded with SolveKit.Phase      *
+ *                 during a benchmark into one runtime per phase per          *
+ *                 iteration, so each phase gets the same statistics as the   *
+ *                 whole solution.                                            *
+\******************************************************************************/
+
+import SolveKit.Phase;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class PhaseBreakdown implements Phase.Sink {
+  public record PhaseResult(String name, double timesPerCall, Statistics last80p) { }
+
+  private final int iterations;
+  // Phase name -> its total time per call in each iteration. Identity, since phase names are literals; in the order
+  // the phases first ended, which is usually the order they run in.
+  private final Map<String, long[]> times = new IdentityHashMap<>();
+  private final Map<String, long[]> counts = new IdentityHashMap<>();
+  private final List<String> order = new ArrayList<>();
+  private long solutionCalls;
+  private long lost;
+
+  // Filled in by accept() while draining
+  private int iteration;
+
+  public PhaseBreakdown(int iterations) {
+    this.iterations = iterations;
+  }
+
+  // Forgets anything the calling thread recorded before the benchmark, e.g. while calibrating the batch size.
+  public static void discardRecorded() {
+    Phase.drain((name, durationNs) -> { });
+  }
+
+  // Adds what the calling thread recorded since the last call to iteration i, whose sample timed `callsPerSample`
+  // calls of the solution. Called outside the timed part of the loop.
+  public void collect(int i, int callsPerSample) {
+    iteration = i;
+    solutionCalls += callsPerSample;
+    lost += Phase.drain(this);
+    for(int n = 0; n < order.size(); n++) { // Per call, like the iteration times; indexed, so no Iterator is allocated
+      times.get(order.get(n))[i] /= callsPerSample;
+    }
+  }
+
+  @Override
+  public void accept(String name, long durationNs) {
+    long[] phaseTimes = times.get(name);
+    if(phaseTimes == null) { // First time this phase ended
+      phaseTimes = new long[iterations];
+      times.put(name, phaseTimes);
+      counts.put(name, new long[1]);
+      order.add(name);
+    }
+    phaseTimes[iteration] += durationNs;
+    counts.get(name)[0]++;
+  }
+
+  public boolean isEmpty() {
+    return order.isEmpty();
+  }
+
+  // How many phases ended while the ring buffer was full and were never counted
+  public long lost() {
+    return lost;
+  }
+
+  // Statistics for each phase's time per call over the last 80% of iterations, like the main results table.
+  public List<PhaseResult> results() {
+    List<PhaseResult> results = new ArrayList<>();
+    for(String name : order) {
+      results.add(new PhaseResult(name, (double)counts.get(name)[0] / solutionCalls,
+          new Statistics(Statistics.last80Percent(times.get(name)))));
+    }
+    return results;
+  }
+}
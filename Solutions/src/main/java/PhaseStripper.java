@@ -0,0 +1,57 @@
+/*** PhaseStripper.java *******************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    Prints a solution's source without its SolveKit.Phase      *
+ *                 calls, ready to submit to a judge that doesn't have        *
+ *                 SolveKit.                                                  *
+\******************************************************************************/
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+public class PhaseStripper {
+  // A line holding nothing but one Phase call (and maybe a comment), or the import of Phase
+  private static final Pattern PHASE_LINE = Pattern.compile(
+      "\\s*(?:(?:SolveKit\\.)?Phase\\.(?:begin\\(\"[^\"]*\"\\)|end\\(\\));|import\\s+SolveKit\\.Phase;)\\s*(?://.*)?");
+
+  private static final Pattern PHASE_MENTION = Pattern.compile("\\bPhase\\s*\\.");
+
+  /* Prints the source of solution `solution` in package `platform` under `sourceRoot` (the directory holding the
+     platform packages) with every line matched by PHASE_LINE removed. Mentions of Phase that aren't on a line of their
+     own can't be removed safely, so they're listed afterwards instead. */
+  public static void print(Path sourceRoot, String platform, String solution) throws IOException {
+    Path sourceFile = sourceRoot.resolve(platform).resolve(solution + ".java").toAbsolutePath().normalize();
+    if(!Files.isRegularFile(sourceFile)) {
+      throw new IllegalSpecifierException("Can't strip " + sourceFile + ": it doesn't exist. Pass the directory that " +
+          "contains the platform packages with --strip=DIR.");
+    }
+
+    List<String> lines = Files.readAllLines(sourceFile);
+    StringBuilder stripped = new StringBuilder();
+    int removed = 0;
+    List<Integer> leftOver = new ArrayList<>(); // Line numbers of Phase uses we couldn't remove
+    for(int i = 0; i < lines.size(); i++) {
+      String line = lines.get(i);
+      if(PHASE_LINE.matcher(line).matches()) {
+        removed++;
+        continue;
+      }
+      if(PHASE_MENTION.matcher(line).find()) {
+        leftOver.add(i + 1);
+      }
+      stripped.append(line).append('\n');
+    }
+
+    System.out.print(stripped);
+    System.out.println("\n---------------------------------------------------");
+    System.out.println("Removed " + removed + " lines using SolveKit.Phase from " + sourceFile.getFileName() + ".");
+    if(!leftOver.isEmpty()) {
+      System.out.println("Warning: Phase is still used on lines " + leftOver + ". Put each Phase call on a line of its " +
+          "own so it can be stripped.");
+    }
+  }
+}
@@ -17,12 +17,31 @@ public interface PlatformHandler {
   // Used for platforms that rely on plaintext input via a file
   default void loadInput(SolutionSpecifier thisSolution) throws IOException { }
 
-  // Used for platforms that rely on stdin for input
+  // Used for platforms that rely on stdin for input. Only affects the calling thread.
   default void passStdInput() { }
 
   // Runs the solution once. Returns the runtime of the solution in ns.
   long runSolution(SolutionSpecifier thisSolution) throws NoSuchMethodException, InvocationTargetException, IllegalAccessException, ClassNotFoundException, IOException;
 
-  // Runs the solution `iterations` times. Returns an array containing runtimes for each iteration.
-  long[] benchmarkSolution(SolutionSpecifier thisSolution, int iterations) throws ClassNotFoundException, NoSuchMethodException, InvocationTargetException, IllegalAccessException, IOException;
+  // Runs the solution `iterations` times. Returns the runtime of each iteration and when it ended. All platforms share
+  // BenchmarkEngine's timed loop and only plug in how input is prepared and the solution is called, via newInvoker().
+  default BenchmarkEngine.Samples benchmarkSolution(SolutionSpecifier thisSolution, int iterations) throws ClassNotFoundException, NoSuchMethodException, InvocationTargetException, IllegalAccessException, IOException {
+    loadInput(thisSolution);
+    return BenchmarkEngine.run(newInvoker(thisSolution), iterations);
+  }
+
+  // Benchmarks only the step that turns the input file into the solution's arguments, for platforms that do that
+  // before timing the solution. Goes through BenchmarkEngine and returns what it measured, like benchmarkSolution().
+  default BenchmarkEngine.Samples benchmarkInputParsing(SolutionSpecifier thisSolution, int iterations) throws ClassNotFoundException, NoSuchMethodException, InvocationTargetException, IllegalAccessException, IOException {
+    throw new IllegalSpecifierException("This platform doesn't parse input files before running solutions, so there " +
+        "is no parsing to benchmark.");
+  }
+
+  // Creates an invoker that calls the solution with the input from the last call to loadInput(). Every thread that
+  // calls the solution needs its own invoker.
+  SolutionInvoker newInvoker(SolutionSpecifier thisSolution) throws ClassNotFoundException, NoSuchMethodException;
+
+  // Like newInvoker(), but calls an empty method with the same signature as the solution (see EmptySolution), with the
+  // same input handling. Timing it measures the harness's own overhead per call.
+  SolutionInvoker newBaselineInvoker(SolutionSpecifier thisSolution) throws ClassNotFoundException, NoSuchMethodException;
 }
@@ -0,0 +1,92 @@
+/*** ProcMetrics.java *********************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    Reads Linux /proc counters for context switches, page      *
+ *                 faults, CPU migrations, scheduler wait time and memory, so *
+ *                 benchmarks can report what the OS did to the solution      *
+ *                 while it was being timed.                                  *
+\******************************************************************************/
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class ProcMetrics {
+  /* Counters at one moment. "thread" ones are for the calling thread (the one running the solution) and come from
+     /proc/thread-self; "process" ones include the GC and JIT compiler threads. migrations is -1 when the kernel doesn't
+     expose it (it needs CONFIG_SCHED_DEBUG). */
+  public record Snapshot(long threadVoluntarySwitches, long threadInvoluntarySwitches, long threadMinorFaults,
+                         long threadMajorFaults, long threadMigrations, long threadWaitNs,
+                         long processVoluntarySwitches, long processInvoluntarySwitches, long processMinorFaults,
+                         long processMajorFaults, long rssKb, long peakRssKb) { }
+
+  // Takes a snapshot, or returns null if /proc isn't available (i.e. not on Linux). Reads a handful of small files,
+  // so never call it inside a timed region.
+  public static Snapshot take() {
+    try {
+      long[] threadStat = faults(Path.of("/proc/thread-self/stat"));
+      long[] threadSwitches = switches(Path.of("/proc/thread-self/status"));
+      long[] processStat = faults(Path.of("/proc/self/stat"));
+
+      long[] processSwitches = new long[2];
+      try(DirectoryStream<Path> tasks = Files.newDirectoryStream(Path.of("/proc/self/task"))) {
+        for(Path task : tasks) { // Sum over live threads; /proc/self/status only has the main thread's switches
+          try {
+            long[] taskSwitches = switches(task.resolve("status"));
+            processSwitches[0] += taskSwitches[0];
+            processSwitches[1] += taskSwitches[1];
+          } catch(IOException e) {
+            // The thread exited while we were looking
+          }
+        }
+      }
+
+      // schedstat: time on the CPU, time waiting on a run queue, and number of timeslices, all for this thread
+      String[] schedstat = Files.readString(Path.of("/proc/thread-self/schedstat")).trim().split("\\s+");
+
+      return new Snapshot(threadSwitches[0], threadSwitches[1], threadStat[0], threadStat[1], migrations(),
+          Long.parseLong(schedstat[1]), processSwitches[0], processSwitches[1], processStat[0], processStat[1],
+          statusField(Path.of("/proc/self/status"), "VmRSS:"), statusField(Path.of("/proc/self/status"), "VmHWM:"));
+    } catch(IOException | RuntimeException e) {
+      return null;
+    }
+  }
+
+  // {minor faults, major faults} from a stat file. Fields are counted after the ")" that ends the command name,
+  // which can itself contain spaces: field 3 (state) comes first, minflt is field 10 and majflt is field 12.
+  private static long[] faults(Path stat) throws IOException {
+    String text = Files.readString(stat);
+    String[] fields = text.substring(text.lastIndexOf(')') + 2).split(" ");
+    return new long[] {Long.parseLong(fields[10 - 3]), Long.parseLong(fields[12 - 3])};
+  }
+
+  // {voluntary, involuntary} context switches from a status file
+  private static long[] switches(Path status) throws IOException {
+    return new long[] {statusField(status, "voluntary_ctxt_switches:"), statusField(status, "nonvoluntary_ctxt_switches:")};
+  }
+
+  // The first number on the line of a status file that starts with `name` (e.g. "VmRSS:  1800 kB" -> 1800)
+  private static long statusField(Path status, String name) throws IOException {
+    for(String line : Files.readAllLines(status)) {
+      if(line.startsWith(name)) {
+        return Long.parseLong(line.substring(name.length()).trim().split("\\s+")[0]);
+      }
+    }
+    throw new IOException(name + " not found in " + status);
+  }
+
+  // How often the calling thread moved to another CPU, or -1 if unknown
+  private static long migrations() {
+    try {
+      for(String line : Files.readAllLines(Path.of("/proc/thread-self/sched"))) {
+        if(line.startsWith("se.nr_migrations")) {
+          return Long.parseLong(line.substring(line.indexOf(':') + 1).trim());
+        }
+      }
+    } catch(IOException | NumberFormatException e) {
+      // Fall through
+    }
+    return -1;
+  }
+}
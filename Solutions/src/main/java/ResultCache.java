@@ -0,0 +1,136 @@
+/*** ResultCache.java *********************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    Remembers the runtimes of corpus benchmarks, keyed by      *
+ *                 everything that could change them: the solution's          *
+ *                 bytecode, the input file, the JVM and its flags, and the   *
+ *                 number of iterations. Reruns skip pairs of solution and    *
+ *                 test that haven't changed.                                 *
+\******************************************************************************/
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class ResultCache {
+  // inputs/.solvekit-cache/results, next to the other caches
+  private static final Path DIRECTORY = Path.of(System.getProperty("solvekit.cache", ".solvekit-cache"), "results");
+
+  /* The key for benchmarking `solutionName` on `inputFile` `iterations` times in this JVM. Covers the class file of the
+     solution and of every class nested in it, the contents of the input file, the JVM's version and vendor, and the
+     options it was started with, minus debugger and agent options (an IDE's agent gets a new port every launch).
+     Anything else the solution depends on (other classes, SolveKit itself) isn't covered; use --force after changing
+     those. */
+  public static String key(String platform, String solutionName, Path inputFile, int iterations) throws IOException, ClassNotFoundException {
+    MessageDigest digest = sha256();
+    digestSolution(digest, platform, solutionName);
+
+    if(inputFile != null && Files.exists(inputFile)) { // Project Euler solutions have no input file
+      digest.update(Files.readAllBytes(inputFile));
+    }
+    digest.update((Runtime.version() + "\n" + System.getProperty("java.vm.vendor") + "\n" + System.getProperty("java.home")
+        + "\n" + ForkedBenchmark.inheritedJvmOptions(List.of()) + "\n" + iterations).getBytes(StandardCharsets.UTF_8));
+    return HexFormat.of().formatHex(digest.digest(), 0, 16);
+  }
+
+  // A hash of the class files of the solution and every class nested in it, which changes with every new version.
+  public static String solutionHash(String platform, String solutionName) throws IOException, ClassNotFoundException {
+    MessageDigest digest = sha256();
+    digestSolution(digest, platform, solutionName);
+    return HexFormat.of().formatHex(digest.digest(), 0, 16);
+  }
+
+  private static void digestSolution(MessageDigest digest, String platform, String solutionName) throws IOException, ClassNotFoundException {
+    Class<?> solutionClass = SolutionLoader.forName(platform + "." + solutionName);
+    Class<?>[] classes = solutionClass.getNestMembers(); // The class itself and everything nested in it
+    Arrays.sort(classes, Comparator.comparing(Class::getName));
+    for(Class<?> nested : classes) {
+      digest.update(nested.getName().getBytes(StandardCharsets.UTF_8));
+      try(InputStream in = nested.getClassLoader().getResourceAsStream(nested.getName().replace('.', '/') + ".class")) {
+        if(in != null) {
+          digest.update(in.readAllBytes());
+        }
+      }
+    }
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch(NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 isn't available", e); // Every JDK has to provide it
+    }
+  }
+
+  // The runtimes stored under `key`, or null if there are none. A hit counts as a use, for eviction.
+  public static long[] load(String key) throws IOException {
+    Path file = DIRECTORY.resolve(key + ".txt");
+    if(!Files.exists(file)) {
+      return null;
+    }
+    List<String> lines = Files.readAllLines(file);
+    long[] runtimes = new long[lines.size()];
+    for(int i = 0; i < runtimes.length; i++) {
+      runtimes[i] = Long.parseLong(lines.get(i).trim());
+    }
+    Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+    return runtimes;
+  }
+
+  public static void store(String key, long[] runtimes) throws IOException {
+    Files.createDirectories(DIRECTORY);
+    StringBuilder text = new StringBuilder();
+    for(long runtime : runtimes) {
+      text.append(runtime).append('\n');
+    }
+    Path temp = Files.createTempFile(DIRECTORY, key, ".tmp");
+    Files.writeString(temp, text);
+    Files.move(temp, DIRECTORY.resolve(key + ".txt"), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /* Deletes results that haven't been used for longer than `maxAge`, then the least recently used ones until all
+     results together take at most `maxBytes`. Returns how many were deleted. */
+  public static int evict(Duration maxAge, long maxBytes) throws IOException {
+    if(!Files.isDirectory(DIRECTORY)) {
+      return 0;
+    }
+    List<Path> files;
+    try(Stream<Path> list = Files.list(DIRECTORY)) {
+      files = list.filter(file -> file.toString().endsWith(".txt")).toList();
+    }
+
+    // Newest first, so everything after the size limit is reached can go
+    record Stored(Path file, long lastUsed, long size) { }
+    Stored[] stored = new Stored[files.size()];
+    for(int i = 0; i < stored.length; i++) {
+      stored[i] = new Stored(files.get(i), Files.getLastModifiedTime(files.get(i)).toMillis(), Files.size(files.get(i)));
+    }
+    Arrays.sort(stored, Comparator.comparingLong(Stored::lastUsed).reversed());
+
+    long oldestAllowed = System.currentTimeMillis() - maxAge.toMillis();
+    long total = 0;
+    int deleted = 0;
+    for(Stored entry : stored) {
+      if(entry.lastUsed() < oldestAllowed || total + entry.size() > maxBytes) {
+        Files.deleteIfExists(entry.file());
+        deleted++;
+      } else {
+        total += entry.size();
+      }
+    }
+    return deleted;
+  }
+}
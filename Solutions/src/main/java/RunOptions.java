@@ -0,0 +1,93 @@
+/*** RunOptions.java **********************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    Parses the optional "--name[=value]" command line          *
+ *                 arguments that come after the solution specifier and       *
+ *                 select extra modes.                                        *
+\******************************************************************************/
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+public class RunOptions {
+  // Every option some mode reads. Anything else is a typo, which would otherwise run a normal-looking benchmark that
+  // quietly ignored it.
+  private static final Set<String> KNOWN = Set.of(
+      // Benchmarking
+      "batch", "subtract-overhead", "parse", "profile", "profile-top", "count-ops", "sink", "calibrate", "drift-limit",
+      "watch", "force", "reindex", "slowest", "cache-days", "cache-mb",
+      // Other modes
+      "throughput", "threads", "duration", "virtual", "scaling", "matrix", "min-heap", "gc-limit", "startup", "aot",
+      "stress", "gen", "cases", "seed", "generate", "mode", "interactor", "time-limit", "idle-limit", "strip",
+      "coordinator", "workers",
+      // Only passed to child JVMs and workers by SolveKit itself
+      "runtimes-out", "gc-out", "startup-report", "worker");
+
+  private final Map<String, String> options = new HashMap<>();
+
+  // args is everything after the solution specifier, e.g. {"--throughput=8", "--virtual"}.
+  public RunOptions(String[] args) {
+    for(String arg : args) {
+      if(!arg.startsWith("--") || arg.length() == 2) {
+        throw new IllegalSpecifierException("Unrecognized option \"" + arg + "\". Options look like --name or --name=value.");
+      }
+
+      int equals = arg.indexOf('=');
+      String name = equals == -1 ? arg.substring(2) : arg.substring(2, equals);
+      if(!KNOWN.contains(name)) {
+        throw new IllegalSpecifierException("Unrecognized option \"--" + name + "\". The README lists every option.");
+      }
+      options.put(name, equals == -1 ? "" : arg.substring(equals + 1)); // A flag without a value gets ""
+    }
+  }
+
+  public boolean has(String name) {
+    return options.containsKey(name);
+  }
+
+  // Returns the option's value, or `defaultValue` if the option is absent or was passed without a value.
+  public String get(String name, String defaultValue) {
+    String value = options.get(name);
+    return (value == null || value.isEmpty()) ? defaultValue : value;
+  }
+
+  public int getInt(String name, int defaultValue) {
+    String value = get(name, null);
+    if(value == null) {
+      return defaultValue;
+    }
+
+    try {
+      return Integer.parseInt(value);
+    } catch(NumberFormatException e) {
+      throw new IllegalSpecifierException("Option --" + name + " expects an integer, but got \"" + value + "\".");
+    }
+  }
+
+  public long getLong(String name, long defaultValue) {
+    String value = get(name, null);
+    if(value == null) {
+      return defaultValue;
+    }
+
+    try {
+      return Long.parseLong(value);
+    } catch(NumberFormatException e) {
+      throw new IllegalSpecifierException("Option --" + name + " expects an integer, but got \"" + value + "\".");
+    }
+  }
+
+  public double getDouble(String name, double defaultValue) {
+    String value = get(name, null);
+    if(value == null) {
+      return defaultValue;
+    }
+
+    try {
+      return Double.parseDouble(value);
+    } catch(NumberFormatException e) {
+      throw new IllegalSpecifierException("Option --" + name + " expects a number, but got \"" + value + "\".");
+    }
+  }
+}
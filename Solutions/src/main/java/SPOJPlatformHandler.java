@@ -7,12 +7,9 @@
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.OutputStream;
-import java.io.PrintStream;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.nio.file.Files;
-import java.nio.file.Paths;
 
 public class SPOJPlatformHandler implements PlatformHandler {
   private byte[] cachedInput;
@@ -21,13 +18,14 @@ public class SPOJPlatformHandler implements PlatformHandler {
   @Override
   public void loadInput(SolutionSpecifier thisSolution) throws IOException {
     cachedInput = Files.readAllBytes(
-        Paths.get("SPOJ/i_" + thisSolution.name() + "_" + thisSolution.test() + ".txt")
+        TestCorpus.inputPath("SPOJ", thisSolution)
     );
   }
 
-  // Sets stdin to the cached input.
+  // Sets stdin of the calling thread to the cached input.
+  @Override
   public void passStdInput() {
-    System.setIn(new ByteArrayInputStream(cachedInput));
+    StdIOMultiplexer.setIn(new ByteArrayInputStream(cachedInput));
   }
 
   @Override
@@ -36,7 +34,7 @@ public class SPOJPlatformHandler implements PlatformHandler {
     passStdInput();
 
     // Do some reflection voodoo to be able to call the solution's main method
-    Class<?> solutionClass = Class.forName("SPOJ." + thisSolution.name());
+    Class<?> solutionClass = SolutionLoader.forName("SPOJ." + thisSolution.name());
     Method solutionMain = solutionClass.getMethod("main");
 
     // Call the solution and time it.
@@ -46,44 +44,35 @@ public class SPOJPlatformHandler implements PlatformHandler {
   }
 
   @Override
-  public long[] benchmarkSolution(SolutionSpecifier thisSolution, int iterations) throws ClassNotFoundException, NoSuchMethodException, InvocationTargetException, IllegalAccessException, IOException {
-    loadInput(thisSolution);
-
+  public SolutionInvoker newInvoker(SolutionSpecifier thisSolution) throws ClassNotFoundException, NoSuchMethodException {
     // Do some reflection voodoo to be able to call the solution's main method
-    Class<?> solutionClass = Class.forName("SPOJ." + thisSolution.name());
+    Class<?> solutionClass = SolutionLoader.forName("SPOJ." + thisSolution.name());
     Method solutionMain = solutionClass.getMethod("main");
+    solutionMain.setAccessible(true);
+    return invokerFor(solutionMain);
+  }
 
-    // Do not use the JVM argument --add-opens when running benchmarks. It is a legacy argument meant to maintain
-    // backwards compatibility with old code and is completely irrelevant to programming puzzle solutions.
-    solutionMain.setAccessible(true); // Make reflection-based method calling faster (won't work with --add-opens JVM arg)
-
-    PrintStream originalOut = System.out; // We're going to be enabling and disabling console output in the near future.
-    PrintStream originalErr = System.err;
-
-    long[] execTimes = new long[iterations];
-    for(int i = 0; i < iterations; i++) { // Run the solution `iterations` times and record execution time of each iteration
-      passStdInput(); // Refresh stdin
+  @Override
+  public SolutionInvoker newBaselineInvoker(SolutionSpecifier thisSolution) throws ClassNotFoundException, NoSuchMethodException {
+    return invokerFor(EmptySolution.matching(SolutionLoader.forName("SPOJ." + thisSolution.name()).getMethod("main")));
+  }
 
-      // Disable console output to increase performance and ignore non-algorithmic runtime
-      System.setOut(new PrintStream(OutputStream.nullOutputStream()));
-      System.setErr(new PrintStream(OutputStream.nullOutputStream()));
+  // Calls `solutionMain` with its own copy of the cached input on stdin
+  private SolutionInvoker invokerFor(Method solutionMain) {
+    byte[] input = cachedInput;
+    return new SolutionInvoker() {
+      private final ByteArrayInputStream stdin = new ByteArrayInputStream(input); // This invoker's own copy of stdin
 
-      try {
-        long tickStart = System.nanoTime(); // Begin timing
-        solutionMain.invoke(null);
-        execTimes[i] = System.nanoTime() - tickStart; // End timing
-      } finally {
-        System.setOut(originalOut); // Restore console printing functionality for stats printing of this run
-        System.setErr(originalErr);
+      @Override
+      public void refreshInput() {
+        stdin.reset(); // Rewind to the start; nothing is allocated
       }
 
-      // Print the amount of time this iteration took to execute in both milliseconds and microseconds, as both may be useful.
-      // The format string left-aligns the iteration number integer, then pads it to the max number of digits any iteration # will have.
-      System.out.printf("Iteration " +
-          String.format("%-" + Integer.toString(iterations).length() + "d", i + 1) + // Iteration #
-          ": %.3f ms / %.1f µs\n", UnitConverter.ns_ms(execTimes[i]), UnitConverter.ns_us(execTimes[i])); // Times
-    }
-
-    return execTimes; // Return array of all execution times
+      @Override
+      public void invoke() throws InvocationTargetException, IllegalAccessException {
+        StdIOMultiplexer.setIn(stdin); // Only rebinds stdin of the calling thread
+        solutionMain.invoke(null, NO_ARGUMENTS);
+      }
+    };
   }
 }
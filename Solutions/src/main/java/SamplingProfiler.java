@@ -0,0 +1,152 @@
+/*** SamplingProfiler.java ****************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    A lightweight sampling profiler. While a benchmark runs, a *
+ *                 background thread periodically grabs the stack of the      *
+ *                 thread running the solution, counts which of the           *
+ *                 solution's methods are on it, and writes the stacks in the *
+ *                 collapsed format that flame graph tools read.              *
+\******************************************************************************/
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.LockSupport;
+
+public class SamplingProfiler {
+  private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+  private final long targetId;
+  private final String packagePrefix;
+  private final long intervalNs;
+
+  // Collapsed stack ("outermost;...;innermost") -> samples. Only touched by the sampling thread until stop() returns.
+  private final Map<String, Long> stacks = new HashMap<>();
+  // Solution method ("Class.method") -> samples where it was the innermost solution frame, and where it was anywhere
+  private final Map<String, Long> selfSamples = new HashMap<>();
+  private final Map<String, Long> totalSamples = new HashMap<>();
+  private long solutionSamples; // Samples that caught the solution running
+  private long allSamples;
+  private long samplingNs; // Time spent taking samples, i.e. the profiler's own cost
+
+  private Thread sampler;
+  private volatile boolean running;
+
+  // One row of the hot method table
+  public record HotMethod(String method, long self, long total) { }
+
+  /* Samples `target` `hz` times per second once started. Only stacks that contain a frame from the solution's
+     platform package (e.g. "Codeforces") count; the rest of the time the thread is in SolveKit itself. */
+  public SamplingProfiler(Thread target, String platform, int hz) {
+    this.targetId = target.threadId();
+    this.packagePrefix = platform + ".";
+    this.intervalNs = 1_000_000_000L / hz;
+  }
+
+  public void start() {
+    running = true;
+    sampler = Thread.ofPlatform().daemon().name("solvekit-profiler").start(() -> {
+      long next = System.nanoTime();
+      while(running) {
+        long start = System.nanoTime();
+        sample();
+        samplingNs += System.nanoTime() - start;
+
+        next += intervalNs;
+        long wait = next - System.nanoTime();
+        if(wait > 0) {
+          LockSupport.parkNanos(wait);
+        } else { // Sampling can't keep up with the rate; don't try to catch up
+          next = System.nanoTime();
+        }
+      }
+    });
+  }
+
+  // Stops sampling and waits for the sampling thread, after which the results can be read.
+  public void stop() throws InterruptedException {
+    running = false;
+    sampler.join();
+  }
+
+  private void sample() {
+    ThreadInfo info = threads.getThreadInfo(targetId, Integer.MAX_VALUE);
+    if(info == null) { // The thread has ended
+      running = false;
+      return;
+    }
+    allSamples++;
+
+    // Stack traces go from innermost to outermost. Keep everything from the outermost solution frame inwards, so calls
+    // from the solution into the JDK show up too.
+    StackTraceElement[] frames = info.getStackTrace();
+    int outermost = -1;
+    int innermost = -1;
+    for(int i = 0; i < frames.length; i++) {
+      if(frames[i].getClassName().startsWith(packagePrefix)) {
+        outermost = i;
+        if(innermost == -1) {
+          innermost = i;
+        }
+      }
+    }
+    if(outermost == -1) { // Not in the solution right now
+      return;
+    }
+    solutionSamples++;
+
+    StringBuilder stack = new StringBuilder();
+    Set<String> seen = new HashSet<>(); // Recursive methods count once per sample towards their total
+    for(int i = outermost; i >= 0; i--) {
+      String method = frames[i].getClassName() + "." + frames[i].getMethodName();
+      if(i != outermost) {
+        stack.append(';');
+      }
+      stack.append(method);
+      if(frames[i].getClassName().startsWith(packagePrefix) && seen.add(method)) {
+        totalSamples.merge(method, 1L, Long::sum);
+      }
+    }
+    stacks.merge(stack.toString(), 1L, Long::sum);
+    selfSamples.merge(frames[innermost].getClassName() + "." + frames[innermost].getMethodName(), 1L, Long::sum);
+  }
+
+  public long solutionSamples() {
+    return solutionSamples;
+  }
+
+  public long allSamples() {
+    return allSamples;
+  }
+
+  // Average time one sample took, in ns. The solution's thread is paused for about that long each time.
+  public long nsPerSample() {
+    return allSamples == 0 ? 0 : samplingNs / allSamples;
+  }
+
+  // The `n` solution methods with the most self samples, most first.
+  public List<HotMethod> hottest(int n) {
+    List<HotMethod> methods = new ArrayList<>();
+    for(Map.Entry<String, Long> entry : totalSamples.entrySet()) {
+      methods.add(new HotMethod(entry.getKey(), selfSamples.getOrDefault(entry.getKey(), 0L), entry.getValue()));
+    }
+    methods.sort((a, b) -> a.self() != b.self() ? Long.compare(b.self(), a.self()) : Long.compare(b.total(), a.total()));
+    return methods.subList(0, Math.min(n, methods.size()));
+  }
+
+  // Writes one "frame;frame;frame count" line per distinct stack, the input format of flamegraph.pl, speedscope and
+  // most other flame graph tools.
+  public void writeCollapsed(Path file) throws IOException {
+    StringBuilder text = new StringBuilder();
+    stacks.forEach((stack, count) -> text.append(stack).append(' ').append(count).append('\n'));
+    Files.writeString(file, text);
+  }
+}
@@ -0,0 +1,95 @@
+/*** ScalingRunner.java *******************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    Benchmarks a solution that uses parallel streams or the    *
+ *                 common ForkJoinPool at parallelism 1, 2, 4 ... N, each in  *
+ *                 its own JVM, and reports speedup, efficiency and an        *
+ *                 Amdahl's law estimate of its serial fraction.              *
+\******************************************************************************/
+
+import java.io.IOException;
+import java.util.List;
+
+public class ScalingRunner {
+  // Measurements for one parallelism level
+  public record Level(int parallelism, Statistics last80p) { }
+
+  /* Benchmarks the solution once per parallelism level in a child JVM whose common pool has that parallelism and
+     which believes it has that many CPUs. If every level can be pinned to that many real CPUs with taskset, it is,
+     so level 1 behaves like a judge that gives you one core. */
+  public static Level[] measure(String solutionArg, List<String> mainOptions, int[] parallelismLevels) throws IOException {
+    boolean pinned = !ForkedBenchmark.pinningPrefix(parallelismLevels[parallelismLevels.length - 1]).isEmpty();
+    if(!pinned) {
+      System.out.println("Note: Can't pin child JVMs to CPUs (taskset needs Linux and enough CPUs), so every level can " +
+          "use every core; only the pool size differs.");
+    }
+
+    Level[] levels = new Level[parallelismLevels.length];
+    for(int i = 0; i < parallelismLevels.length; i++) {
+      int p = parallelismLevels[i];
+      System.out.printf("[%d/%d] Benchmarking at parallelism %d...\n", i + 1, parallelismLevels.length, p);
+      long[] runtimes = ForkedBenchmark.run(solutionArg, mainOptions,
+          List.of("-XX:ActiveProcessorCount=" + p, "-Djava.util.concurrent.ForkJoinPool.common.parallelism=" + p),
+          pinned ? ForkedBenchmark.pinningPrefix(p) : List.of());
+      levels[i] = new Level(p, new Statistics(Statistics.last80Percent(runtimes)));
+    }
+    return levels;
+  }
+
+  /* Fits Amdahl's law, T(p) = T(1) * (f + (1 - f)/p), to the medians by least squares and returns the serial fraction
+     f. Rewritten as T(p)/T(1) - 1/p = f * (1 - 1/p), that's a line through the origin. Returns NaN with only one
+     level. */
+  public static double serialFraction(Level[] levels) {
+    double t1 = levels[0].last80p().getMedian();
+    double xy = 0, xx = 0;
+    for(Level level : levels) {
+      double x = 1 - 1.0 / level.parallelism();
+      double y = level.last80p().getMedian() / t1 - 1.0 / level.parallelism();
+      xy += x * y;
+      xx += x * x;
+    }
+    return xx == 0 ? Double.NaN : Math.clamp(xy / xx, 0.0, 1.0);
+  }
+
+  /* Prints a table like this, then the Amdahl estimate:
+    +-------------+------------------------------+----------+------------+------------+
+    | Parallelism | Median (last 80%), ms / µs   | Speedup  | Efficiency | Karp-Flatt |
+    |-------------+------------------------------+----------+------------+------------|
+    | XXXXXXXXXXX | XXXXXXX.XXX ms / XXXXXXXXX.X | XXXX.XXx | XXXXX.X %  | X.XXX      |
+    +-------------+------------------------------+----------+------------+------------+
+     Speedup is relative to parallelism 1. The Karp-Flatt metric is the serial fraction implied by that one level's
+     speedup; if it grows with the parallelism, overhead (not serial code) is what limits scaling. */
+  public static void showResults(Level[] levels) {
+    double t1 = levels[0].last80p().getMedian();
+
+    System.out.println("+-------------+------------------------------+----------+------------+------------+");
+    System.out.println("| Parallelism | Median (last 80%), ms / µs   | Speedup  | Efficiency | Karp-Flatt |");
+    System.out.println("|-------------+------------------------------+----------+------------+------------|");
+    for(Level level : levels) {
+      int p = level.parallelism();
+      long median = level.last80p().getMedian();
+      double speedup = t1 / Math.max(median, 1);
+      String karpFlatt = p == 1 ? "-" : String.format("%.3f", (1 / speedup - 1.0 / p) / (1 - 1.0 / p));
+      System.out.printf("| %-11d | %-11.3f ms / %-11.1f | %-8s | %-10s | %-10s |\n", p, UnitConverter.ns_ms(median),
+          UnitConverter.ns_us(median), String.format("%.2fx", speedup), String.format("%.1f %%", speedup / p * 100),
+          karpFlatt);
+    }
+    System.out.println("+-------------+------------------------------+----------+------------+------------+");
+
+    double f = serialFraction(levels);
+    if(!Double.isNaN(f)) {
+      System.out.printf("Amdahl's law fit: serial fraction %.3f, so no number of cores can make it more than %s " +
+          "faster than at parallelism 1.\n", f, f == 0 ? "∞x" : String.format("%.1fx", 1 / f));
+    }
+    Level best = levels[0];
+    for(Level level : levels) {
+      if(level.last80p().getMedian() < best.last80p().getMedian()) {
+        best = level;
+      }
+    }
+    System.out.printf("On one core, like most judges give you, it takes %.3f ms. The best here was %.3f ms at " +
+        "parallelism %d. Compare the one-core time with a sequential version of the solution to decide whether the " +
+        "parallel one is worth submitting.\n", UnitConverter.ns_ms(levels[0].last80p().getMedian()),
+        UnitConverter.ns_ms(best.last80p().getMedian()), best.parallelism());
+  }
+}
@@ -0,0 +1,24 @@
+/*** SolutionInvoker.java *****************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    Defines an object that calls a solution once on the        *
+ *                 calling thread with a fresh copy of its input. Platform    *
+ *                 handlers create these so that modes other than running and *
+ *                 benchmarking can call solutions from any thread.           *
+\******************************************************************************/
+
+import java.lang.reflect.InvocationTargetException;
+
+public interface SolutionInvoker {
+  // Pass this to Method.invoke() for solutions without parameters. Writing invoke(null) makes javac allocate an empty
+  // array on every call.
+  Object[] NO_ARGUMENTS = new Object[0];
+
+  // Gives the next call to invoke() a fresh copy of the solution's input, e.g. by rewinding stdin. Isn't meant to be
+  // timed.
+  void refreshInput();
+
+  // Calls the solution once on the calling thread. Only uses this invoker's own copy of the input, so several invokers
+  // can be refreshed up front and then called one after another, like BatchedBenchmark does.
+  void invoke() throws InvocationTargetException, IllegalAccessException;
+}
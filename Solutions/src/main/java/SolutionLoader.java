@@ -0,0 +1,116 @@
+/*** SolutionLoader.java ******************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    Decides which class loader solution classes come from.     *
+ *                 Normally that's the one SolveKit itself was loaded by; in  *
+ *                 watch mode it's a fresh loader holding the solution's      *
+ *                 latest compiled version, or an instrumented copy of it.    *
+\******************************************************************************/
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.instrument.ClassFileTransformer;
+import java.lang.instrument.IllegalClassFormatException;
+import java.util.Map;
+import java.util.Set;
+
+public final class SolutionLoader {
+  private SolutionLoader() { }
+
+  private static volatile ClassLoader current = SolutionLoader.class.getClassLoader();
+
+  // Loads a solution class like "Codeforces.p1A" (or one of its nested classes). Handlers use this instead of
+  // Class.forName so that watch mode can swap in freshly compiled versions.
+  public static Class<?> forName(String name) throws ClassNotFoundException {
+    return Class.forName(name, true, current);
+  }
+
+  // The loader solutions currently come from, so a caller that swaps in another one can put it back.
+  public static ClassLoader current() {
+    return current;
+  }
+
+  // Loads solutions from `loader` from now on.
+  public static void use(ClassLoader loader) {
+    current = loader;
+  }
+
+  /* A loader for one compiled version of a solution. It defines every class of the solution's platform package itself:
+     the freshly compiled ones from `compiled`, the rest from the class files SolveKit was started with. Defining the
+     whole package in one loader keeps package-private access between a solution and its neighbours working, since the
+     JVM only treats classes as being in the same package if they share a loader. Everything else (SolveKit, apfloat,
+     the JDK) is shared with the parent, and so are the classes SolveKit builds arguments from (SHARED), since a
+     ListNode SolveKit made has to be the same ListNode the solution expects. If there's a `transformer`, every class
+     the loader defines goes through it first. */
+  public static final class Fresh extends ClassLoader {
+    private static final Set<String> SHARED = Set.of("LeetCode.ListNode", "LeetCode.TreeNode");
+
+    private final String packagePrefix;
+    private final Map<String, byte[]> compiled;
+    private final ClassFileTransformer transformer;
+
+    public Fresh(String platform, Map<String, byte[]> compiled) {
+      this(platform, compiled, null);
+    }
+
+    public Fresh(String platform, Map<String, byte[]> compiled, ClassFileTransformer transformer) {
+      super("solution-" + platform, SolutionLoader.class.getClassLoader());
+      this.packagePrefix = platform + ".";
+      this.compiled = compiled;
+      this.transformer = transformer;
+    }
+
+    @Override
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+      if(!name.startsWith(packagePrefix) || SHARED.contains(name)) {
+        return super.loadClass(name, resolve);
+      }
+
+      synchronized(getClassLoadingLock(name)) {
+        Class<?> loaded = findLoadedClass(name);
+        if(loaded == null) {
+          byte[] bytes = compiled.get(name);
+          if(bytes == null) { // Not part of the recompiled file; take the class file the parent would have used
+            try(InputStream in = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+              if(in == null) {
+                throw new ClassNotFoundException(name);
+              }
+              bytes = in.readAllBytes();
+            } catch(IOException e) {
+              throw new ClassNotFoundException(name, e);
+            }
+          }
+          if(transformer != null) {
+            try {
+              byte[] transformed = transformer.transform(this, name.replace('.', '/'), null, null, bytes);
+              if(transformed != null) { // null means "leave it as it is"
+                bytes = transformed;
+              }
+            } catch(IllegalClassFormatException e) {
+              throw new ClassNotFoundException(name, e);
+            }
+          }
+          loaded = defineClass(name, bytes, 0, bytes.length);
+        }
+        if(resolve) {
+          resolveClass(loaded);
+        }
+        return loaded;
+      }
+    }
+
+    // Class files of the recompiled classes come from `compiled`, so whoever hashes or reads a solution's bytecode
+    // through its loader (ResultCache, for one) sees this version and not the stale one on disk.
+    @Override
+    public InputStream getResourceAsStream(String name) {
+      if(name.endsWith(".class")) {
+        byte[] bytes = compiled.get(name.substring(0, name.length() - ".class".length()).replace('/', '.'));
+        if(bytes != null) {
+          return new ByteArrayInputStream(bytes);
+        }
+      }
+      return super.getResourceAsStream(name);
+    }
+  }
+}
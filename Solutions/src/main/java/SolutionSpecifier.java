@@ -2,7 +2,17 @@
  * Author:         twisted_nematic57                                          *
  * Date Created:   2025-12-23                                                 *
  * Description:    Defines a record that contains the name of a solution and  *
- *                 what test # we're going to run it on.                      *
+ *                 what test we're going to run it on.                        *
 \******************************************************************************/
 
-public record SolutionSpecifier(String name, int test) { }
+public record SolutionSpecifier(String name, String test) {
+  // LeetCode solutions choose their input with a switch on the test #, so they need it as an int.
+  public int testNumber() {
+    try {
+      return Integer.parseInt(test);
+    } catch(NumberFormatException e) {
+      throw new IllegalSpecifierException("Test \"" + test + "\" isn't a number, but this platform only supports " +
+          "numbered tests.");
+    }
+  }
+}
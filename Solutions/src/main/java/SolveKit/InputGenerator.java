@@ -0,0 +1,32 @@
+/*** InputGenerator.java ******************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    Implemented by random input generators for stress testing. *
+ *                 A generator writes one test input, chosen by a seeded      *
+ *                 random number generator, in exactly the format the         *
+ *                 solution reads from stdin.                                 *
+\******************************************************************************/
+
+package SolveKit;
+
+import java.util.SplittableRandom;
+
+/* Put an implementation in the solution's platform package, e.g.
+
+     package Codeforces;
+     public class p1A_gen implements SolveKit.InputGenerator {
+       public void generate(SplittableRandom random, StringBuilder out) {
+         int n = random.nextInt(1, 11);
+         out.append(n).append('\n');
+         for(int i = 0; i < n; i++) {
+           out.append(random.nextInt(1, 101)).append(i + 1 < n ? ' ' : '\n');
+         }
+       }
+     }
+
+   The same seed must always give the same input, so only use `random` for randomness. Generators are created once per
+   thread and need a public no-argument constructor. */
+public interface InputGenerator {
+  // Appends one complete input to `out`.
+  void generate(SplittableRandom random, StringBuilder out);
+}
@@ -0,0 +1,30 @@
+/*** InputGrammar.java ********************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    Implemented by a problem's input description: its grammar  *
+ *                 (what comes in which order) and constraints (how big each  *
+ *                 part may be). SolveKit runs it to write random and worst-  *
+ *                 case test inputs of any size, and to feed the stress       *
+ *                 tester.                                                    *
+\******************************************************************************/
+
+package SolveKit;
+
+/* Put an implementation in the solution's platform package, with a public no-argument constructor. For a problem that
+   reads n (1 <= n <= 2*10^5), then n values in [1, 10^9], then a tree on n vertices:
+
+     package Codeforces;
+     public class p1A_input implements SolveKit.InputGrammar {
+       public void write(InputWriter in) {
+         int n = in.size(1, 200_000);
+         in.print(n).newline();
+         in.values(n, 1, 1_000_000_000);
+         in.tree(n);
+       }
+     }
+
+   Then "Codeforces.p1A-maxB20 --generate=p1A_input --mode=max" writes test "max" at the limits and benchmarks it. Take
+   all randomness from the InputWriter so the same seed always gives the same input. */
+public interface InputGrammar {
+  void write(InputWriter in);
+}
@@ -0,0 +1,215 @@
+/*** InputWriter.java *********************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    Writes generated test inputs: fast ASCII output of numbers *
+ *                 and strings, plus building blocks for common input shapes  *
+ *                 (arrays, permutations, strings, trees, graphs) that        *
+ *                 respect a problem's constraints. In MAX mode every size is *
+ *                 at its upper limit, for worst-case inputs.                 *
+\******************************************************************************/
+
+package SolveKit;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+public final class InputWriter {
+  // RANDOM picks every size and value at random within its constraints. MAX picks every size at its upper limit (and
+  // shapes that are hard on solutions, like a path for a tree), with values still random, which is what usually
+  // decides whether a solution fits the time limit.
+  public enum Mode { RANDOM, MAX }
+
+  private final OutputStream out;
+  private final SplittableRandom random;
+  private final Mode mode;
+  private final byte[] buffer = new byte[1 << 16];
+  private int position;
+
+  public InputWriter(OutputStream out, long seed, Mode mode) {
+    this.out = out;
+    this.random = new SplittableRandom(seed);
+    this.mode = mode;
+  }
+
+  public Mode mode() {
+    return mode;
+  }
+
+  // For anything the methods below don't cover. Use only this for randomness, so the same seed gives the same input.
+  public SplittableRandom random() {
+    return random;
+  }
+
+  // ---- Choosing sizes and values ------------------------------------------------------------------------------------
+
+  // A size (n, m, q, length, ...) in [min, max]: max in MAX mode, random otherwise.
+  public int size(int min, int max) {
+    checkRange(min, max);
+    if(min < 0) {
+      throw new IllegalArgumentException("Sizes can't be negative");
+    }
+    if(mode == Mode.MAX) {
+      return max;
+    }
+    return max == Integer.MAX_VALUE ? random.nextInt(min - 1, max) + 1 : random.nextInt(min, max + 1); // Inclusive
+  }
+
+  // A random value in [min, max], in every mode.
+  public long value(long min, long max) {
+    checkRange(min, max);
+    if(max == Long.MAX_VALUE) { // max + 1 would overflow, so shift the range down by one instead
+      return min == Long.MIN_VALUE ? random.nextLong() : random.nextLong(min - 1, max) + 1;
+    }
+    return random.nextLong(min, max + 1);
+  }
+
+  // ---- Writing ------------------------------------------------------------------------------------------------------
+
+  public InputWriter print(long x) {
+    if(buffer.length - position < 20) {
+      flushBuffer();
+    }
+    if(x == Long.MIN_VALUE) {
+      return print("-9223372036854775808");
+    }
+    if(x < 0) {
+      buffer[position++] = '-';
+      x = -x;
+    }
+    int start = position;
+    do { // Digits come out backwards; reverse them below
+      buffer[position++] = (byte)('0' + x % 10);
+      x /= 10;
+    } while(x > 0);
+    for(int i = start, j = position - 1; i < j; i++, j--) {
+      byte t = buffer[i];
+      buffer[i] = buffer[j];
+      buffer[j] = t;
+    }
+    return this;
+  }
+
+  // ASCII only, like judge inputs.
+  public InputWriter print(String s) {
+    for(int i = 0; i < s.length(); i++) {
+      print(s.charAt(i));
+    }
+    return this;
+  }
+
+  public InputWriter print(char c) {
+    if(position == buffer.length) {
+      flushBuffer();
+    }
+    buffer[position++] = (byte)c;
+    return this;
+  }
+
+  public InputWriter space() {
+    return print(' ');
+  }
+
+  public InputWriter newline() {
+    return print('\n');
+  }
+
+  // ---- Common input shapes (each ends with a newline) ---------------------------------------------------------------
+
+  // `count` random values in [min, max] on one line.
+  public InputWriter values(int count, long min, long max) {
+    for(int i = 0; i < count; i++) {
+      if(i > 0) {
+        space();
+      }
+      print(value(min, max));
+    }
+    return newline();
+  }
+
+  // A random permutation of 1..n on one line.
+  public InputWriter permutation(int n) {
+    int[] p = shuffled(n);
+    for(int i = 0; i < n; i++) {
+      if(i > 0) {
+        space();
+      }
+      print(p[i]);
+    }
+    return newline();
+  }
+
+  // A random string of `length` characters from `alphabet`, e.g. "abcdefghijklmnopqrstuvwxyz".
+  public InputWriter string(int length, String alphabet) {
+    for(int i = 0; i < length; i++) {
+      print(alphabet.charAt(random.nextInt(alphabet.length())));
+    }
+    return newline();
+  }
+
+  /* The n - 1 edges "u v" of a tree on vertices 1..n, one per line, with vertices labelled at random. In RANDOM mode
+     every vertex hangs off a random earlier one; in MAX mode the tree is a path, the deepest possible tree, which
+     breaks recursive DFS on the default stack. */
+  public InputWriter tree(int n) {
+    int[] label = shuffled(n);
+    for(int i = 1; i < n; i++) {
+      int parent = mode == Mode.MAX ? i - 1 : random.nextInt(i);
+      print(label[parent]).space().print(label[i]).newline();
+    }
+    return this;
+  }
+
+  // `m` distinct random edges "u v" of a simple undirected graph on vertices 1..n (no loops, no parallel edges), one per
+  // line. Needs m <= n(n-1)/2.
+  public InputWriter graph(int n, int m) {
+    if(m > (long)n * (n - 1) / 2) {
+      throw new IllegalArgumentException("A simple graph on " + n + " vertices has at most " + (long)n * (n - 1) / 2 +
+          " edges, not " + m);
+    }
+    Set<Long> edges = new HashSet<>();
+    while(edges.size() < m) {
+      int u = random.nextInt(1, n + 1);
+      int v = random.nextInt(1, n + 1);
+      if(u != v && edges.add((long)Math.min(u, v) * (n + 1) + Math.max(u, v))) {
+        print(u).space().print(v).newline();
+      }
+    }
+    return this;
+  }
+
+  // Writes out everything buffered. Called by SolveKit when the generator is done.
+  public void flush() throws IOException {
+    out.write(buffer, 0, position);
+    position = 0;
+    out.flush();
+  }
+
+  // 1..n in random order (Fisher-Yates).
+  private int[] shuffled(int n) {
+    int[] p = new int[n];
+    for(int i = 0; i < n; i++) {
+      int j = random.nextInt(i + 1);
+      p[i] = p[j];
+      p[j] = i + 1;
+    }
+    return p;
+  }
+
+  private void flushBuffer() {
+    try {
+      out.write(buffer, 0, position);
+    } catch(IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    position = 0;
+  }
+
+  private static void checkRange(long min, long max) {
+    if(min > max) {
+      throw new IllegalArgumentException("Empty range [" + min + ", " + max + "]");
+    }
+  }
+}
@@ -0,0 +1,41 @@
+/*** Interactor.java **********************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    The judge's side of an interactive problem, written by the *
+ *                 user next to the solution. SolveKit runs it on its own     *
+ *                 thread and connects it to the solution through in-memory   *
+ *                 pipes.                                                     *
+\******************************************************************************/
+
+package SolveKit;
+
+import java.io.IOException;
+
+/* Usage: put a public class with a public no-argument constructor next to the solution, e.g. Codeforces.p1A_interactor,
+   and run "Codeforces.p1A-1 --interactor=p1A_interactor". For a guess-the-number problem:
+
+     public class p1A_interactor implements Interactor {
+       public void interact(String test, Judge judge) throws IOException {
+         long secret = Long.parseLong(test.trim());
+         judge.limitQueries(60);
+         judge.println(1_000_000_000);              // What the solution reads first
+         while(true) {
+           String query = judge.readToken();
+           long guess = judge.readLong();
+           if(query.equals("!")) {
+             if(guess != secret) {
+               throw judge.wrongAnswer("guessed " + guess + ", the number was " + secret);
+             }
+             return;                                // Returning normally accepts the solution
+           }
+           judge.countQuery();
+           judge.println(guess < secret ? "<" : guess > secret ? ">" : "=");
+         }
+       }
+     }
+
+   `test` is the content of the test file, which holds whatever the interactor needs (the hidden answer, for example).
+   The solution itself starts with nothing on standard input and only gets what the interactor prints. */
+public interface Interactor {
+  void interact(String test, Judge judge) throws IOException;
+}
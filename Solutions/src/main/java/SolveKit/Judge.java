@@ -0,0 +1,112 @@
+/*** Judge.java ***************************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    What an Interactor talks to the solution with: reads what  *
+ *                 the solution flushed, sends it lines, counts its queries   *
+ *                 against a limit and rejects it with a verdict.             *
+\******************************************************************************/
+
+package SolveKit;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.StringTokenizer;
+
+public final class Judge {
+  // Thrown to end the interaction with a verdict other than Accepted.
+  public static final class Rejection extends RuntimeException {
+    private final String verdict;
+
+    public Rejection(String verdict, String message) {
+      super(message);
+      this.verdict = verdict;
+    }
+
+    public String verdict() {
+      return verdict;
+    }
+  }
+
+  private final BufferedReader fromSolution;
+  private final PrintStream toSolution;
+  private StringTokenizer tokens = new StringTokenizer("");
+  private int queries;
+  private int queryLimit = Integer.MAX_VALUE;
+
+  // Created by SolveKit with the two ends of the pipes that lead to and from the solution.
+  public Judge(InputStream fromSolution, OutputStream toSolution) {
+    this.fromSolution = new BufferedReader(new InputStreamReader(fromSolution, StandardCharsets.UTF_8));
+    this.toSolution = new PrintStream(toSolution, false, StandardCharsets.UTF_8);
+  }
+
+  // The next line the solution printed, waiting until it's flushed. Ending its output early is a wrong answer.
+  public String readLine() throws IOException {
+    tokens = new StringTokenizer("");
+    String line = fromSolution.readLine();
+    if(line == null) {
+      throw wrongAnswer("The solution's output ended while the interactor was still reading.");
+    }
+    return line;
+  }
+
+  // The next whitespace-separated token, reading more lines as needed.
+  public String readToken() throws IOException {
+    while(!tokens.hasMoreTokens()) {
+      String line = fromSolution.readLine();
+      if(line == null) {
+        throw wrongAnswer("The solution's output ended while the interactor was still reading.");
+      }
+      tokens = new StringTokenizer(line);
+    }
+    return tokens.nextToken();
+  }
+
+  public long readLong() throws IOException {
+    String token = readToken();
+    try {
+      return Long.parseLong(token);
+    } catch(NumberFormatException e) {
+      throw wrongAnswer("Expected an integer, but the solution printed \"" + token + "\".");
+    }
+  }
+
+  public int readInt() throws IOException {
+    long value = readLong();
+    if(value != (int)value) {
+      throw wrongAnswer("Expected an int, but the solution printed " + value + ".");
+    }
+    return (int)value;
+  }
+
+  // Sends a line to the solution. It's flushed at once, since the solution is presumably waiting for it.
+  public void println(Object message) {
+    toSolution.println(message);
+    toSolution.flush();
+  }
+
+  // Counts one query of the solution, rejecting it once it makes more than the limit.
+  public void countQuery() {
+    queries++;
+    if(queries > queryLimit) {
+      throw new Rejection("Query limit exceeded", "The solution made more than " + queryLimit + " queries.");
+    }
+  }
+
+  public void limitQueries(int limit) {
+    queryLimit = limit;
+  }
+
+  public int queries() {
+    return queries;
+  }
+
+  // For `throw judge.wrongAnswer("...")`, so the compiler knows the interactor stops there.
+  public Rejection wrongAnswer(String message) {
+    return new Rejection("Wrong answer", message);
+  }
+}
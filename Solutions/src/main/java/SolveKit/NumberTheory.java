@@ -0,0 +1,241 @@
+/*** NumberTheory.java ********************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    Primitive, allocation-free number theory building blocks   *
+ *                 for Project Euler style problems: 128-bit multiplication   *
+ *                 helpers, Montgomery modular multiplication and             *
+ *                 exponentiation, and a deterministic Miller-Rabin primality *
+ *                 test for 64-bit numbers.                                   *
+\******************************************************************************/
+
+package SolveKit;
+
+public final class NumberTheory {
+  private NumberTheory() { }
+
+  /* Miller-Rabin bases that give correct answers for every n < 2^64 (Jim Sinclair, 2011). Unlike the first 12 primes,
+     7 bases are enough. */
+  private static final long[] MILLER_RABIN_BASES = {2, 325, 9375, 28178, 450775, 9780504, 1795265022};
+
+  private static final int[] SMALL_PRIMES = {2, 3, 5, 7, 11, 13, 17, 19, 23, 29, 31, 37, 41, 43, 47, 53, 59, 61};
+
+  // ---- 128-bit helpers ----------------------------------------------------------------------------------------------
+
+  // High 64 bits of the unsigned 128-bit product a*b. The low 64 bits are just a*b.
+  public static long mulHighUnsigned(long a, long b) {
+    return Math.unsignedMultiplyHigh(a, b);
+  }
+
+  // (hi * 2^64 + lo) mod m for 0 < m < 2^63, where hi and lo are unsigned. Long division by hand in base 2^32 (Knuth's
+  // algorithm D, as laid out in Hacker's Delight "divlu"), keeping only the remainder. For many multiplications by the
+  // same odd modulus the Montgomery methods below are still cheaper.
+  public static long remainder128(long hi, long lo, long m) {
+    hi = Long.remainderUnsigned(hi, m);
+    if(hi == 0) {
+      return Long.remainderUnsigned(lo, m);
+    }
+
+    // Normalize so the divisor's top bit is set; that keeps each estimated quotient digit at most 2 too large
+    int shift = Long.numberOfLeadingZeros(m); // >= 1 because m < 2^63
+    m <<= shift;
+    hi = (hi << shift) | (lo >>> (64 - shift));
+    lo <<= shift;
+    long mHigh = m >>> 32;
+    long mLow = m & 0xFFFFFFFFL;
+
+    long rem = remainderStep(hi, lo >>> 32, m, mHigh, mLow);
+    rem = remainderStep(rem, lo & 0xFFFFFFFFL, m, mHigh, mLow);
+    return rem >>> shift;
+  }
+
+  // One base-2^32 digit of remainder128: (top * 2^32 + digit) mod m for top < m, with m normalized.
+  private static long remainderStep(long top, long digit, long m, long mHigh, long mLow) {
+    long q = Long.divideUnsigned(top, mHigh);
+    long r = top - q * mHigh;
+    while(Long.compareUnsigned(q, 0xFFFFFFFFL) > 0 || Long.compareUnsigned(q * mLow, (r << 32) | digit) > 0) {
+      q--;
+      r += mHigh;
+      if(Long.compareUnsigned(r, 0xFFFFFFFFL) > 0) {
+        break;
+      }
+    }
+    return ((top << 32) | digit) - q * m; // The true value is < m, so wrapping arithmetic gives it exactly
+  }
+
+  // a*b mod m for a, b >= 0 and 0 < m < 2^63, without overflow.
+  public static long mulMod(long a, long b, long m) {
+    a %= m;
+    b %= m;
+    long hi = Math.unsignedMultiplyHigh(a, b);
+    long lo = a * b;
+    if(hi == 0 && lo >= 0) { // Product fits in a long
+      return lo % m;
+    }
+    return remainder128(hi, lo, m);
+  }
+
+  // ---- Montgomery arithmetic ----------------------------------------------------------------------------------------
+  /* Montgomery form of x is x*R mod m with R = 2^64. Multiplying two numbers in Montgomery form only needs
+     multiplications and a subtraction instead of a division. Every method here needs an odd modulus 0 < m < 2^63 and
+     works on plain longs, so nothing is allocated. Typical use:
+       long inv = montgomeryInverse(m), r2 = montgomeryR2(m);
+       long x = toMontgomery(a, m, inv, r2);
+       x = montgomeryMultiply(x, x, m, inv);          // x = a^2, still in Montgomery form
+       long result = fromMontgomery(x, m, inv);       // a^2 mod m */
+
+  // m^-1 mod 2^64, by Newton's iteration. Each step doubles the number of correct low bits (odd m starts with 3).
+  public static long montgomeryInverse(long m) {
+    long inv = m;
+    for(int i = 0; i < 5; i++) {
+      inv *= 2 - m * inv;
+    }
+    return inv;
+  }
+
+  // R^2 mod m, needed to convert into Montgomery form.
+  public static long montgomeryR2(long m) {
+    long r = Long.remainderUnsigned(-m, m); // 2^64 mod m
+    for(int i = 0; i < 64; i++) { // Double it 64 more times
+      r <<= 1;
+      if(r >= m || r < 0) {
+        r -= m;
+      }
+    }
+    return r;
+  }
+
+  // (hi * 2^64 + lo) * R^-1 mod m, for hi < m.
+  public static long montgomeryReduce(long hi, long lo, long m, long mInv) {
+    long q = lo * mInv; // Chosen so that q*m has the same low 64 bits as lo
+    long t = hi - Math.unsignedMultiplyHigh(q, m);
+    return t < 0 ? t + m : t;
+  }
+
+  // a*b*R^-1 mod m: the product of two numbers in Montgomery form, in Montgomery form.
+  public static long montgomeryMultiply(long a, long b, long m, long mInv) {
+    return montgomeryReduce(Math.unsignedMultiplyHigh(a, b), a * b, m, mInv);
+  }
+
+  // Converts 0 <= a < m into Montgomery form.
+  public static long toMontgomery(long a, long m, long mInv, long r2) {
+    return montgomeryMultiply(a, r2, m, mInv);
+  }
+
+  // Converts out of Montgomery form.
+  public static long fromMontgomery(long a, long m, long mInv) {
+    return montgomeryReduce(0, a, m, mInv);
+  }
+
+  // ---- Modular exponentiation and primality -------------------------------------------------------------------------
+
+  // base^exp mod m for exp >= 0 and 0 < m < 2^63. Uses Montgomery multiplication when m is odd.
+  public static long modPow(long base, long exp, long m) {
+    if(m == 1) {
+      return 0;
+    }
+    base %= m;
+    if(base < 0) {
+      base += m;
+    }
+
+    if((m & 1) == 0) { // Montgomery needs an odd modulus
+      long result = 1;
+      while(exp > 0) {
+        if((exp & 1) == 1) {
+          result = mulMod(result, base, m);
+        }
+        base = mulMod(base, base, m);
+        exp >>= 1;
+      }
+      return result;
+    }
+
+    long mInv = montgomeryInverse(m);
+    long r2 = montgomeryR2(m);
+    return fromMontgomery(montgomeryPow(toMontgomery(base, m, mInv, r2), exp, m, mInv, r2), m, mInv);
+  }
+
+  // base^exp with base and result in Montgomery form.
+  private static long montgomeryPow(long base, long exp, long m, long mInv, long r2) {
+    long result = toMontgomery(1, m, mInv, r2);
+    while(exp > 0) {
+      if((exp & 1) == 1) {
+        result = montgomeryMultiply(result, base, m, mInv);
+      }
+      base = montgomeryMultiply(base, base, m, mInv);
+      exp >>= 1;
+    }
+    return result;
+  }
+
+  // Deterministic primality test for every non-negative long: trial division by small primes, then Miller-Rabin.
+  public static boolean isPrime(long n) {
+    if(n < 2) {
+      return false;
+    }
+    for(int p : SMALL_PRIMES) {
+      if(n % p == 0) {
+        return n == p;
+      }
+    }
+    if(n < 67 * 67) { // No prime factor below 67, so no factor at all
+      return true;
+    }
+
+    long d = n - 1; // n - 1 = d * 2^s with d odd
+    int s = Long.numberOfTrailingZeros(d);
+    d >>= s;
+
+    long mInv = montgomeryInverse(n);
+    long r2 = montgomeryR2(n);
+    long one = toMontgomery(1, n, mInv, r2);
+    long minusOne = n - one; // Montgomery form of n - 1
+
+    for(long a : MILLER_RABIN_BASES) {
+      a %= n;
+      if(a == 0) {
+        continue;
+      }
+
+      long x = montgomeryPow(toMontgomery(a, n, mInv, r2), d, n, mInv, r2);
+      if(x == one || x == minusOne) {
+        continue;
+      }
+
+      boolean witness = true; // a proves n composite unless squaring reaches -1
+      for(int i = 1; i < s && witness; i++) {
+        x = montgomeryMultiply(x, x, n, mInv);
+        witness = x != minusOne;
+      }
+      if(witness) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // Greatest common divisor of a and b (binary GCD). gcd(0, 0) = 0.
+  public static long gcd(long a, long b) {
+    a = Math.abs(a);
+    b = Math.abs(b);
+    if(a == 0) {
+      return b;
+    }
+    if(b == 0) {
+      return a;
+    }
+
+    int shift = Long.numberOfTrailingZeros(a | b);
+    a >>= Long.numberOfTrailingZeros(a);
+    while(b != 0) {
+      b >>= Long.numberOfTrailingZeros(b);
+      if(a > b) {
+        long t = a;
+        a = b;
+        b = t;
+      }
+      b -= a;
+    }
+    return a << shift;
+  }
+}
@@ -0,0 +1,57 @@
+/*** OperationCounts.java *****************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    The counters that solution classes instrumented by         *
+ *                 SolveKit's OperationCounter call into: method invocations, *
+ *                 loop back-edges, array accesses and allocations. Unlike    *
+ *                 runtimes, these counts are the same on every machine.      *
+\******************************************************************************/
+
+package SolveKit;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/* Solutions don't call these methods themselves. When benchmarking with --count-ops, SolveKit loads an extra copy of the
+   solution whose bytecode calls them before every counted instruction, runs it once, and reports the totals. */
+public final class OperationCounts {
+  private OperationCounts() { }
+
+  public record Counts(long invocations, long backEdges, long arrayAccesses, long allocations) { }
+
+  // Adders instead of plain longs so that solutions using several threads still get exact counts
+  private static final LongAdder invocations = new LongAdder();
+  private static final LongAdder backEdges = new LongAdder();
+  private static final LongAdder arrayAccesses = new LongAdder();
+  private static final LongAdder allocations = new LongAdder();
+
+  // A method or constructor call, including calls into the JDK
+  public static void invocation() {
+    invocations.increment();
+  }
+
+  // A jump backwards, i.e. one more trip around a loop
+  public static void backEdge() {
+    backEdges.increment();
+  }
+
+  // Reading or writing one array element
+  public static void arrayAccess() {
+    arrayAccesses.increment();
+  }
+
+  // Creating an object or array with new
+  public static void allocation() {
+    allocations.increment();
+  }
+
+  public static void reset() {
+    invocations.reset();
+    backEdges.reset();
+    arrayAccesses.reset();
+    allocations.reset();
+  }
+
+  public static Counts snapshot() {
+    return new Counts(invocations.sum(), backEdges.sum(), arrayAccesses.sum(), allocations.sum());
+  }
+}
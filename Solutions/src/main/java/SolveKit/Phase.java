@@ -0,0 +1,107 @@
+/*** Phase.java ***************************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    Lets a solution time its own phases (parsing, building,    *
+ *                 answering queries, ...). While SolveKit benchmarks the     *
+ *                 solution, begin/end pairs are recorded in a preallocated   *
+ *                 per-thread ring buffer and summarized under the benchmark  *
+ *                 results; otherwise the calls do nothing.                   *
+\******************************************************************************/
+
+package SolveKit;
+
+/* Usage, inside a solution:
+
+     import SolveKit.Phase;
+     ...
+     Phase.begin("parse");
+     int[] a = readInput();
+     Phase.end();
+     Phase.begin("solve");
+     ...
+     Phase.end();
+
+   Phases may nest; each one's time includes the phases inside it. Phase names should be string literals, since they
+   are compared by identity. Judges don't have SolveKit, so the calls have to go before submitting: keep every call on a
+   line of its own, and the "--strip" option of SolveKit prints the solution without them. */
+public final class Phase {
+  private Phase() { }
+
+  // Only true while SolveKit's benchmark loop runs, so plain runs don't pay for more than this check
+  private static volatile boolean enabled;
+
+  private static final int RING_CAPACITY = 1 << 16; // Completed phases kept per thread; older ones are overwritten
+  private static final int MAX_DEPTH = 64;
+
+  private static final ThreadLocal<Recorder> recorders = ThreadLocal.withInitial(Recorder::new);
+
+  // Everything one thread records. All arrays are allocated once, so recording never allocates.
+  private static final class Recorder {
+    final String[] openNames = new String[MAX_DEPTH];
+    final long[] openStarts = new long[MAX_DEPTH];
+    int depth;
+
+    final String[] names = new String[RING_CAPACITY];
+    final long[] durations = new long[RING_CAPACITY];
+    long written; // Total phases completed; the ring holds the last min(written - read, RING_CAPACITY) of them
+    long read;
+  }
+
+  // Receives recorded phases from drain().
+  public interface Sink {
+    void accept(String name, long durationNs);
+  }
+
+  // Starts timing a phase on the calling thread.
+  public static void begin(String name) {
+    if(!enabled) {
+      return;
+    }
+    Recorder recorder = recorders.get();
+    if(recorder.depth < MAX_DEPTH) {
+      recorder.openNames[recorder.depth] = name;
+      recorder.openStarts[recorder.depth] = System.nanoTime();
+    }
+    recorder.depth++; // Still counted past MAX_DEPTH, so end() calls stay paired
+  }
+
+  // Ends the phase begun last on the calling thread.
+  public static void end() {
+    if(!enabled) {
+      return;
+    }
+    long now = System.nanoTime();
+    Recorder recorder = recorders.get();
+    if(recorder.depth == 0) { // end() without begin(); nothing to close
+      return;
+    }
+    recorder.depth--;
+    if(recorder.depth < MAX_DEPTH) {
+      int slot = (int)(recorder.written & (RING_CAPACITY - 1));
+      recorder.names[slot] = recorder.openNames[recorder.depth];
+      recorder.durations[slot] = now - recorder.openStarts[recorder.depth];
+      recorder.written++;
+    }
+  }
+
+  // ---- For SolveKit's harness ---------------------------------------------------------------------------------------
+
+  // Turns recording on or off for every thread.
+  public static void setEnabled(boolean on) {
+    enabled = on;
+  }
+
+  /* Hands the phases the calling thread completed since the last drain() to `sink`, oldest first, and forgets open
+     phases left over from a call that threw. Returns how many were lost because the ring overflowed. */
+  public static long drain(Sink sink) {
+    Recorder recorder = recorders.get();
+    recorder.depth = 0;
+    long lost = Math.max(0, recorder.written - recorder.read - RING_CAPACITY);
+    for(long i = recorder.read + lost; i < recorder.written; i++) {
+      int slot = (int)(i & (RING_CAPACITY - 1));
+      sink.accept(recorder.names[slot], recorder.durations[slot]);
+    }
+    recorder.read = recorder.written;
+    return lost;
+  }
+}
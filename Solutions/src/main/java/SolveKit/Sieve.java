@@ -0,0 +1,160 @@
+/*** Sieve.java ***************************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    Prime sieves for Project Euler style problems: a cache-    *
+ *                 friendly segmented sieve of Eratosthenes that can          *
+ *                 enumerate primes in any range of longs, and a linear sieve *
+ *                 that builds a smallest-prime-factor table for fast         *
+ *                 factorization.                                             *
+\******************************************************************************/
+
+package SolveKit;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+public final class Sieve {
+  private Sieve() { }
+
+  // Odd numbers per segment. 32K booleans fit in a typical 32 KiB L1 data cache.
+  private static final int SEGMENT = 1 << 15;
+
+  // All primes <= n, ascending.
+  public static int[] primesUpTo(int n) {
+    int[] primes = new int[primeCountUpperBound(n)];
+    int[] count = new int[1];
+    forEachPrime(2, n, p -> primes[count[0]++] = (int)p);
+    return Arrays.copyOf(primes, count[0]);
+  }
+
+  // Number of primes in [lo, hi].
+  public static long countPrimes(long lo, long hi) {
+    long[] count = new long[1];
+    forEachPrime(lo, hi, p -> count[0]++);
+    return count[0];
+  }
+
+  /* Calls action.accept(p) for every prime p in [lo, hi], in ascending order. Only odd numbers are sieved, one
+     L1-sized segment at a time, so memory use is O(sqrt(hi)) no matter how large the range is. */
+  public static void forEachPrime(long lo, long hi, LongConsumer action) {
+    if(hi < 2 || lo > hi) {
+      return;
+    }
+    if(lo <= 2) {
+      action.accept(2);
+    }
+
+    int[] basePrimes = smallPrimes((int)Math.sqrt((double)hi) + 1);
+    boolean[] composite = new boolean[SEGMENT];
+
+    long segmentStart = Math.max(lo, 3) | 1; // First odd number >= max(lo, 3)
+    while(segmentStart <= hi) {
+      long segmentEnd = Math.min(hi, segmentStart + 2L * (SEGMENT - 1)); // Inclusive
+      int length = (int)((segmentEnd - segmentStart) / 2) + 1; // Index j is the number segmentStart + 2j
+      Arrays.fill(composite, 0, length, false);
+
+      for(int p : basePrimes) {
+        if(p == 2) {
+          continue;
+        }
+        long square = (long)p * p;
+        if(square > segmentEnd) {
+          break;
+        }
+
+        long first = Math.max(square, (segmentStart + p - 1) / p * p); // First multiple of p in the segment
+        if((first & 1) == 0) { // Even multiples aren't in the segment
+          first += p;
+        }
+        for(long j = (first - segmentStart) / 2; j < length; j += p) {
+          composite[(int)j] = true;
+        }
+      }
+
+      for(int j = 0; j < length; j++) {
+        if(!composite[j]) {
+          action.accept(segmentStart + 2L * j);
+        }
+      }
+      segmentStart = segmentEnd + 2;
+    }
+  }
+
+  // spf[x] is the smallest prime factor of x for 2 <= x <= n; spf[0] = spf[1] = 0. Linear sieve: each composite is
+  // written exactly once.
+  public static int[] smallestPrimeFactors(int n) {
+    int[] spf = new int[n + 1];
+    fillSmallestPrimeFactors(IntBuffer.wrap(spf), n);
+    return spf;
+  }
+
+  // Same as smallestPrimeFactors(), but writes into any IntBuffer with room for n + 1 ints (e.g. a memory-mapped file).
+  static void fillSmallestPrimeFactors(IntBuffer spf, int n) {
+    int[] primes = new int[primeCountUpperBound(n)];
+    int count = 0;
+    for(int i = 2; i <= n; i++) {
+      int spfOfI = spf.get(i);
+      if(spfOfI == 0) { // Nothing smaller divides i, so it's prime
+        spfOfI = i;
+        spf.put(i, i);
+        primes[count++] = i;
+      }
+      for(int j = 0; j < count; j++) {
+        int p = primes[j];
+        if(p > spfOfI || (long)i * p > n) {
+          break;
+        }
+        spf.put(i * p, p);
+      }
+    }
+  }
+
+  /* Factorizes 1 <= x <= n using a table from smallestPrimeFactors(). Writes the distinct prime factors in ascending
+     order to `primes` and their exponents to `exponents` and returns how many there are. Both arrays need room for 9
+     entries, the most an int can have. Nothing is allocated. */
+  public static int factorize(int x, int[] spf, int[] primes, int[] exponents) {
+    return factorize(x, IntBuffer.wrap(spf), primes, exponents);
+  }
+
+  // Same as above, for a table returned by SieveCache.smallestPrimeFactors().
+  public static int factorize(int x, IntBuffer spf, int[] primes, int[] exponents) {
+    int count = 0;
+    while(x > 1) {
+      int p = spf.get(x);
+      int exponent = 0;
+      while(x % p == 0) {
+        x /= p;
+        exponent++;
+      }
+      primes[count] = p;
+      exponents[count] = exponent;
+      count++;
+    }
+    return count;
+  }
+
+  // Plain sieve of Eratosthenes for the base primes of the segmented sieve.
+  private static int[] smallPrimes(int n) {
+    boolean[] composite = new boolean[n + 1];
+    int[] primes = new int[primeCountUpperBound(n)];
+    int count = 0;
+    for(int i = 2; i <= n; i++) {
+      if(!composite[i]) {
+        primes[count++] = i;
+        for(long j = (long)i * i; j <= n; j += i) {
+          composite[(int)j] = true;
+        }
+      }
+    }
+    return Arrays.copyOf(primes, count);
+  }
+
+  // pi(n) < 1.25506 n / ln n for n > 1 (Rosser and Schoenfeld), plus some slack for small n.
+  static int primeCountUpperBound(long n) {
+    if(n < 17) {
+      return 7;
+    }
+    return (int)Math.min(Integer.MAX_VALUE - 8, (long)(1.25506 * n / Math.log(n)) + 1);
+  }
+}
@@ -0,0 +1,137 @@
+/*** SieveCache.java **********************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    Keeps big sieve tables in files that are memory-mapped     *
+ *                 instead of rebuilt, so every run and every benchmark       *
+ *                 iteration after the first one gets them for free. Tables   *
+ *                 are built once, written to a temporary file and atomically *
+ *                 moved into place, so concurrent runs never see half-       *
+ *                 written tables.                                            *
+\******************************************************************************/
+
+package SolveKit;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+public final class SieveCache {
+  private SieveCache() { }
+
+  /* Where tables are stored. SolveKit runs with ./inputs as the working directory, so by default this is
+     inputs/.solvekit-cache/sieve. Override the cache root with -Dsolvekit.cache=<dir>. */
+  private static final Path DIRECTORY = Path.of(System.getProperty("solvekit.cache", ".solvekit-cache"), "sieve");
+
+  private static final int HEADER_BYTES = 16; // Magic number, then the table's limit
+  private static final long SPF_MAGIC = 0x534B_5350_4631_0000L | (ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN ? 1 : 2);
+  private static final long BITS_MAGIC = 0x534B_4249_5431_0000L | (ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN ? 1 : 2);
+
+  // Tables already mapped by this JVM, so repeated calls (e.g. every benchmark iteration) cost a map lookup
+  private static final Map<String, Object> mapped = new HashMap<>();
+
+  /* Smallest-prime-factor table for 0..n, like Sieve.smallestPrimeFactors(n), but memory-mapped and read-only.
+     Use it with Sieve.factorize(x, table, primes, exponents) or table.get(x). n can be up to about 5*10^8. */
+  public static synchronized IntBuffer smallestPrimeFactors(int n) {
+    String name = "spf_" + n + ".bin";
+    Object table = mapped.get(name);
+    if(table == null) {
+      if(n < 1 || (long)(n + 1) * Integer.BYTES > Integer.MAX_VALUE - HEADER_BYTES) {
+        throw new IllegalArgumentException("Smallest-prime-factor tables must have 1 <= n <= " + ((Integer.MAX_VALUE - HEADER_BYTES) / Integer.BYTES - 1));
+      }
+      MappedByteBuffer buffer = mapOrBuild(name, SPF_MAGIC, n, (long)(n + 1) * Integer.BYTES,
+          data -> Sieve.fillSmallestPrimeFactors(data.asIntBuffer(), n));
+      table = buffer.asIntBuffer();
+      mapped.put(name, table);
+    }
+    return ((IntBuffer)table).duplicate(); // Duplicates share memory but not position, so callers can't disturb each other
+  }
+
+  /* Primality bitset for 0..n: bit (x >> 1) is set iff odd x is prime. Use it with isPrime(bits, x). Costs n/16 bytes,
+     so n can be up to about 3*10^10. */
+  public static synchronized LongBuffer primeBits(long n) {
+    String name = "primes_" + n + ".bin";
+    Object table = mapped.get(name);
+    if(table == null) {
+      long words = (n >> 7) + 1; // 64 odd numbers per long
+      if(n < 1 || words * Long.BYTES > Integer.MAX_VALUE - HEADER_BYTES) {
+        throw new IllegalArgumentException("Prime bitsets must have 1 <= n <= " + ((long)(Integer.MAX_VALUE - HEADER_BYTES) / Long.BYTES * 128 - 1));
+      }
+      MappedByteBuffer buffer = mapOrBuild(name, BITS_MAGIC, n, words * Long.BYTES, data -> {
+        LongBuffer bits = data.asLongBuffer();
+        Sieve.forEachPrime(3, n, p -> {
+          int word = (int)(p >>> 7);
+          bits.put(word, bits.get(word) | 1L << ((p >>> 1) & 63));
+        });
+      });
+      table = buffer.asLongBuffer();
+      mapped.put(name, table);
+    }
+    return ((LongBuffer)table).duplicate();
+  }
+
+  // Looks x up in a table from primeBits(n). x must be <= n.
+  public static boolean isPrime(LongBuffer bits, long x) {
+    if(x < 3) {
+      return x == 2;
+    }
+    if((x & 1) == 0) {
+      return false;
+    }
+    return (bits.get((int)(x >>> 7)) & 1L << ((x >>> 1) & 63)) != 0;
+  }
+
+  private interface TableBuilder {
+    void fill(ByteBuffer data);
+  }
+
+  // Maps the table's data section, building the file first if it's missing or doesn't match.
+  private static MappedByteBuffer mapOrBuild(String name, long magic, long limit, long dataBytes, TableBuilder builder) {
+    Path file = DIRECTORY.resolve(name);
+    try {
+      if(!isValid(file, magic, limit, dataBytes)) {
+        Files.createDirectories(DIRECTORY);
+        Path temp = Files.createTempFile(DIRECTORY, name, ".tmp");
+        try(FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+          MappedByteBuffer all = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + dataBytes);
+          all.order(ByteOrder.nativeOrder());
+          builder.fill(all.slice(HEADER_BYTES, (int)dataBytes).order(ByteOrder.nativeOrder()));
+          all.putLong(8, limit);
+          all.putLong(0, magic); // Written last, so a table is only valid once it's complete
+          all.force();
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      }
+
+      // The mapping stays valid after the channel is closed
+      try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+        MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES, dataBytes);
+        data.order(ByteOrder.nativeOrder());
+        return data;
+      }
+    } catch(IOException e) {
+      throw new UncheckedIOException("Couldn't build or map sieve table " + file, e);
+    }
+  }
+
+  private static boolean isValid(Path file, long magic, long limit, long dataBytes) throws IOException {
+    if(!Files.exists(file) || Files.size(file) != HEADER_BYTES + dataBytes) {
+      return false;
+    }
+    try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+      header.order(ByteOrder.nativeOrder());
+      return header.getLong(0) == magic && header.getLong(8) == limit;
+    }
+  }
+}
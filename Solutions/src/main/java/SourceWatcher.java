@@ -0,0 +1,104 @@
+/*** SourceWatcher.java *******************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    Watch mode: waits for a solution's source file to change,  *
+ *                 compiles it in memory, loads it in a fresh class loader    *
+ *                 and reruns it, without an IDE build step in between.       *
+\******************************************************************************/
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public final class SourceWatcher {
+  private SourceWatcher() { }
+
+  // Editors often save a file in several writes (or write a temp file and rename it). Wait until the directory has been
+  // quiet this long before compiling, so we compile the finished file once.
+  private static final long SETTLE_MS = 50;
+
+  /* Compiles and runs the solution right away, then again every time its source file changes, until the JVM is
+     stopped. `sourceRoot` is the directory holding the platform packages (Solutions/src/main/java), and `rerun` runs
+     or benchmarks the solution the way Main would without --watch. Only the solution's own file is recompiled; other
+     files of its package are used as they were built. */
+  public static void watch(Path sourceRoot, String platform, String solution, Runnable rerun) throws IOException {
+    Path directory = sourceRoot.resolve(platform).toAbsolutePath().normalize();
+    Path sourceFile = directory.resolve(solution + ".java");
+    if(!Files.isRegularFile(sourceFile)) {
+      throw new IllegalSpecifierException("Can't watch " + sourceFile + ": it doesn't exist. Pass the directory that " +
+          "contains the platform packages with --watch=DIR.");
+    }
+
+    try(WatchService watcher = FileSystems.getDefault().newWatchService()) {
+      directory.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+      System.out.println("Watching " + sourceFile + " for changes. Stop SolveKit to quit.");
+
+      String lastHash = null;
+      while(true) {
+        byte[] source = Files.readAllBytes(sourceFile);
+        String sourceHash = InMemoryCompiler.hash(source);
+        if(!sourceHash.equals(lastHash)) { // Saving without changes (or touching the file) doesn't trigger a rerun
+          lastHash = sourceHash;
+          rebuildAndRun(platform, sourceFile, source, sourceHash, rerun);
+          System.out.println("\n\nWaiting for changes to " + sourceFile.getFileName() + "...");
+        }
+
+        waitForChange(watcher, sourceFile.getFileName());
+      }
+    } catch(ClosedWatchServiceException | InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  // Compiles the source, points SolutionLoader at the new classes and runs them.
+  private static void rebuildAndRun(String platform, Path sourceFile, byte[] source, String sourceHash, Runnable rerun)
+      throws IOException {
+    long start = System.nanoTime();
+    boolean cached = InMemoryCompiler.isCached(sourceHash);
+    Map<String, byte[]> classes;
+    try {
+      classes = InMemoryCompiler.compile(sourceFile, source);
+    } catch(IllegalStateException e) {
+      System.out.println("\n" + e.getMessage());
+      return;
+    }
+    SolutionLoader.use(new SolutionLoader.Fresh(platform, classes));
+    long compiled = System.nanoTime();
+
+    System.out.printf("\n=== %s %s in %.1f ms (%s) ===\n", sourceFile.getFileName(),
+        cached ? "loaded from cache" : "compiled", UnitConverter.ns_ms(compiled - start), sourceHash.substring(0, 12));
+    rerun.run();
+    System.out.printf("\n\n=== Compile to result: %.1f ms ===", UnitConverter.ns_ms(System.nanoTime() - start));
+  }
+
+  // Blocks until `fileName` in the watched directory was created or modified and the directory has settled.
+  private static void waitForChange(WatchService watcher, Path fileName) throws InterruptedException {
+    boolean changed = false;
+    while(!changed) {
+      changed = drain(watcher.take(), fileName);
+    }
+
+    WatchKey key;
+    while((key = watcher.poll(SETTLE_MS, TimeUnit.MILLISECONDS)) != null) {
+      drain(key, fileName);
+    }
+  }
+
+  // Consumes a key's events and re-arms it. Returns whether any of them was about `fileName`.
+  private static boolean drain(WatchKey key, Path fileName) {
+    boolean matched = false;
+    for(WatchEvent<?> event : key.pollEvents()) {
+      matched |= fileName.equals(event.context());
+    }
+    key.reset();
+    return matched;
+  }
+}
@@ -0,0 +1,135 @@
+/*** StartupBenchmark.java ****************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    Launches a solution in fresh JVMs, with and without        *
+ *                 SolveKit's class cache, and reports how long the JVM takes *
+ *                 to reach Main, how long the solution runs, and how long    *
+ *                 the whole process lives.                                   *
+\******************************************************************************/
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class StartupBenchmark {
+  private StartupBenchmark() { }
+
+  // One launch of a fresh JVM. Everything else = total - timeToMain - solution: setting up the run, printing, exiting.
+  public record Launch(long timeToMainNs, long solutionNs, long totalNs) { }
+
+  // Results with and without the cache, launch by launch.
+  public record Result(Launch[] withoutCache, Launch[] withCache, AotCache.Archive archive) { }
+
+  /* Builds (or reuses) the class cache, then launches `java ... Main solutionArg mainOptions` `launches` times without
+     and `launches` times with it, alternating so that slow phases of the machine hit both equally. One untimed launch
+     of each comes first to get SolveKit's files into the OS's cache. */
+  public static Result run(String solutionArg, List<String> mainOptions, int launches) throws IOException {
+    List<String> mainArgs = new ArrayList<>();
+    mainArgs.add(solutionArg);
+    mainArgs.addAll(mainOptions);
+    AotCache.Archive archive = AotCache.prepare(mainArgs);
+    AotCache.Archive noCache = new AotCache.Archive(archive.directory(), archive.classPath(), List.of());
+
+    Launch[] withoutCache = new Launch[launches];
+    Launch[] withCache = new Launch[launches];
+    launch(noCache, mainArgs);
+    launch(archive, mainArgs);
+    for(int i = 0; i < launches; i++) {
+      withoutCache[i] = launch(noCache, mainArgs);
+      withCache[i] = launch(archive, mainArgs);
+      System.out.printf("Launch %d/%d: %.1f ms without the cache, %.1f ms with it\n", i + 1, launches,
+          UnitConverter.ns_ms(withoutCache[i].totalNs()), UnitConverter.ns_ms(withCache[i].totalNs()));
+    }
+    return new Result(withoutCache, withCache, archive);
+  }
+
+  // Runs SolveKit once in a fresh JVM. The child writes when it entered Main and the solution's runtime to a file.
+  private static Launch launch(AotCache.Archive archive, List<String> mainArgs) throws IOException {
+    Path reportFile = Files.createTempFile("solvekit-startup", ".txt");
+    Path logFile = Files.createTempFile("solvekit-child", ".log");
+    try {
+      List<String> args = new ArrayList<>(mainArgs);
+      args.add("--startup-report=" + reportFile);
+      ProcessBuilder builder = new ProcessBuilder(archive.command(args))
+          .redirectErrorStream(true)
+          .redirectOutput(logFile.toFile());
+
+      Instant launched = Instant.now(); // Wall clock, since that's the only clock the child can compare with
+      long start = System.nanoTime();
+      Process child = builder.start();
+      int exitCode;
+      try {
+        exitCode = child.waitFor();
+      } catch(InterruptedException e) {
+        child.destroyForcibly();
+        Thread.currentThread().interrupt();
+        throw new IOException("Interrupted while waiting for the child JVM", e);
+      }
+      long total = System.nanoTime() - start;
+
+      String[] report = Files.readString(reportFile).trim().split(" ");
+      if(exitCode != 0 || report.length != 2) {
+        throw ForkedBenchmark.childFailure("The child JVM (" + String.join(" ", archive.jvmOptions()) + ")", exitCode,
+            logFile);
+      }
+      long launchedEpochNs = launched.getEpochSecond() * 1_000_000_000L + launched.getNano();
+      return new Launch(Long.parseLong(report[0]) - launchedEpochNs, Long.parseLong(report[1]), total);
+    } finally {
+      Files.deleteIfExists(reportFile);
+      Files.deleteIfExists(logFile);
+    }
+  }
+
+  // Called by Main in the child: when it entered main() (ns since the epoch) and how long the solution ran.
+  public static void writeReport(Path file, Instant mainEntered, long runtime) throws IOException {
+    Files.writeString(file, (mainEntered.getEpochSecond() * 1_000_000_000L + mainEntered.getNano()) + " " + runtime);
+  }
+
+  /* Prints a table like this, with medians over all launches:
+    +----------------------+----------------------+----------------------+-----------+
+    | Median of N launches | Without cache        | With cache           | Saved     |
+    |----------------------+----------------------+----------------------+-----------|
+    | Time to main         | XXXXXXXX.XXX ms      | XXXXXXXX.XXX ms      | XXXX.X%   |
+    | Solution             | XXXXXXXX.XXX ms      | XXXXXXXX.XXX ms      | XXXX.X%   |
+    | Everything else      | XXXXXXXX.XXX ms      | XXXXXXXX.XXX ms      | XXXX.X%   |
+    | Total process time   | XXXXXXXX.XXX ms      | XXXXXXXX.XXX ms      | XXXX.X%   |
+    +----------------------+----------------------+----------------------+-----------+ */
+  public static void showResults(Result result) {
+    Launch without = medians(result.withoutCache());
+    Launch with = medians(result.withCache());
+    String border = "+----------------------+----------------------+----------------------+-----------+";
+
+    System.out.println(border);
+    System.out.printf ("| %-20s | Without cache        | With cache           | Saved     |\n",
+        "Median of " + result.withoutCache().length + " launches");
+    System.out.println("|----------------------+----------------------+----------------------+-----------|");
+    showRow("Time to main", without.timeToMainNs(), with.timeToMainNs());
+    showRow("Solution", without.solutionNs(), with.solutionNs());
+    showRow("Everything else", without.totalNs() - without.timeToMainNs() - without.solutionNs(),
+        with.totalNs() - with.timeToMainNs() - with.solutionNs());
+    showRow("Total process time", without.totalNs(), with.totalNs());
+    System.out.println(border);
+  }
+
+  private static void showRow(String name, long without, long with) {
+    System.out.printf("| %-20s | %-12.3f ms      | %-12.3f ms      | %-7.1f%%  |\n", name, UnitConverter.ns_ms(without),
+        UnitConverter.ns_ms(with), without == 0 ? 0.0 : 100.0 * (without - with) / without);
+  }
+
+  // The median of each part separately.
+  private static Launch medians(Launch[] launches) {
+    long[] toMain = new long[launches.length];
+    long[] solution = new long[launches.length];
+    long[] total = new long[launches.length];
+    for(int i = 0; i < launches.length; i++) {
+      toMain[i] = launches[i].timeToMainNs();
+      solution[i] = launches[i].solutionNs();
+      total[i] = launches[i].totalNs();
+    }
+    return new Launch(new Statistics(toMain).getMedian(), new Statistics(solution).getMedian(),
+        new Statistics(total).getMedian());
+  }
+}
@@ -88,6 +88,14 @@ public class Statistics {
     timeSum_ms = Integer.parseInt(remainder.divide(new Apint("1000000")).toString());
   }
 
+  // Returns the last 80% of `data`. The first 20% of runs are usually dominated by JVM warmup, optimization and
+  // stabilization, so we report statistics on the rest separately.
+  public static long[] last80Percent(long[] data) {
+    long[] last80p = new long[(int)(Math.ceil(data.length*0.8))];
+    System.arraycopy(data, (int)(Math.floor(data.length*0.2)), last80p, 0, last80p.length);
+    return last80p;
+  }
+
   public int getRuns() {
     return runs;
   }
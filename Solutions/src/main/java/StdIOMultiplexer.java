@@ -0,0 +1,240 @@
+/*** StdIOMultiplexer.java ****************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    Replaces System.in, System.out and System.err with streams *
+ *                 that forward everything to the streams bound to the        *
+ *                 calling thread. This lets several solutions run in the     *
+ *                 same JVM at once, each one with its own stdin and stdout.  *
+ *                 Threads that haven't bound anything fall through to the    *
+ *                 original console streams.                                  *
+\******************************************************************************/
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.util.Locale;
+
+public class StdIOMultiplexer {
+  // Shared sink for threads whose output we want to throw away (e.g. while benchmarking)
+  public static final PrintStream NULL_STREAM = new PrintStream(OutputStream.nullOutputStream());
+
+  private static InputStream consoleIn;
+  private static PrintStream consoleOut;
+  private static PrintStream consoleErr;
+
+  // Streams bound to each thread. A thread with nothing bound uses the console streams above.
+  // These are deliberately not inheritable: threads spawned by a solution (e.g. the common ForkJoinPool workers) are
+  // shared between every solution running in the JVM, so there is no single "owner" they could inherit from.
+  private static final ThreadLocal<Binding> bindings = ThreadLocal.withInitial(Binding::new);
+
+  private static boolean installed = false;
+
+  // What one thread has bound. Silencing is tracked separately from the bound streams so that a handler silencing and
+  // restoring output around each iteration doesn't undo a binding made by whoever called the handler.
+  private static class Binding {
+    InputStream in;
+    PrintStream out;
+    PrintStream err;
+    boolean silenced;
+    PrintStream silencedOut; // Where stdout goes while silenced; null throws it away too
+  }
+
+  // Swaps the global System streams for the routing ones. Safe to call more than once.
+  public static synchronized void install() {
+    if(installed) {
+      return;
+    }
+
+    consoleIn = System.in;
+    consoleOut = System.out;
+    consoleErr = System.err;
+
+    System.setIn(new RoutedInputStream());
+    System.setOut(new RoutedPrintStream(false));
+    System.setErr(new RoutedPrintStream(true));
+    installed = true;
+  }
+
+  // Binds stdin of the calling thread to `in`.
+  public static void setIn(InputStream in) {
+    bindings.get().in = in;
+  }
+
+  // Binds stdout of the calling thread to `out`. null means the console.
+  public static void setOut(PrintStream out) {
+    bindings.get().out = out;
+  }
+
+  // Binds stderr of the calling thread to `err`. null means the console.
+  public static void setErr(PrintStream err) {
+    bindings.get().err = err;
+  }
+
+  // Throws away everything the calling thread prints to stdout and stderr until restoreOutput() is called.
+  public static void silenceOutput() {
+    silenceOutput(null);
+  }
+
+  // Like silenceOutput(), but sends stdout to `stdout` instead of throwing it away, unless that's null.
+  public static void silenceOutput(PrintStream stdout) {
+    Binding binding = bindings.get();
+    binding.silenced = true;
+    binding.silencedOut = stdout;
+  }
+
+  // Sends stdout and stderr of the calling thread back to whatever they were bound to before silenceOutput().
+  public static void restoreOutput() {
+    Binding binding = bindings.get();
+    binding.silenced = false;
+    binding.silencedOut = null;
+  }
+
+  // Unbinds all streams of the calling thread. Worker threads should call this before they finish.
+  public static void unbindAll() {
+    bindings.remove();
+  }
+
+  // The console's stdout, regardless of what the calling thread has bound. Falls back to System.out before install().
+  public static PrintStream consoleOut() {
+    return installed ? consoleOut : System.out;
+  }
+
+  private static InputStream currentIn() {
+    InputStream in = bindings.get().in;
+    return in != null ? in : consoleIn;
+  }
+
+  // System.in replacement. Every call is forwarded to the calling thread's stdin.
+  private static class RoutedInputStream extends InputStream {
+    @Override
+    public int read() throws IOException {
+      return currentIn().read();
+    }
+
+    @Override
+    public int read(byte[] b) throws IOException {
+      return currentIn().read(b);
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      return currentIn().read(b, off, len);
+    }
+
+    @Override
+    public byte[] readAllBytes() throws IOException {
+      return currentIn().readAllBytes();
+    }
+
+    @Override
+    public byte[] readNBytes(int len) throws IOException {
+      return currentIn().readNBytes(len);
+    }
+
+    @Override
+    public int readNBytes(byte[] b, int off, int len) throws IOException {
+      return currentIn().readNBytes(b, off, len);
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      return currentIn().skip(n);
+    }
+
+    @Override
+    public int available() throws IOException {
+      return currentIn().available();
+    }
+
+    @Override
+    public void mark(int readlimit) {
+      currentIn().mark(readlimit);
+    }
+
+    @Override
+    public void reset() throws IOException {
+      currentIn().reset();
+    }
+
+    @Override
+    public boolean markSupported() {
+      return currentIn().markSupported();
+    }
+
+    @Override
+    public long transferTo(OutputStream out) throws IOException {
+      return currentIn().transferTo(out);
+    }
+
+    @Override
+    public void close() throws IOException {
+      currentIn().close();
+    }
+  }
+
+  /* System.out/System.err replacement. Every method is overridden so that nothing goes through PrintStream's own
+     buffers or its lock; otherwise every thread that prints would be contending for the same monitor. */
+  private static class RoutedPrintStream extends PrintStream {
+    private final boolean isErr;
+
+    RoutedPrintStream(boolean isErr) {
+      super(OutputStream.nullOutputStream());
+      this.isErr = isErr;
+    }
+
+    private PrintStream target() {
+      Binding binding = bindings.get();
+      if(binding.silenced) {
+        return isErr || binding.silencedOut == null ? NULL_STREAM : binding.silencedOut;
+      }
+
+      PrintStream out = isErr ? binding.err : binding.out;
+      if(out != null) {
+        return out;
+      }
+      return isErr ? consoleErr : consoleOut;
+    }
+
+    @Override public void flush() { target().flush(); }
+    @Override public void close() { target().flush(); } // Never close the console on behalf of a solution
+    @Override public boolean checkError() { return target().checkError(); }
+    @Override public Charset charset() { return target().charset(); }
+
+    @Override public void write(int b) { target().write(b); }
+    @Override public void write(byte[] buf, int off, int len) { target().write(buf, off, len); }
+    @Override public void write(byte[] buf) throws IOException { target().write(buf); }
+    @Override public void writeBytes(byte[] buf) { target().writeBytes(buf); }
+
+    @Override public void print(boolean b) { target().print(b); }
+    @Override public void print(char c) { target().print(c); }
+    @Override public void print(int i) { target().print(i); }
+    @Override public void print(long l) { target().print(l); }
+    @Override public void print(float f) { target().print(f); }
+    @Override public void print(double d) { target().print(d); }
+    @Override public void print(char[] s) { target().print(s); }
+    @Override public void print(String s) { target().print(s); }
+    @Override public void print(Object obj) { target().print(obj); }
+
+    @Override public void println() { target().println(); }
+    @Override public void println(boolean x) { target().println(x); }
+    @Override public void println(char x) { target().println(x); }
+    @Override public void println(int x) { target().println(x); }
+    @Override public void println(long x) { target().println(x); }
+    @Override public void println(float x) { target().println(x); }
+    @Override public void println(double x) { target().println(x); }
+    @Override public void println(char[] x) { target().println(x); }
+    @Override public void println(String x) { target().println(x); }
+    @Override public void println(Object x) { target().println(x); }
+
+    @Override public PrintStream printf(String format, Object... args) { target().printf(format, args); return this; }
+    @Override public PrintStream printf(Locale l, String format, Object... args) { target().printf(l, format, args); return this; }
+    @Override public PrintStream format(String format, Object... args) { target().format(format, args); return this; }
+    @Override public PrintStream format(Locale l, String format, Object... args) { target().format(l, format, args); return this; }
+
+    @Override public PrintStream append(CharSequence csq) { target().append(csq); return this; }
+    @Override public PrintStream append(CharSequence csq, int start, int end) { target().append(csq, start, end); return this; }
+    @Override public PrintStream append(char c) { target().append(c); return this; }
+  }
+}
@@ -0,0 +1,221 @@
+/*** StressTester.java ********************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    Differential stress testing: runs a solution and a slow    *
+ *                 but trusted reference solution on thousands of seeded      *
+ *                 random inputs in parallel, compares what they print, and   *
+ *                 keeps the first input they disagree on (or else the one    *
+ *                 the solution was slowest on).                              *
+\******************************************************************************/
+
+import SolveKit.InputGenerator;
+import SolveKit.InputGrammar;
+import SolveKit.InputWriter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class StressTester {
+  // Platforms whose solutions read stdin and write stdout from a main() without parameters
+  public static final Set<String> STDIN_PLATFORMS = Set.of("Codeforces", "AtCoder", "SPOJ", "UVa");
+
+  // How often progress is printed
+  private static final long PROGRESS_INTERVAL_MS = 1000;
+
+  // The first input (lowest seed) the two solutions disagreed on. `actual` may describe an exception instead.
+  public record Mismatch(long seed, byte[] input, String expected, String actual) { }
+
+  // `slowestInput` is what the solution took `slowestNs` on; mismatch is null if all cases agreed.
+  public record Result(long cases, long elapsedNs, Mismatch mismatch, long slowestSeed, long slowestNs, byte[] slowestInput) {
+    public double casesPerMinute() {
+      return cases * 60e9 / elapsedNs;
+    }
+  }
+
+  // What one worker found
+  private static class WorkerResult {
+    long cases;
+    long slowestSeed = -1;
+    long slowestNs = -1;
+    byte[] slowestInput;
+  }
+
+  /* Runs cases with seeds firstSeed, firstSeed + 1, ... firstSeed + cases - 1 on `threads` threads. Each case generates
+     an input with `generator`, runs `reference` and then `solution` on it, and compares their output token by token
+     (so spacing and line breaks don't matter). Stops early at a mismatch. Every thread loads the platform's classes in
+     its own class loader, so solutions that keep state in static fields don't trip over each other; they still must
+     reset that state at the start of main(), like for benchmarking. */
+  public static Result run(String platform, String solution, String reference, String generator, long firstSeed,
+                           long cases, int threads) throws ClassNotFoundException, NoSuchMethodException {
+    // Fail fast on the calling thread if a class is missing or has the wrong shape
+    SolutionLoader.forName(platform + "." + solution).getMethod("main");
+    SolutionLoader.forName(platform + "." + reference).getMethod("main");
+    Class<?> generatorClass = SolutionLoader.forName(platform + "." + generator);
+    if(!InputGenerator.class.isAssignableFrom(generatorClass) && !InputGrammar.class.isAssignableFrom(generatorClass)) {
+      throw new IllegalSpecifierException(platform + "." + generator + " must implement SolveKit.InputGenerator or " +
+          "SolveKit.InputGrammar.");
+    }
+
+    AtomicLong nextSeed = new AtomicLong(firstSeed);
+    AtomicLong done = new AtomicLong();
+    AtomicReference<Mismatch> mismatch = new AtomicReference<>();
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    WorkerResult[] results = new WorkerResult[threads];
+    long end = firstSeed + cases;
+
+    long start = System.nanoTime();
+    Thread[] workers = new Thread[threads];
+    for(int t = 0; t < threads; t++) {
+      WorkerResult result = results[t] = new WorkerResult();
+      workers[t] = Thread.ofPlatform().daemon().name("solvekit-stress-" + t).start(() -> {
+        try {
+          work(platform, solution, reference, generator, nextSeed, end, done, mismatch, result);
+        } catch(Throwable e) {
+          failure.compareAndSet(null, e);
+        } finally {
+          StdIOMultiplexer.unbindAll();
+        }
+      });
+    }
+
+    for(Thread worker : workers) {
+      try {
+        while(!worker.join(Duration.ofMillis(PROGRESS_INTERVAL_MS))) {
+          long elapsed = System.nanoTime() - start;
+          System.out.printf("%d / %d cases, %.0f cases/min\n", done.get(), cases, done.get() * 60e9 / elapsed);
+        }
+      } catch(InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while waiting for stress test workers to finish", e);
+      }
+    }
+    long elapsed = System.nanoTime() - start;
+
+    if(failure.get() != null) {
+      throw new IllegalStateException("A stress test worker failed: " + failure.get(), failure.get());
+    }
+
+    WorkerResult slowest = results[0];
+    for(WorkerResult result : results) {
+      if(result.slowestNs > slowest.slowestNs) {
+        slowest = result;
+      }
+    }
+    return new Result(done.get(), elapsed, mismatch.get(), slowest.slowestSeed, slowest.slowestNs, slowest.slowestInput);
+  }
+
+  private static void work(String platform, String solution, String reference, String generator, AtomicLong nextSeed,
+                           long end, AtomicLong done, AtomicReference<Mismatch> mismatch, WorkerResult result) throws ReflectiveOperationException, IOException {
+    ClassLoader loader = new SolutionLoader.Fresh(platform, Map.of()); // This thread's own copy of the static fields
+    Method solutionMain = Class.forName(platform + "." + solution, true, loader).getMethod("main");
+    Method referenceMain = Class.forName(platform + "." + reference, true, loader).getMethod("main");
+    solutionMain.setAccessible(true);
+    referenceMain.setAccessible(true);
+    // Either an InputGenerator or an InputGrammar, which gets random (not worst-case) sizes here
+    Object inputGenerator = Class.forName(platform + "." + generator, true, loader).getConstructor().newInstance();
+
+    // Both solutions print into the same buffer, which is emptied before each run
+    ByteArrayOutputStream captured = new ByteArrayOutputStream();
+    PrintStream stdout = new PrintStream(captured, false, StandardCharsets.UTF_8);
+    StdIOMultiplexer.setOut(stdout);
+    StdIOMultiplexer.setErr(StdIOMultiplexer.NULL_STREAM);
+    StringBuilder text = new StringBuilder();
+    ByteArrayOutputStream written = new ByteArrayOutputStream();
+
+    long seed;
+    while((seed = nextSeed.getAndIncrement()) < end && mismatch.get() == null) {
+      byte[] input;
+      if(inputGenerator instanceof InputGenerator simple) {
+        text.setLength(0);
+        simple.generate(new SplittableRandom(seed), text);
+        input = text.toString().getBytes(StandardCharsets.UTF_8);
+      } else {
+        written.reset();
+        InputWriter writer = new InputWriter(written, seed, InputWriter.Mode.RANDOM);
+        ((InputGrammar)inputGenerator).write(writer);
+        writer.flush();
+        input = written.toByteArray();
+      }
+
+      String expected = runOnce(referenceMain, input, captured, stdout);
+      long tickStart = System.nanoTime();
+      String actual = runOnce(solutionMain, input, captured, stdout);
+      long runtime = System.nanoTime() - tickStart;
+
+      if(!sameTokens(expected, actual)) {
+        Mismatch found = new Mismatch(seed, input, expected, actual);
+        mismatch.accumulateAndGet(found, (a, b) -> a == null || b.seed() < a.seed() ? b : a); // Keep the lowest seed
+        return;
+      }
+      if(runtime > result.slowestNs) {
+        result.slowestNs = runtime;
+        result.slowestSeed = seed;
+        result.slowestInput = input;
+      }
+      result.cases++;
+      done.incrementAndGet();
+    }
+  }
+
+  // Runs a solution on `input` and returns what it printed, or a description of what it threw.
+  private static String runOnce(Method main, byte[] input, ByteArrayOutputStream captured, PrintStream stdout) throws IllegalAccessException {
+    captured.reset();
+    StdIOMultiplexer.setIn(new ByteArrayInputStream(input));
+    try {
+      main.invoke(null, SolutionInvoker.NO_ARGUMENTS);
+    } catch(InvocationTargetException e) {
+      stdout.flush();
+      return captured.toString(StandardCharsets.UTF_8) + "\n<threw " + e.getCause() + ">";
+    }
+    stdout.flush();
+    return captured.toString(StandardCharsets.UTF_8);
+  }
+
+  // Whether a and b consist of the same whitespace-separated tokens, like most judges compare output.
+  private static boolean sameTokens(String a, String b) {
+    int i = 0;
+    int j = 0;
+    while(true) {
+      while(i < a.length() && Character.isWhitespace(a.charAt(i))) {
+        i++;
+      }
+      while(j < b.length() && Character.isWhitespace(b.charAt(j))) {
+        j++;
+      }
+      if(i == a.length() || j == b.length()) {
+        return i == a.length() && j == b.length();
+      }
+      while(i < a.length() && j < b.length() && !Character.isWhitespace(a.charAt(i)) && a.charAt(i) == b.charAt(j)) {
+        i++;
+        j++;
+      }
+      boolean aTokenEnded = i == a.length() || Character.isWhitespace(a.charAt(i));
+      boolean bTokenEnded = j == b.length() || Character.isWhitespace(b.charAt(j));
+      if(!aTokenEnded || !bTokenEnded) {
+        return false;
+      }
+    }
+  }
+
+  // The first `maxLines` lines of `text`, for showing inputs and outputs without flooding the console.
+  public static String preview(String text, int maxLines) {
+    String[] lines = text.split("\n", maxLines + 1);
+    if(lines.length <= maxLines) {
+      return text.stripTrailing();
+    }
+    return String.join("\n", Arrays.copyOf(lines, maxLines)) + "\n... (" +
+        text.lines().count() + " lines in total)";
+  }
+}
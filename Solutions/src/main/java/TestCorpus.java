@@ -0,0 +1,272 @@
+/*** TestCorpus.java **********************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    Finds the input files of a solution's tests. Tests can     *
+ *                 either be loose files named i_{Specifier}_{Test}.txt, or   *
+ *                 any .txt file under a directory named after the solution,  *
+ *                 so a solution can have as many tests as it needs. The list *
+ *                 of tests (with their sizes and checksums) is saved to an   *
+ *                 index file so that big corpora don't have to be rescanned  *
+ *                 every run.                                                 *
+\******************************************************************************/
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+public class TestCorpus {
+  private static final String INDEX_HEADER = "# SolveKit corpus index v2. Delete this file (or pass --reindex) to force a rescan.";
+
+  // Where the indexes are kept, so that writing one doesn't change the modification time of the directories it's
+  // checked against
+  private static final Path INDEXES = Path.of(System.getProperty("solvekit.cache", ".solvekit-cache"), "corpus");
+
+  // One test of a corpus. `file` is relative to the working directory (./inputs). `lastModified` is the file's
+  // modification time in milliseconds, as it was before `checksum` was computed.
+  public record Entry(String id, Path file, long size, long lastModified, long checksum) { }
+
+  /* Test IDs starting with this prefix name an input under inputs/.solvekit-cache/inputs instead of a test in the
+     platform's directory. BenchmarkWorker keeps the inputs it receives there, so that writing them doesn't touch the
+     directories whose modification times corpus indexes are checked against. */
+  public static final String CACHED_PREFIX = "cache:";
+  private static final Path CACHED_INPUTS = Path.of(System.getProperty("solvekit.cache", ".solvekit-cache"), "inputs");
+
+  // Directory whose modification time was recorded when the index was built
+  private record WatchedDirectory(Path dir, long lastModified) { }
+
+  // Finds the input file for a test. A loose i_{Specifier}_{Test}.txt file takes priority over
+  // {Specifier}/{Test}.txt. Test IDs may contain "/" to reach into subdirectories of the latter.
+  public static Path inputPath(String platform, SolutionSpecifier thisSolution) {
+    if(thisSolution.test().startsWith(CACHED_PREFIX)) {
+      return CACHED_INPUTS.resolve(platform).resolve(thisSolution.name() + "_" +
+          thisSolution.test().substring(CACHED_PREFIX.length()) + ".txt");
+    }
+
+    Path loose = Path.of(platform, "i_" + thisSolution.name() + "_" + thisSolution.test() + ".txt");
+    if(Files.exists(loose)) {
+      return loose;
+    }
+
+    Path named = Path.of(platform, thisSolution.name(), thisSolution.test() + ".txt");
+    if(Files.exists(named)) {
+      return named;
+    }
+
+    return loose; // Neither exists; the caller's IOException will mention the usual file name
+  }
+
+  // Is this test ID actually a selector for many tests? "*" selects every test and "dir/*" every test in a directory.
+  public static boolean isSelector(String test) {
+    return test.equals("*") || test.endsWith("/*");
+  }
+
+  // Returns the tests matched by `selector`, sorted by ID. Uses the index file if it's still up to date.
+  public static List<Entry> select(String platform, String solutionName, String selector, boolean forceRescan) throws IOException {
+    List<Entry> all = loadIndex(platform, solutionName, forceRescan);
+    if(selector.equals("*")) {
+      return all;
+    }
+
+    String prefix = selector.substring(0, selector.length() - 1); // "dir/*" -> "dir/"
+    List<Entry> selected = new ArrayList<>();
+    for(Entry entry : all) {
+      if(entry.id().startsWith(prefix)) {
+        selected.add(entry);
+      }
+    }
+    return selected;
+  }
+
+  private static Path indexPath(String platform, String solutionName) {
+    return INDEXES.resolve(platform).resolve(solutionName + ".tsv");
+  }
+
+  private static List<Entry> loadIndex(String platform, String solutionName, boolean forceRescan) throws IOException {
+    Path index = indexPath(platform, solutionName);
+    List<WatchedDirectory> directories = new ArrayList<>();
+    if(!forceRescan && Files.exists(index)) {
+      List<Entry> entries = readIndex(index, directories);
+      if(entries != null) {
+        return entries;
+      }
+      directories.clear();
+    }
+
+    // No index, or tests were added, removed or renamed since it was written
+    List<Entry> entries = scan(platform, solutionName, directories);
+    writeIndex(index, entries, directories);
+    return entries;
+  }
+
+  /* Reads an index file, adding the directories recorded in it to `directories`. Returns null if any of them changed
+     since it was written, because that means tests were added, removed or renamed. Files edited in place don't change
+     their directory's modification time, so every test's size and modification time are checked too; a test where
+     either changed is checksummed again, and the index is rewritten with what was found. */
+  private static List<Entry> readIndex(Path index, List<WatchedDirectory> directories) throws IOException {
+    List<Entry> entries = new ArrayList<>();
+    boolean refreshed = false;
+    for(String line : Files.readAllLines(index)) {
+      if(line.isEmpty() || line.startsWith("#")) {
+        continue;
+      }
+
+      String[] fields = line.split("\t");
+      switch(fields[0]) {
+        case "D" -> { // D <directory> <last modified>
+          Path dir = Path.of(fields[1]);
+          if(!Files.isDirectory(dir) || Files.getLastModifiedTime(dir).toMillis() != Long.parseLong(fields[2])) {
+            return null;
+          }
+          directories.add(new WatchedDirectory(dir, Long.parseLong(fields[2])));
+        }
+        case "T" -> { // T <id> <size> <last modified> <checksum> <file>
+          Entry recorded = new Entry(fields[1], Path.of(fields[5]), Long.parseLong(fields[2]), Long.parseLong(fields[3]),
+              Long.parseUnsignedLong(fields[4], 16));
+          if(!Files.isRegularFile(recorded.file())) {
+            return null; // Replaced by a directory, or deleted without its directory noticing
+          }
+          if(Files.size(recorded.file()) == recorded.size()
+              && Files.getLastModifiedTime(recorded.file()).toMillis() == recorded.lastModified()) {
+            entries.add(recorded); // Untouched since it was checksummed
+          } else { // Edited in place, or only touched
+            entries.add(newEntry(recorded.id(), recorded.file()));
+            refreshed = true;
+          }
+        }
+        default -> {
+          return null; // Written by some other version of SolveKit
+        }
+      }
+    }
+
+    if(refreshed) { // Remember the new checksums and modification times, so the files aren't read again next time
+      writeIndex(index, entries, directories);
+    }
+    return entries;
+  }
+
+  private static void writeIndex(Path index, List<Entry> entries, List<WatchedDirectory> directories) throws IOException {
+    Files.createDirectories(index.getParent());
+    try(BufferedWriter out = Files.newBufferedWriter(index)) {
+      out.write(INDEX_HEADER);
+      out.newLine();
+      for(WatchedDirectory dir : directories) {
+        out.write("D\t" + separatorsToSlashes(dir.dir()) + "\t" + dir.lastModified());
+        out.newLine();
+      }
+      for(Entry entry : entries) {
+        out.write("T\t" + entry.id() + "\t" + entry.size() + "\t" + entry.lastModified() + "\t" +
+            Long.toHexString(entry.checksum()) + "\t" + separatorsToSlashes(entry.file()));
+        out.newLine();
+      }
+    }
+  }
+
+  // Walks the platform directory and the solution's own test directory, checksumming every test file.
+  private static List<Entry> scan(String platform, String solutionName, List<WatchedDirectory> directories) throws IOException {
+    List<Entry> entries = new ArrayList<>();
+    Set<String> seenIds = new HashSet<>(); // IDs of the loose files
+
+    // Loose files: {Platform}/i_{Specifier}_{Test}.txt
+    Path platformDir = Path.of(platform);
+    if(!Files.isDirectory(platformDir)) {
+      throw new IOException("There is no inputs directory for platform " + platform + ".");
+    }
+    directories.add(new WatchedDirectory(platformDir, Files.getLastModifiedTime(platformDir).toMillis()));
+
+    String loosePrefix = "i_" + solutionName + "_";
+    try(Stream<Path> files = Files.list(platformDir)) {
+      for(Path file : (Iterable<Path>)files.sorted()::iterator) {
+        String fileName = file.getFileName().toString();
+        if(fileName.startsWith(loosePrefix) && fileName.endsWith(".txt") && Files.isRegularFile(file)) {
+          String id = fileName.substring(loosePrefix.length(), fileName.length() - 4);
+          if(belongsToLongerName(platform, solutionName, id)) {
+            continue;
+          }
+          entries.add(newEntry(id, file));
+          seenIds.add(id);
+        }
+      }
+    }
+
+    // Named test directory: {Platform}/{Specifier}/**/*.txt
+    Path testDir = platformDir.resolve(solutionName);
+    if(Files.isDirectory(testDir)) {
+      try(Stream<Path> files = Files.walk(testDir)) {
+        for(Path file : (Iterable<Path>)files.sorted()::iterator) {
+          if(Files.isDirectory(file)) {
+            directories.add(new WatchedDirectory(file, Files.getLastModifiedTime(file).toMillis()));
+            continue;
+          }
+
+          String relative = separatorsToSlashes(testDir.relativize(file));
+          if(relative.endsWith(".txt")) {
+            String id = relative.substring(0, relative.length() - 4);
+            if(!seenIds.contains(id)) { // Loose files take priority, same as in inputPath()
+              entries.add(newEntry(id, file));
+            }
+          }
+        }
+      }
+    }
+
+    entries.sort(Comparator.comparing(Entry::id, TestCorpus::compareIds));
+    return entries;
+  }
+
+  /* Is the loose file i_{solutionName}_{id}.txt really a test of another solution whose name continues with "_", like
+     i_p1_A_3.txt, which is test 3 of p1_A and not test A_3 of p1? Decided by whether a class by that longer name
+     exists in the platform's package. */
+  private static boolean belongsToLongerName(String platform, String solutionName, String id) {
+    for(int underscore = id.indexOf('_'); underscore != -1; underscore = id.indexOf('_', underscore + 1)) {
+      String longerName = solutionName + "_" + id.substring(0, underscore);
+      if(SolutionLoader.current().getResource(platform + "/" + longerName + ".class") != null) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static Entry newEntry(String id, Path file) throws IOException {
+    // Taken first, so that an edit made while checksumming leaves a time that won't match next time
+    long lastModified = Files.getLastModifiedTime(file).toMillis();
+    CRC32C crc = new CRC32C();
+    byte[] buffer = new byte[1 << 16];
+    try(InputStream in = Files.newInputStream(file)) {
+      int read;
+      while((read = in.read(buffer)) != -1) {
+        crc.update(buffer, 0, read);
+      }
+    }
+    return new Entry(id, file, Files.size(file), lastModified, crc.getValue());
+  }
+
+  // Sorts numeric IDs numerically (so 10 comes after 9) and everything else alphabetically.
+  private static int compareIds(String a, String b) {
+    boolean aNumeric = !a.isEmpty() && a.chars().allMatch(Character::isDigit);
+    boolean bNumeric = !b.isEmpty() && b.chars().allMatch(Character::isDigit);
+    if(aNumeric && bNumeric) {
+      String aDigits = a.replaceFirst("^0+(?=.)", ""); // Strip leading zeroes
+      String bDigits = b.replaceFirst("^0+(?=.)", "");
+      if(aDigits.length() != bDigits.length()) { // Fewer digits = smaller number
+        return Integer.compare(aDigits.length(), bDigits.length());
+      }
+      return aDigits.compareTo(bDigits) != 0 ? aDigits.compareTo(bDigits) : a.compareTo(b);
+    }
+    return a.compareTo(b);
+  }
+
+  // Keeps IDs and index files the same on Windows and everywhere else.
+  private static String separatorsToSlashes(Path path) {
+    return path.toString().replace('\\', '/');
+  }
+}
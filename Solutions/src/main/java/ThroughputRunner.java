@@ -0,0 +1,138 @@
+/*** ThroughputRunner.java ****************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    Runs the same solution on N threads at once for a fixed    *
+ *                 amount of time and reports how many times per second it    *
+ *                 completed, and how well that number scales as N grows.     *
+\******************************************************************************/
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class ThroughputRunner {
+  // Measurements for one thread count
+  public record Level(int threads, long runs, long elapsedNs) {
+    public double runsPerSecond() {
+      return runs * 1e9 / elapsedNs;
+    }
+  }
+
+  // Returns the thread counts 1, 2, 4, 8, ... up to maxThreads. maxThreads itself is always included.
+  public static int[] threadCounts(int maxThreads) {
+    List<Integer> counts = new ArrayList<>();
+    for(int n = 1; n < maxThreads; n *= 2) {
+      counts.add(n);
+    }
+    counts.add(maxThreads);
+    return counts.stream().mapToInt(Integer::intValue).toArray();
+  }
+
+  // Runs the solution for `durationNs` on every thread count in `threadCounts`, one after the other.
+  public static Level[] measure(PlatformHandler handler, SolutionSpecifier thisSolution, int[] threadCounts,
+                                boolean virtualThreads, long durationNs) throws ClassNotFoundException, NoSuchMethodException, InvocationTargetException, IOException {
+    handler.loadInput(thisSolution); // All threads share the same input; each invoker makes its own copy of it
+
+    // Warm up on one thread first so the first level doesn't pay for class loading and JIT compilation
+    runLevel(handler, thisSolution, 1, virtualThreads, durationNs);
+
+    Level[] levels = new Level[threadCounts.length];
+    for(int i = 0; i < threadCounts.length; i++) {
+      levels[i] = runLevel(handler, thisSolution, threadCounts[i], virtualThreads, durationNs);
+    }
+    return levels;
+  }
+
+  private static Level runLevel(PlatformHandler handler, SolutionSpecifier thisSolution, int threads,
+                                boolean virtualThreads, long durationNs) throws ClassNotFoundException, NoSuchMethodException, InvocationTargetException {
+    SolutionInvoker[] invokers = new SolutionInvoker[threads];
+    for(int i = 0; i < threads; i++) { // Create invokers up front so their setup isn't counted
+      invokers[i] = handler.newInvoker(thisSolution);
+    }
+
+    long[] runs = new long[threads]; // Each worker only writes its own slot, once, when it's done
+    long[] finishTimes = new long[threads];
+    long[] startTime = new long[1];
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    CountDownLatch startSignal = new CountDownLatch(1);
+
+    Thread.Builder builder = virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform().daemon(true);
+    Thread[] workers = new Thread[threads];
+    for(int t = 0; t < threads; t++) {
+      final int id = t;
+      workers[t] = builder.unstarted(() -> {
+        SolutionInvoker invoker = invokers[id];
+        StdIOMultiplexer.silenceOutput(); // Output from worker threads is never interesting
+        long count = 0;
+        try {
+          startSignal.await();
+          long start = startTime[0]; // Safe to read; written before startSignal was released
+          while(System.nanoTime() - start < durationNs && failure.get() == null) {
+            invoker.refreshInput();
+            invoker.invoke();
+            count++;
+          }
+        } catch(Throwable e) {
+          failure.compareAndSet(null, e);
+        } finally {
+          finishTimes[id] = System.nanoTime();
+          runs[id] = count;
+          StdIOMultiplexer.unbindAll();
+        }
+      });
+      workers[t].start();
+    }
+
+    startTime[0] = System.nanoTime();
+    startSignal.countDown(); // Release every worker at once
+
+    for(Thread worker : workers) {
+      try {
+        worker.join();
+      } catch(InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while waiting for throughput workers to finish", e);
+      }
+    }
+
+    Throwable e = failure.get();
+    if(e instanceof InvocationTargetException ite) { // The solution itself threw something
+      throw ite;
+    } else if(e != null) {
+      throw new IllegalStateException("A throughput worker failed: " + e, e);
+    }
+
+    long totalRuns = 0;
+    long lastFinish = startTime[0];
+    for(int t = 0; t < threads; t++) {
+      totalRuns += runs[t];
+      lastFinish = Math.max(lastFinish, finishTimes[t]);
+    }
+    return new Level(threads, totalRuns, lastFinish - startTime[0]);
+  }
+
+  /* Prints the results in this format. Speedup is relative to the first level, assuming it scaled perfectly up to
+     that point (the first level is 1 thread unless the user asked otherwise); efficiency is speedup / threads.
+    +---------+------------------+------------------+----------+------------+
+    | Threads | Runs             | Runs/s           | Speedup  | Efficiency |
+    |---------+------------------+------------------+----------+------------|
+    | XXXXX   | XXXXXXXXXXXXXXXX | XXXXXXXXXXXXX.XX | XXXX.XXx | XXXXX.X %  |
+    +---------+------------------+------------------+----------+------------+
+  */
+  public static void showResults(Level[] levels) {
+    double perThreadBaseline = levels[0].runsPerSecond() / levels[0].threads();
+
+    System.out.println("+---------+------------------+------------------+----------+------------+");
+    System.out.println("| Threads | Runs             | Runs/s           | Speedup  | Efficiency |");
+    System.out.println("|---------+------------------+------------------+----------+------------|");
+    for(Level level : levels) {
+      double speedup = level.runsPerSecond() / perThreadBaseline;
+      System.out.printf("| %-7d | %-16d | %-16.2f | %-8s | %-10s |\n", level.threads(), level.runs(),
+          level.runsPerSecond(), String.format("%.2fx", speedup), String.format("%.1f %%", speedup / level.threads() * 100));
+    }
+    System.out.println("+---------+------------------+------------------+----------+------------+");
+  }
+}
@@ -0,0 +1,36 @@
+/*** BenchmarkEngineTest.java *************************************************\
+ * Author:         twisted_nematic57                                          *
+ * Date Created:   2026-10-18                                                 *
+ * Description:    Checks that the timed loop every benchmark goes through    *
+ *                 allocates nothing of its own, using an empty solution so   *
+ *                 that anything allocated is SolveKit's.                     *
+\******************************************************************************/
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class BenchmarkEngineTest {
+  // Long enough for the JIT to compile the loop, like BatchedBenchmark.measureOverhead's warmup
+  private static final long WARMUP_NS = 1_000_000_000L;
+
+  @Test
+  void baselineLoopAllocatesNothing() throws Exception {
+    PlatformHandler handler = new ProjectEulerPlatformHandler();
+    SolutionSpecifier spec = new SolutionSpecifier("p1", "");
+    SolutionInvoker[] batch = new SolutionInvoker[4];
+    for(int j = 0; j < batch.length; j++) {
+      batch[j] = handler.newBaselineInvoker(spec);
+    }
+
+    long warmupEnd = System.nanoTime() + WARMUP_NS;
+    while(System.nanoTime() - warmupEnd < 0) {
+      BenchmarkEngine.timeBatch(batch);
+    }
+
+    double allocated = BenchmarkEngine.harnessAllocationPerCall(batch);
+    assumeTrue(allocated >= 0, "This JVM can't count allocations");
+    assertEquals(0, allocated, "Bytes SolveKit's timed loop allocated per call");
+  }
+}